@@ -0,0 +1,18 @@
+package com.dnofulla.marketcove.backend_api.config;
+
+import com.dnofulla.marketcove.backend_api.util.IdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sets up the ID generator for this node; each running instance needs its own ids.node-id
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${ids.node-id:0}") int nodeId) {
+        return IdGenerator.configureShared(nodeId);
+    }
+}
@@ -0,0 +1,28 @@
+package com.dnofulla.marketcove.backend_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Enables scheduled background jobs (view count flushing, etc.) and the executors they hand work to
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Threads writing stock alerts to SSE clients, so a slow client never holds a scheduler thread
+     */
+    @Bean
+    public ThreadPoolTaskExecutor stockAlertSendExecutor(
+            @Value("${items.stock-alerts.send-threads:4}") int sendThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(sendThreads);
+        executor.setMaxPoolSize(sendThreads);
+        executor.setThreadNamePrefix("stock-alert-send-");
+        return executor;
+    }
+}
@@ -71,6 +71,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/storefronts/featured").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/storefronts/top-rated").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/items/{itemId}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/items/{itemId}/similar").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/items/sku/{sku}").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/items/storefront/{storefrontId}").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/items/search").permitAll()
@@ -79,7 +80,16 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/items/featured").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/items/on-sale").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/items/best-selling").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/items/top-rated").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/items/storefront/{storefrontId}/top-rated").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/items/recent").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/items/recent/cursor").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/items/best-selling/cursor").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/items/on-sale/cursor").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/items/price-range/cursor").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/items/facets").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/items/tags").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/items/tags/{tag}").permitAll()
 
                         // Storefront and item management endpoints (business owners and sellers only)
                         .requestMatchers("/api/storefronts/my-storefronts").hasAnyRole("BUSINESS_OWNER", "SELLER")
@@ -89,6 +99,7 @@ public class SecurityConfig {
                         .hasAnyRole("BUSINESS_OWNER", "SELLER")
                         .requestMatchers("/api/items/my-items").hasAnyRole("BUSINESS_OWNER", "SELLER")
                         .requestMatchers("/api/items/low-stock").hasAnyRole("BUSINESS_OWNER", "SELLER")
+                        .requestMatchers("/api/items/stock-alerts").hasAnyRole("BUSINESS_OWNER", "SELLER")
                         .requestMatchers(HttpMethod.POST, "/api/items/**").hasAnyRole("BUSINESS_OWNER", "SELLER")
                         .requestMatchers(HttpMethod.PUT, "/api/items/**").hasAnyRole("BUSINESS_OWNER", "SELLER")
                         .requestMatchers(HttpMethod.PATCH, "/api/items/**").hasAnyRole("BUSINESS_OWNER", "SELLER")
@@ -1,10 +1,21 @@
 package com.dnofulla.marketcove.backend_api.controller;
 
+import com.dnofulla.marketcove.backend_api.dto.item.BatchStockUpdateRequest;
+import com.dnofulla.marketcove.backend_api.dto.item.BatchStockUpdateResponse;
 import com.dnofulla.marketcove.backend_api.dto.item.CreateItemRequest;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemCursorPage;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemFacetPage;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemImportResponse;
 import com.dnofulla.marketcove.backend_api.dto.item.ItemResponse;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemResponseJson;
 import com.dnofulla.marketcove.backend_api.dto.item.UpdateItemRequest;
 import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.service.ItemFacetService;
+import com.dnofulla.marketcove.backend_api.service.ItemImportService;
 import com.dnofulla.marketcove.backend_api.service.ItemService;
+import com.dnofulla.marketcove.backend_api.service.ItemStockService;
+import com.dnofulla.marketcove.backend_api.service.StockAlertService;
+import com.dnofulla.marketcove.backend_api.util.ContentVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,16 +26,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST Controller for item management
@@ -38,6 +55,9 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final ItemStockService itemStockService;
+    private final StockAlertService stockAlertService;
 
     /**
      * Create a new item in a storefront
@@ -55,6 +75,25 @@ public class ItemController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Bulk import items into a storefront from CSV or NDJSON
+     */
+    @PostMapping(value = "/storefront/{storefrontId}/import", consumes = { "text/csv", "application/x-ndjson" })
+    @PreAuthorize("hasRole('BUSINESS_OWNER') or hasRole('SELLER')")
+    @Operation(summary = "Import items", description = "Imports items from a CSV file with a header row (imageUrls separated by '|') or from newline-delimited JSON. Rows are validated and inserted in batches; invalid rows and duplicate SKUs are reported without stopping the import")
+    public ResponseEntity<ItemImportResponse> importItems(
+            @PathVariable Long storefrontId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body,
+            @AuthenticationPrincipal User currentUser) {
+
+        ItemImportService.Format format = "csv".equalsIgnoreCase(contentType.getSubtype())
+                ? ItemImportService.Format.CSV
+                : ItemImportService.Format.NDJSON;
+        ItemImportResponse response = itemImportService.importItems(storefrontId, body, format, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update an existing item
      */
@@ -75,9 +114,13 @@ public class ItemController {
      * Get item by ID
      */
     @GetMapping("/{itemId}")
-    @Operation(summary = "Get item by ID", description = "Retrieves item details by ID")
-    public ResponseEntity<ItemResponse> getItem(@PathVariable Long itemId) {
-        ItemResponse response = itemService.getItem(itemId);
+    @Operation(summary = "Get item by ID", description = "Retrieves item details by ID. Supports conditional requests (ETag, If-None-Match)")
+    public ResponseEntity<ItemResponseJson> getItem(@PathVariable Long itemId, WebRequest webRequest) {
+        // Revalidations are answered from the version query alone
+        if (ContentVersion.isNotModified(itemService.getItemVersion(itemId), webRequest)) {
+            return null;
+        }
+        ItemResponseJson response = itemService.getItem(itemId);
         return ResponseEntity.ok(response);
     }
 
@@ -85,23 +128,44 @@ public class ItemController {
      * Get item by SKU
      */
     @GetMapping("/sku/{sku}")
-    @Operation(summary = "Get item by SKU", description = "Retrieves item details by SKU")
-    public ResponseEntity<ItemResponse> getItemBySku(@PathVariable String sku) {
-        ItemResponse response = itemService.getItemBySku(sku);
+    @Operation(summary = "Get item by SKU", description = "Retrieves item details by SKU. Supports conditional requests (ETag, If-None-Match)")
+    public ResponseEntity<ItemResponseJson> getItemBySku(@PathVariable String sku, WebRequest webRequest) {
+        if (ContentVersion.isNotModified(itemService.getItemVersionBySku(sku), webRequest)) {
+            return null;
+        }
+        ItemResponseJson response = itemService.getItemBySku(sku);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get items similar to an item
+     */
+    @GetMapping("/{itemId}/similar")
+    @Operation(summary = "Get similar items", description = "Retrieves the active items most similar to an item by name, description, tags and category, most similar first. Lists are precomputed and refreshed as items change")
+    public ResponseEntity<List<ItemResponseJson>> getSimilarItems(
+            @PathVariable Long itemId,
+            @RequestParam(defaultValue = "12") int size) {
+
+        List<ItemResponseJson> items = itemService.getSimilarItems(itemId, size);
+        return ResponseEntity.ok(items);
+    }
+
     /**
      * Get items in a storefront
      */
     @GetMapping("/storefront/{storefrontId}")
-    @Operation(summary = "Get storefront items", description = "Retrieves all items in a storefront")
-    public ResponseEntity<Page<ItemResponse>> getStorefrontItems(
+    @Operation(summary = "Get storefront items", description = "Retrieves all items in a storefront. Supports conditional requests (ETag, If-None-Match)")
+    public ResponseEntity<Page<ItemResponseJson>> getStorefrontItems(
             @PathVariable Long storefrontId,
             @RequestParam(defaultValue = "true") boolean activeOnly,
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-
-        Page<ItemResponse> items = itemService.getStorefrontItems(storefrontId, activeOnly, pageable);
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
+
+        if (ContentVersion.isNotModified(
+                itemService.getStorefrontItemsVersion(storefrontId, activeOnly, pageable), webRequest)) {
+            return null;
+        }
+        Page<ItemResponseJson> items = itemService.getStorefrontItems(storefrontId, activeOnly, pageable);
         return ResponseEntity.ok(items);
     }
 
@@ -120,10 +184,10 @@ public class ItemController {
      * Search items
      */
     @GetMapping("/search")
-    @Operation(summary = "Search items", description = "Searches items by name and description")
+    @Operation(summary = "Search items", description = "Searches items by name, description, tags and category. Results are ranked by relevance unless a sort is given")
     public ResponseEntity<Page<ItemResponse>> searchItems(
             @RequestParam String query,
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 20) Pageable pageable) {
 
         Page<ItemResponse> items = itemService.searchItems(query, pageable);
         return ResponseEntity.ok(items);
@@ -156,6 +220,60 @@ public class ItemController {
         return ResponseEntity.ok(items);
     }
 
+    /**
+     * Get items with a tag
+     */
+    @GetMapping("/tags/{tag}")
+    @Operation(summary = "Get items by tag", description = "Retrieves active items carrying a tag, newest first. Tags are matched case- and accent-insensitively")
+    public ResponseEntity<Page<ItemResponse>> getItemsByTag(
+            @PathVariable String tag,
+            @PageableDefault(size = 20) Pageable pageable) {
+
+        Page<ItemResponse> items = itemService.getItemsByTags(List.of(tag), pageable);
+        return ResponseEntity.ok(items);
+    }
+
+    /**
+     * Get items with all of several tags
+     */
+    @GetMapping("/tags")
+    @Operation(summary = "Get items by tags", description = "Retrieves active items carrying all of the given tags, newest first")
+    public ResponseEntity<Page<ItemResponse>> getItemsByTags(
+            @Parameter(description = "Tags that must all be present") @RequestParam List<String> tag,
+            @PageableDefault(size = 20) Pageable pageable) {
+
+        Page<ItemResponse> items = itemService.getItemsByTags(tag, pageable);
+        return ResponseEntity.ok(items);
+    }
+
+    /**
+     * Filter items by facets and get facet value counts
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Faceted item search", description = "Filters items by any combination of category, price bucket, on-sale, in-stock, low-stock, storefront and featured. Values of one facet are OR-ed, different facets are AND-ed. Returns matching items (newest first) and per-facet value counts")
+    public ResponseEntity<ItemFacetPage> getFacetedItems(
+            @Parameter(description = "Categories to include") @RequestParam(required = false) List<String> category,
+            @Parameter(description = "Price buckets to include, e.g. 0-10, 25-50, 500+") @RequestParam(required = false) List<String> priceBucket,
+            @RequestParam(required = false) Boolean onSale,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) Boolean lowStock,
+            @Parameter(description = "Storefront IDs to include") @RequestParam(required = false) List<Long> storefrontId,
+            @RequestParam(required = false) Boolean featured,
+            @PageableDefault(size = 20) Pageable pageable) {
+
+        Map<String, List<String>> filters = new LinkedHashMap<>();
+        addFilter(filters, ItemFacetService.CATEGORY, category);
+        addFilter(filters, ItemFacetService.PRICE_BUCKET, priceBucket);
+        addFilter(filters, ItemFacetService.ON_SALE, onSale);
+        addFilter(filters, ItemFacetService.IN_STOCK, inStock);
+        addFilter(filters, ItemFacetService.LOW_STOCK, lowStock);
+        addFilter(filters, ItemFacetService.STOREFRONT, storefrontId);
+        addFilter(filters, ItemFacetService.FEATURED, featured);
+
+        ItemFacetPage items = itemService.getFacetedItems(filters, pageable);
+        return ResponseEntity.ok(items);
+    }
+
     /**
      * Get featured items
      */
@@ -180,6 +298,30 @@ public class ItemController {
         return ResponseEntity.ok(items);
     }
 
+    /**
+     * Get top-rated items
+     */
+    @GetMapping("/top-rated")
+    @Operation(summary = "Get top-rated items", description = "Retrieves active items ranked by Bayesian average rating, so items with few reviews are pulled towards the marketplace average")
+    public ResponseEntity<Page<ItemResponse>> getTopRatedItems(@PageableDefault(size = 20) Pageable pageable) {
+
+        Page<ItemResponse> items = itemService.getTopRatedItems(pageable);
+        return ResponseEntity.ok(items);
+    }
+
+    /**
+     * Get top-rated items in a storefront
+     */
+    @GetMapping("/storefront/{storefrontId}/top-rated")
+    @Operation(summary = "Get top-rated storefront items", description = "Retrieves active items of a storefront ranked by Bayesian average rating")
+    public ResponseEntity<Page<ItemResponse>> getTopRatedItemsByStorefront(
+            @PathVariable Long storefrontId,
+            @PageableDefault(size = 20) Pageable pageable) {
+
+        Page<ItemResponse> items = itemService.getTopRatedItemsByStorefront(storefrontId, pageable);
+        return ResponseEntity.ok(items);
+    }
+
     /**
      * Get best selling items
      */
@@ -204,17 +346,84 @@ public class ItemController {
         return ResponseEntity.ok(items);
     }
 
+    /**
+     * Get recently added items with cursor pagination
+     */
+    @GetMapping("/recent/cursor")
+    @Operation(summary = "Get recently added items (cursor)", description = "Retrieves recently added items using cursor pagination for infinite scroll")
+    public ResponseEntity<ItemCursorPage> getRecentlyAddedItemsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        ItemCursorPage items = itemService.getRecentlyAddedItems(cursor, size);
+        return ResponseEntity.ok(items);
+    }
+
+    /**
+     * Get best selling items with cursor pagination
+     */
+    @GetMapping("/best-selling/cursor")
+    @Operation(summary = "Get best selling items (cursor)", description = "Retrieves best selling items using cursor pagination for infinite scroll")
+    public ResponseEntity<ItemCursorPage> getBestSellingItemsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        ItemCursorPage items = itemService.getBestSellingItems(cursor, size);
+        return ResponseEntity.ok(items);
+    }
+
+    /**
+     * Get items on sale with cursor pagination
+     */
+    @GetMapping("/on-sale/cursor")
+    @Operation(summary = "Get items on sale (cursor)", description = "Retrieves items on sale, newest first, using cursor pagination for infinite scroll")
+    public ResponseEntity<ItemCursorPage> getItemsOnSaleByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        ItemCursorPage items = itemService.getItemsOnSale(cursor, size);
+        return ResponseEntity.ok(items);
+    }
+
+    /**
+     * Get items by price range with cursor pagination
+     */
+    @GetMapping("/price-range/cursor")
+    @Operation(summary = "Get items by price range (cursor)", description = "Retrieves items within a price range, cheapest first, using cursor pagination for infinite scroll")
+    public ResponseEntity<ItemCursorPage> getItemsByPriceRangeByCursor(
+            @RequestParam BigDecimal minPrice,
+            @RequestParam BigDecimal maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        ItemCursorPage items = itemService.getItemsByPriceRange(minPrice, maxPrice, cursor, size);
+        return ResponseEntity.ok(items);
+    }
+
     /**
      * Get low stock items for current user
      */
     @GetMapping("/low-stock")
     @PreAuthorize("hasRole('BUSINESS_OWNER') or hasRole('SELLER')")
-    @Operation(summary = "Get low stock items", description = "Retrieves items with low stock owned by the authenticated user")
-    public ResponseEntity<List<ItemResponse>> getLowStockItems(@AuthenticationPrincipal User currentUser) {
-        List<ItemResponse> items = itemService.getLowStockItems(currentUser);
+    @Operation(summary = "Get low stock items", description = "Retrieves items with low stock owned by the authenticated user, lowest stock first")
+    public ResponseEntity<Page<ItemResponse>> getLowStockItems(
+            @AuthenticationPrincipal User currentUser,
+            @PageableDefault(size = 20, sort = "stockQuantity", direction = Sort.Direction.ASC) Pageable pageable) {
+
+        Page<ItemResponse> items = itemService.getLowStockItems(currentUser, pageable);
         return ResponseEntity.ok(items);
     }
 
+    /**
+     * Stream stock alerts for current user
+     */
+    @GetMapping(value = "/stock-alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('BUSINESS_OWNER') or hasRole('SELLER')")
+    @Operation(summary = "Stream stock alerts", description = "Server-Sent Events stream of the authenticated user's items moving between IN_STOCK, LOW_STOCK and OUT_OF_STOCK. The event name is the new level; changes to one item between deliveries are coalesced into a single alert")
+    public SseEmitter streamStockAlerts(@AuthenticationPrincipal User currentUser) {
+        return stockAlertService.subscribe(currentUser);
+    }
+
     /**
      * Delete an item
      */
@@ -277,4 +486,29 @@ public class ItemController {
         ItemResponse response = itemService.updateStock(itemId, quantity, currentUser);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Update stock quantities for many items at once
+     */
+    @PatchMapping("/stock")
+    @PreAuthorize("hasRole('BUSINESS_OWNER') or hasRole('SELLER')")
+    @Operation(summary = "Batch update stock quantities", description = "Sets stock quantities for items identified by ID or SKU. Ownership is checked for the whole batch and all quantities are written in one transaction; the result for each entry is UPDATED, NOT_FOUND, FORBIDDEN or INVALID")
+    public ResponseEntity<BatchStockUpdateResponse> updateStockBatch(
+            @Valid @RequestBody BatchStockUpdateRequest request,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.info("Updating stock for {} entries by user: {}", request.getUpdates().size(), currentUser.getEmail());
+        BatchStockUpdateResponse response = itemStockService.updateStock(request, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    private static void addFilter(Map<String, List<String>> filters, String facet, Object values) {
+        if (values instanceof List<?> list) {
+            if (!list.isEmpty()) {
+                filters.put(facet, list.stream().map(String::valueOf).toList());
+            }
+        } else if (values != null) {
+            filters.put(facet, List.of(String.valueOf(values)));
+        }
+    }
+}
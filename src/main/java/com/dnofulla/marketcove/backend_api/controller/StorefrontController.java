@@ -5,6 +5,7 @@ import com.dnofulla.marketcove.backend_api.dto.storefront.StorefrontResponse;
 import com.dnofulla.marketcove.backend_api.dto.storefront.UpdateStorefrontRequest;
 import com.dnofulla.marketcove.backend_api.entity.User;
 import com.dnofulla.marketcove.backend_api.service.StorefrontService;
+import com.dnofulla.marketcove.backend_api.util.ContentVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -21,6 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -73,8 +75,12 @@ public class StorefrontController {
      * Get storefront by ID
      */
     @GetMapping("/{storefrontId}")
-    @Operation(summary = "Get storefront by ID", description = "Retrieves storefront details by ID")
-    public ResponseEntity<StorefrontResponse> getStorefront(@PathVariable Long storefrontId) {
+    @Operation(summary = "Get storefront by ID", description = "Retrieves storefront details by ID. Supports conditional requests (ETag, If-None-Match)")
+    public ResponseEntity<StorefrontResponse> getStorefront(@PathVariable Long storefrontId, WebRequest webRequest) {
+        // Revalidations are answered from the version query alone
+        if (ContentVersion.isNotModified(storefrontService.getStorefrontVersion(storefrontId), webRequest)) {
+            return null;
+        }
         StorefrontResponse response = storefrontService.getStorefront(storefrontId);
         return ResponseEntity.ok(response);
     }
@@ -83,8 +89,11 @@ public class StorefrontController {
      * Get storefront by URL slug
      */
     @GetMapping("/slug/{slug}")
-    @Operation(summary = "Get storefront by URL slug", description = "Retrieves storefront details by URL slug")
-    public ResponseEntity<StorefrontResponse> getStorefrontBySlug(@PathVariable String slug) {
+    @Operation(summary = "Get storefront by URL slug", description = "Retrieves storefront details by URL slug. Supports conditional requests (ETag, If-None-Match)")
+    public ResponseEntity<StorefrontResponse> getStorefrontBySlug(@PathVariable String slug, WebRequest webRequest) {
+        if (ContentVersion.isNotModified(storefrontService.getStorefrontVersionBySlug(slug), webRequest)) {
+            return null;
+        }
         StorefrontResponse response = storefrontService.getStorefrontBySlug(slug);
         return ResponseEntity.ok(response);
     }
@@ -104,9 +113,13 @@ public class StorefrontController {
      * Get all active storefronts (public endpoint)
      */
     @GetMapping
-    @Operation(summary = "Get active storefronts", description = "Retrieves all active storefronts with pagination")
+    @Operation(summary = "Get active storefronts", description = "Retrieves all active storefronts with pagination. Supports conditional requests (ETag, If-None-Match)")
     public ResponseEntity<Page<StorefrontResponse>> getActiveStorefronts(
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
+        if (ContentVersion.isNotModified(storefrontService.getStorefrontListVersion("active", pageable), webRequest)) {
+            return null;
+        }
         Page<StorefrontResponse> storefronts = storefrontService.getActiveStorefronts(pageable);
         return ResponseEntity.ok(storefronts);
     }
@@ -115,10 +128,15 @@ public class StorefrontController {
      * Search storefronts by name
      */
     @GetMapping("/search")
-    @Operation(summary = "Search storefronts", description = "Searches storefronts by name")
+    @Operation(summary = "Search storefronts", description = "Searches storefronts by name. Supports conditional requests (ETag, If-None-Match)")
     public ResponseEntity<Page<StorefrontResponse>> searchStorefronts(
             @RequestParam String query,
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
+        if (ContentVersion.isNotModified(
+                storefrontService.getStorefrontListVersion("search", query, pageable), webRequest)) {
+            return null;
+        }
         Page<StorefrontResponse> storefronts = storefrontService.searchStorefronts(query, pageable);
         return ResponseEntity.ok(storefronts);
     }
@@ -127,9 +145,14 @@ public class StorefrontController {
      * Get featured storefronts
      */
     @GetMapping("/featured")
-    @Operation(summary = "Get featured storefronts", description = "Retrieves featured storefronts")
+    @Operation(summary = "Get featured storefronts", description = "Retrieves featured storefronts. Supports conditional requests (ETag, If-None-Match)")
     public ResponseEntity<Page<StorefrontResponse>> getFeaturedStorefronts(
-            @PageableDefault(size = 10, sort = "averageRating", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "averageRating", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
+        if (ContentVersion.isNotModified(
+                storefrontService.getStorefrontListVersion("featured", pageable), webRequest)) {
+            return null;
+        }
         Page<StorefrontResponse> storefronts = storefrontService.getFeaturedStorefronts(pageable);
         return ResponseEntity.ok(storefronts);
     }
@@ -138,9 +161,14 @@ public class StorefrontController {
      * Get top rated storefronts
      */
     @GetMapping("/top-rated")
-    @Operation(summary = "Get top rated storefronts", description = "Retrieves top rated storefronts")
+    @Operation(summary = "Get top rated storefronts", description = "Retrieves top rated storefronts. Supports conditional requests (ETag, If-None-Match)")
     public ResponseEntity<Page<StorefrontResponse>> getTopRatedStorefronts(
-            @PageableDefault(size = 10, sort = "averageRating", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 10, sort = "averageRating", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
+        if (ContentVersion.isNotModified(
+                storefrontService.getStorefrontListVersion("top-rated", pageable), webRequest)) {
+            return null;
+        }
         Page<StorefrontResponse> storefronts = storefrontService.getTopRatedStorefronts(pageable);
         return ResponseEntity.ok(storefronts);
     }
@@ -0,0 +1,45 @@
+package com.dnofulla.marketcove.backend_api.controller;
+
+import com.dnofulla.marketcove.backend_api.dto.search.SuggestionResponse;
+import com.dnofulla.marketcove.backend_api.service.SuggestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for search box suggestions
+ * Public, called on every keystroke
+ */
+@RestController
+@RequestMapping("/api/public")
+@RequiredArgsConstructor
+@Tag(name = "Search Suggestions", description = "Typeahead for the search box")
+public class SuggestController {
+
+    private static final int MAX_LIMIT = 20;
+
+    private final SuggestService suggestService;
+
+    /**
+     * Suggest completions for a typed prefix
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest completions", description = "Returns the most popular item names, storefront names and categories starting with the typed prefix, or with a word inside them starting with it")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @Parameter(description = "Typed prefix") @RequestParam String q,
+            @Parameter(description = "Maximum number of suggestions (1-20)") @RequestParam(defaultValue = "10") int limit) {
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(suggestService.suggest(q, limit));
+    }
+}
@@ -0,0 +1,41 @@
+package com.dnofulla.marketcove.backend_api.dto.item;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for setting the stock quantity of many items at once.
+ * Each entry identifies its item by ID or by SKU.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStockUpdateRequest {
+
+    @NotEmpty(message = "At least one stock update is required")
+    @Valid
+    private List<Entry> updates;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+
+        private Long itemId;
+
+        @Size(max = 50, message = "SKU cannot exceed 50 characters")
+        private String sku;
+
+        @NotNull(message = "Stock quantity is required")
+        @Min(value = 0, message = "Stock quantity cannot be negative")
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,35 @@
+package com.dnofulla.marketcove.backend_api.dto.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO reporting the outcome of a batch stock update.
+ * Results are listed in request order, one per entry.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStockUpdateResponse {
+
+    private int updatedCount;
+    private int failedCount;
+    private List<Result> results = new ArrayList<>();
+
+    public enum Status {
+        UPDATED, NOT_FOUND, FORBIDDEN, INVALID
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private Long itemId;
+        private String sku;
+        private Status status;
+    }
+}
@@ -0,0 +1,22 @@
+package com.dnofulla.marketcove.backend_api.dto.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a cursor-paginated slice of items.
+ * Pass nextCursor back as the cursor parameter to fetch the following slice.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemCursorPage {
+
+    private List<ItemResponse> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
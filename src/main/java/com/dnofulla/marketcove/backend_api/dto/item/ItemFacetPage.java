@@ -0,0 +1,24 @@
+package com.dnofulla.marketcove.backend_api.dto.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for a page of facet-filtered items together with the facet value counts.
+ * Facets maps each facet name to its values and the number of matching items per value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemFacetPage {
+
+    private List<ItemResponse> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private Map<String, Map<String, Long>> facets;
+}
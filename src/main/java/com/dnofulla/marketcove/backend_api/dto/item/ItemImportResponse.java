@@ -0,0 +1,34 @@
+package com.dnofulla.marketcove.backend_api.dto.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO reporting the outcome of a bulk item import.
+ * Errors are listed per row (1-based, header excluded) up to a configured limit;
+ * errorsTruncated is set when more rows failed than are listed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportResponse {
+
+    private int totalRows;
+    private int importedCount;
+    private int failedCount;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row;
+        private String sku;
+        private String message;
+    }
+}
@@ -1,6 +1,7 @@
 package com.dnofulla.marketcove.backend_api.dto.item;
 
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -12,6 +13,7 @@ import java.util.List;
  * DTO for item response data
  */
 @Data
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ItemResponse {
@@ -20,6 +22,7 @@ public class ItemResponse {
     private String itemName;
     private String itemDescription;
     private String sku;
+    private String publicId;
     private BigDecimal price;
     private BigDecimal compareAtPrice;
     private Integer stockQuantity;
@@ -0,0 +1,53 @@
+package com.dnofulla.marketcove.backend_api.dto.item;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * An item response whose fields are already serialized to JSON (see ItemResponseCache).
+ * The statistics change without the item being updated, so they are kept apart and written
+ * in front of the cached fields; the result is the same JSON object as for ItemResponse.
+ */
+@Getter
+@AllArgsConstructor
+@Schema(implementation = ItemResponse.class)
+@JsonSerialize(using = ItemResponseJson.Serializer.class)
+public class ItemResponseJson {
+
+    // Object members without the enclosing braces
+    private final SerializableString fields;
+
+    private final Double averageRating;
+    private final Integer totalReviews;
+    private final Integer totalSales;
+    private final Integer viewCount;
+
+    public static class Serializer extends StdSerializer<ItemResponseJson> {
+
+        public Serializer() {
+            super(ItemResponseJson.class);
+        }
+
+        @Override
+        public void serialize(ItemResponseJson value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(value);
+            provider.defaultSerializeField("averageRating", value.averageRating, gen);
+            provider.defaultSerializeField("totalReviews", value.totalReviews, gen);
+            provider.defaultSerializeField("totalSales", value.totalSales, gen);
+            provider.defaultSerializeField("viewCount", value.viewCount, gen);
+            // Copied as bytes, not re-serialized
+            gen.writeRaw(',');
+            gen.writeRaw(value.fields);
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.dnofulla.marketcove.backend_api.dto.item;
+
+import com.dnofulla.marketcove.backend_api.enums.StockLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a stock alert pushed to the owner of an item that moved to another stock level
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlertResponse {
+
+    private Long itemId;
+    private String itemName;
+    private String sku;
+    private Long storefrontId;
+    private Integer stockQuantity;
+    private Integer lowStockThreshold;
+    private StockLevel previousLevel;
+    private StockLevel level;
+    private LocalDateTime changedAt;
+}
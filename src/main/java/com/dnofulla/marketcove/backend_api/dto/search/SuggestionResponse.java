@@ -0,0 +1,23 @@
+package com.dnofulla.marketcove.backend_api.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one search box completion: an item, a storefront or a category.
+ * The ID is null for categories.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse {
+
+    public enum Type {
+        ITEM, STOREFRONT, CATEGORY
+    }
+
+    private Type type;
+    private Long id;
+    private String text;
+}
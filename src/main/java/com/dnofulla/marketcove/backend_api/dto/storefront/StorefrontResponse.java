@@ -18,6 +18,7 @@ public class StorefrontResponse {
     private String storeName;
     private String storeDescription;
     private String storeUrlSlug;
+    private String publicId;
     private String storeLogoUrl;
     private String storeBannerUrl;
     private String contactEmail;
@@ -1,11 +1,11 @@
 package com.dnofulla.marketcove.backend_api.entity;
 
+import com.dnofulla.marketcove.backend_api.util.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,7 +33,7 @@ public class Cart {
     private List<CartItem> cartItems = new ArrayList<>();
 
     @Column(name = "total_amount", precision = 10, scale = 2)
-    private BigDecimal totalAmount = BigDecimal.ZERO;
+    private Money totalAmount = Money.ZERO;
 
     @Column(name = "total_items")
     private Integer totalItems = 0;
@@ -58,13 +58,16 @@ public class Cart {
 
     // Helper methods
     public void recalculateTotal() {
-        this.totalAmount = cartItems.stream()
-                .map(cartItem -> cartItem.getItem().getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        this.totalItems = cartItems.stream()
-                .mapToInt(CartItem::getQuantity)
-                .sum();
+        // Summed in minor units; all prices are in the default currency
+        long total = 0;
+        int items = 0;
+        for (CartItem cartItem : cartItems) {
+            total = Math.addExact(total,
+                    Math.multiplyExact(cartItem.getItem().getPrice().getMinorUnits(), cartItem.getQuantity()));
+            items += cartItem.getQuantity();
+        }
+        this.totalAmount = Money.ofMinor(total);
+        this.totalItems = items;
     }
 
     public void addItem(CartItem cartItem) {
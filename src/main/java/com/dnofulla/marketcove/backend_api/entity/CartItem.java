@@ -1,12 +1,12 @@
 package com.dnofulla.marketcove.backend_api.entity;
 
+import com.dnofulla.marketcove.backend_api.util.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -39,7 +39,7 @@ public class CartItem {
 
     // Store the price at the time of adding to cart
     @Column(name = "price_at_time", nullable = false, precision = 10, scale = 2)
-    private BigDecimal priceAtTime;
+    private Money priceAtTime;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -62,15 +62,15 @@ public class CartItem {
     }
 
     // Helper methods
-    public BigDecimal getSubtotal() {
-        return priceAtTime.multiply(BigDecimal.valueOf(quantity));
+    public Money getSubtotal() {
+        return priceAtTime.times(quantity);
     }
 
     public boolean isPriceChanged() {
         return item != null && !priceAtTime.equals(item.getPrice());
     }
 
-    public BigDecimal getCurrentItemPrice() {
+    public Money getCurrentItemPrice() {
         return item != null ? item.getPrice() : priceAtTime;
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.dnofulla.marketcove.backend_api.entity;
+
+import com.dnofulla.marketcove.backend_api.enums.CounterType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One slot of a sharded counter. Increments go to a random slot of the counted entity;
+ * the slots are periodically folded into the entity's own column.
+ */
+@Entity
+@Table(name = "counter_shards", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "counter_type", "entity_id", "shard" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "counter_type", nullable = false, length = 32)
+    private CounterType counterType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+
+    @Column(name = "counter_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal counterValue = BigDecimal.ZERO;
+}
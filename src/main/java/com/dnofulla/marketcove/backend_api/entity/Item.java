@@ -1,13 +1,19 @@
 package com.dnofulla.marketcove.backend_api.entity;
 
+import com.dnofulla.marketcove.backend_api.exception.InsufficientStockException;
+import com.dnofulla.marketcove.backend_api.util.IdGenerator;
+import com.dnofulla.marketcove.backend_api.util.Money;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,12 +24,31 @@ import java.util.List;
  * Item entity representing products listed in storefronts
  */
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = {
+        // Owner low-stock listing: per storefront, flagged active items ordered by stock
+        @Index(name = "idx_items_storefront_low_stock",
+                columnList = "storefront_id, low_stock, is_active, stock_quantity"),
+        // Storefront pages and the per-storefront feeds
+        @Index(name = "idx_items_storefront_active", columnList = "storefront_id, is_active"),
+        @Index(name = "idx_items_category_active", columnList = "category, is_active"),
+        @Index(name = "idx_items_featured_active", columnList = "is_featured, is_active"),
+        // Public feeds read active items in these orders, and the keyset slices seek on (column, id)
+        @Index(name = "idx_items_active_created", columnList = "is_active, created_at DESC, id DESC"),
+        @Index(name = "idx_items_active_sales", columnList = "is_active, total_sales DESC, id DESC"),
+        @Index(name = "idx_items_active_price", columnList = "is_active, price, id")
+})
+@NamedEntityGraph(name = Item.WITH_STOREFRONT, attributeNodes = @NamedAttributeNode("storefront"))
+// Only write changed columns, so saving an edited item does not overwrite concurrent stock decrements
+// or rating increments
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Item {
 
+    // Fetch plan for list queries: storefront joined in, images batch-loaded per page
+    public static final String WITH_STOREFRONT = "Item.withStorefront";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -40,13 +65,16 @@ public class Item {
     @Column(name = "sku", unique = true, length = 50)
     private String sku;
 
-    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    // Opaque public identifier, unlike the sequential id
+    @Column(name = "public_id", unique = true, updatable = false, length = 13)
+    private String publicId;
+
+    // Bounds are validated on the create and update requests
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
 
-    @DecimalMin(value = "0.0", message = "Compare at price must be greater than or equal to 0")
     @Column(name = "compare_at_price", precision = 10, scale = 2)
-    private BigDecimal compareAtPrice;
+    private Money compareAtPrice;
 
     @Min(value = 0, message = "Stock quantity cannot be negative")
     @Column(name = "stock_quantity", nullable = false)
@@ -56,6 +84,13 @@ public class Item {
     @Column(name = "low_stock_threshold")
     private Integer lowStockThreshold = 10;
 
+    // stock_quantity <= low_stock_threshold, kept in step by the setters and the stock SQL in ItemStockService;
+    // defaults to true like a new item (no stock, threshold 10), ItemStockService.reconcileLowStock fixes older rows
+    @Setter(AccessLevel.NONE)
+    @ColumnDefault("true")
+    @Column(name = "low_stock", nullable = false)
+    private boolean lowStock = true;
+
     @Column(name = "weight", precision = 8, scale = 3)
     private BigDecimal weight;
 
@@ -96,6 +131,10 @@ public class Item {
     @Column(name = "average_rating")
     private Double averageRating = 0.0;
 
+    // Sum of all ratings; average_rating is kept as rating_sum / total_reviews for sorting
+    @Column(name = "rating_sum")
+    private Double ratingSum = 0.0;
+
     @Column(name = "total_reviews")
     private Integer totalReviews = 0;
 
@@ -133,6 +172,9 @@ public class Item {
         if (this.sku == null || this.sku.isEmpty()) {
             this.sku = generateSku();
         }
+        if (this.publicId == null) {
+            this.publicId = IdGenerator.shared().nextPublicId();
+        }
         if (this.primaryImageUrl == null && !this.imageUrls.isEmpty()) {
             this.primaryImageUrl = this.imageUrls.get(0);
         }
@@ -148,40 +190,36 @@ public class Item {
 
     // Helper methods
     public boolean isOnSale() {
-        return compareAtPrice != null && compareAtPrice.compareTo(price) > 0;
+        return compareAtPrice != null && compareAtPrice.isGreaterThan(price);
     }
 
-    public BigDecimal getDiscountAmount() {
+    public Money getDiscountAmount() {
         if (isOnSale()) {
-            return compareAtPrice.subtract(price);
+            return compareAtPrice.minus(price);
         }
-        return BigDecimal.ZERO;
+        return Money.ZERO;
     }
 
+    /**
+     * Discount as a percentage of the compare-at price, with two decimals
+     */
     public BigDecimal getDiscountPercentage() {
         if (isOnSale()) {
-            return getDiscountAmount()
-                    .divide(compareAtPrice, 4, BigDecimal.ROUND_HALF_UP)
-                    .multiply(BigDecimal.valueOf(100));
+            return BigDecimal.valueOf(getDiscountAmount().basisPointsOf(compareAtPrice), 2);
         }
         return BigDecimal.ZERO;
     }
 
-    public boolean isLowStock() {
-        return stockQuantity <= lowStockThreshold;
-    }
-
     public boolean isOutOfStock() {
         return stockQuantity <= 0;
     }
 
     public void updateRating(double newRating) {
-        if (this.totalReviews == 0) {
-            this.averageRating = newRating;
-        } else {
-            this.averageRating = ((this.averageRating * this.totalReviews) + newRating) / (this.totalReviews + 1);
-        }
+        // Rows created before rating_sum existed derive it from the running average
+        double currentSum = this.ratingSum != null ? this.ratingSum : this.averageRating * this.totalReviews;
+        this.ratingSum = currentSum + newRating;
         this.totalReviews++;
+        this.averageRating = this.ratingSum / this.totalReviews;
     }
 
     public void incrementSales() {
@@ -192,17 +230,38 @@ public class Item {
         this.viewCount++;
     }
 
+    /**
+     * In-memory decrement; concurrent buyers must go through ItemStockService.decrementStock
+     */
     public void decrementStock(int quantity) {
-        if (this.stockQuantity >= quantity) {
-            this.stockQuantity -= quantity;
+        if (this.stockQuantity < quantity) {
+            throw new InsufficientStockException(this.id, quantity);
         }
+        setStockQuantity(this.stockQuantity - quantity);
     }
 
     public void incrementStock(int quantity) {
-        this.stockQuantity += quantity;
+        setStockQuantity(this.stockQuantity + quantity);
+    }
+
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+        refreshLowStock();
+    }
+
+    public void setLowStockThreshold(Integer lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+        refreshLowStock();
+    }
+
+    private void refreshLowStock() {
+        this.lowStock = stockQuantity != null && lowStockThreshold != null && stockQuantity <= lowStockThreshold;
     }
 
-    private String generateSku() {
-        return "ITEM-" + System.currentTimeMillis();
+    /**
+     * SKU for items created without one; unique even when many are created in the same millisecond
+     */
+    public static String generateSku() {
+        return "ITEM-" + IdGenerator.shared().nextPublicId();
     }
 }
\ No newline at end of file
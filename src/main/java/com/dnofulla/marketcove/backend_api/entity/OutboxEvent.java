@@ -0,0 +1,55 @@
+package com.dnofulla.marketcove.backend_api.entity;
+
+import com.dnofulla.marketcove.backend_api.enums.OutboxEntityType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed change waiting to be relayed to in-process listeners. Rows are written in the
+ * transaction that made the change and deleted once delivered; the ID orders them. Rows whose
+ * delivery kept failing are parked and stay for inspection.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private OutboxEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // Comma-separated property names; every property for a created entity
+    @Column(name = "changed_fields", nullable = false, length = 1000)
+    private String changedFields;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Failed deliveries so far; the default lets ddl-auto add the column to a non-empty table
+    @Column(name = "attempts", nullable = false)
+    @ColumnDefault("0")
+    private int attempts;
+
+    // Set when the relay gave up on the record
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -14,6 +15,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "seller_profiles")
+// Only write changed columns so profile edits leave rating totals alone
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -91,6 +94,9 @@ public class SellerProfile {
     @Column(name = "average_rating")
     private Double averageRating = 0.0;
 
+    @Column(name = "rating_sum")
+    private Double ratingSum = 0.0;
+
     @Column(name = "total_reviews")
     private Integer totalReviews = 0;
 
@@ -131,11 +137,9 @@ public class SellerProfile {
     }
 
     public void updateRating(double newRating) {
-        if (this.totalReviews == 0) {
-            this.averageRating = newRating;
-        } else {
-            this.averageRating = ((this.averageRating * this.totalReviews) + newRating) / (this.totalReviews + 1);
-        }
+        double currentSum = this.ratingSum != null ? this.ratingSum : this.averageRating * this.totalReviews;
+        this.ratingSum = currentSum + newRating;
         this.totalReviews++;
+        this.averageRating = this.ratingSum / this.totalReviews;
     }
 }
\ No newline at end of file
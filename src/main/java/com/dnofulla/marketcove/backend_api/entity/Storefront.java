@@ -1,11 +1,13 @@
 package com.dnofulla.marketcove.backend_api.entity;
 
+import com.dnofulla.marketcove.backend_api.util.IdGenerator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -15,7 +17,19 @@ import java.util.List;
  * Storefront entity representing an online store for businesses or sellers
  */
 @Entity
-@Table(name = "storefronts")
+@Table(name = "storefronts", indexes = {
+        // Owner listings and counts
+        @Index(name = "idx_storefronts_business_profile", columnList = "business_profile_id, is_active"),
+        @Index(name = "idx_storefronts_seller_profile", columnList = "seller_profile_id, is_active"),
+        // Public lists: top rated (and every active-only list), top selling, featured
+        @Index(name = "idx_storefronts_active_rating", columnList = "is_active, average_rating DESC, total_reviews DESC"),
+        @Index(name = "idx_storefronts_active_sales", columnList = "is_active, total_sales DESC"),
+        @Index(name = "idx_storefronts_featured_active", columnList = "is_featured, is_active"),
+        // Name availability check on create and rename
+        @Index(name = "idx_storefronts_store_name", columnList = "store_name")
+})
+// Rating totals are incremented in SQL by ItemRatingService; write only the columns an edit changes
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,6 +52,10 @@ public class Storefront {
     @Column(name = "store_url_slug", unique = true, length = 100)
     private String storeUrlSlug;
 
+    // Opaque public identifier, unlike the sequential id
+    @Column(name = "public_id", unique = true, updatable = false, length = 13)
+    private String publicId;
+
     @Column(name = "store_logo_url")
     private String storeLogoUrl;
 
@@ -66,6 +84,9 @@ public class Storefront {
     @Column(name = "average_rating")
     private Double averageRating = 0.0;
 
+    @Column(name = "rating_sum")
+    private Double ratingSum = 0.0;
+
     @Column(name = "total_reviews")
     private Integer totalReviews = 0;
 
@@ -114,6 +135,9 @@ public class Storefront {
         if (this.storeUrlSlug == null || this.storeUrlSlug.isEmpty()) {
             this.storeUrlSlug = generateUrlSlug(this.storeName);
         }
+        if (this.publicId == null) {
+            this.publicId = IdGenerator.shared().nextPublicId();
+        }
     }
 
     @PreUpdate
@@ -159,11 +183,9 @@ public class Storefront {
     }
 
     public void updateRating(double newRating) {
-        if (this.totalReviews == 0) {
-            this.averageRating = newRating;
-        } else {
-            this.averageRating = ((this.averageRating * this.totalReviews) + newRating) / (this.totalReviews + 1);
-        }
+        double currentSum = this.ratingSum != null ? this.ratingSum : this.averageRating * this.totalReviews;
+        this.ratingSum = currentSum + newRating;
         this.totalReviews++;
+        this.averageRating = this.ratingSum / this.totalReviews;
     }
 }
\ No newline at end of file
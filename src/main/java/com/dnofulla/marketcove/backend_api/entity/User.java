@@ -15,12 +15,22 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * User entity representing all users in the MarketCove E-Commerce platform
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role", columnList = "role, is_enabled"),
+        @Index(name = "idx_users_created_at", columnList = "created_at"),
+        @Index(name = "idx_users_account_locked", columnList = "is_account_locked"),
+        // Token links from verification and reset emails
+        @Index(name = "idx_users_email_verification_token", columnList = "email_verification_token"),
+        @Index(name = "idx_users_password_reset_token", columnList = "password_reset_token"),
+        // Expired reset token cleanup
+        @Index(name = "idx_users_password_reset_expiry", columnList = "password_reset_token_expiry")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -91,11 +101,20 @@ public class User implements UserDetails {
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
+        this.email = normalizeEmail(email);
     }
 
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = LocalDateTime.now();
+        this.email = normalizeEmail(email);
+    }
+
+    /**
+     * Stored form of an email address: lower case, so lookups are plain equality on the unique index
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
     }
 
     // UserDetails implementation methods
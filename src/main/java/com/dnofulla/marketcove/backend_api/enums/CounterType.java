@@ -0,0 +1,27 @@
+package com.dnofulla.marketcove.backend_api.enums;
+
+/**
+ * Sharded counters and the column each one is compacted into
+ */
+public enum CounterType {
+    ITEM_SALES("items", "total_sales"),
+    ITEM_VIEWS("items", "view_count"),
+    STOREFRONT_SALES("storefronts", "total_sales"),
+    STOREFRONT_ORDERS("storefronts", "total_orders");
+
+    private final String tableName;
+    private final String columnName;
+
+    CounterType(String tableName, String columnName) {
+        this.tableName = tableName;
+        this.columnName = columnName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+}
@@ -0,0 +1,10 @@
+package com.dnofulla.marketcove.backend_api.enums;
+
+/**
+ * Entities whose changes are recorded in the outbox
+ */
+public enum OutboxEntityType {
+    ITEM,
+    STOREFRONT,
+    CART
+}
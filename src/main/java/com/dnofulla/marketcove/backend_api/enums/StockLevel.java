@@ -0,0 +1,24 @@
+package com.dnofulla.marketcove.backend_api.enums;
+
+/**
+ * Stock state of an item as reported to its seller
+ */
+public enum StockLevel {
+    IN_STOCK,
+    LOW_STOCK,
+    OUT_OF_STOCK;
+
+    /**
+     * Level for a stock quantity and low-stock threshold (same rule as Item.isLowStock, with zero
+     * reported separately)
+     */
+    public static StockLevel of(Integer stockQuantity, Integer lowStockThreshold) {
+        if (stockQuantity == null) {
+            return IN_STOCK;
+        }
+        if (stockQuantity <= 0) {
+            return OUT_OF_STOCK;
+        }
+        return lowStockThreshold != null && stockQuantity <= lowStockThreshold ? LOW_STOCK : IN_STOCK;
+    }
+}
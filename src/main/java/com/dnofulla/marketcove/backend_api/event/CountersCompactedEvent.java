@@ -0,0 +1,19 @@
+package com.dnofulla.marketcove.backend_api.event;
+
+import com.dnofulla.marketcove.backend_api.enums.CounterType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Published by ShardedCounterService once a compaction has committed, with the entities whose
+ * counter column it moved. Published outside any transaction.
+ */
+@Getter
+@AllArgsConstructor
+public class CountersCompactedEvent {
+
+    private final CounterType counterType;
+    private final Set<Long> entityIds;
+}
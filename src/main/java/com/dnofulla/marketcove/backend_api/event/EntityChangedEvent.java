@@ -0,0 +1,28 @@
+package com.dnofulla.marketcove.backend_api.event;
+
+import com.dnofulla.marketcove.backend_api.enums.OutboxEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * A committed change of an item, storefront or cart, delivered from the outbox by OutboxRelay.
+ * Delivery is at least once and in order per entity: the version increases with every change
+ * of an entity, so listeners can drop an event whose version they have already applied.
+ * Listeners use plain @EventListener (the event is published outside any transaction) and
+ * should re-read the entity if they need more than the changed field names.
+ */
+@Getter
+@AllArgsConstructor
+public class EntityChangedEvent {
+
+    private final OutboxEntityType entityType;
+    private final Long entityId;
+    private final long version;
+    private final Set<String> changedFields;
+
+    public boolean changed(String field) {
+        return changedFields.contains(field);
+    }
+}
@@ -0,0 +1,18 @@
+package com.dnofulla.marketcove.backend_api.event;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by bulk item operations (imports, batch updates) once per committed chunk.
+ * Same contract as {@link ItemChangedEvent}, but lets listeners apply many changes at once.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemBatchChangedEvent {
+
+    private final List<Item> items;
+}
@@ -0,0 +1,17 @@
+package com.dnofulla.marketcove.backend_api.event;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by ItemService whenever an item is created, updated or deleted.
+ * Listeners receive it after the surrounding transaction commits and should only
+ * read the item's own columns (not lazy associations other than the storefront ID).
+ */
+@Getter
+@AllArgsConstructor
+public class ItemChangedEvent {
+
+    private final Item item;
+}
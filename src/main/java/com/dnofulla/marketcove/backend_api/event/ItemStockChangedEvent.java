@@ -0,0 +1,24 @@
+package com.dnofulla.marketcove.backend_api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Published by stock writes that go straight to the database (batch updates, decrements) once per
+ * transaction. Carries only the new stock of each item, so listeners that show or filter by stock
+ * can apply it without the items being reloaded.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemStockChangedEvent {
+
+    /**
+     * New stock quantity of an item with its low-stock threshold
+     */
+    public record Stock(Integer quantity, Integer lowStockThreshold) {
+    }
+
+    private final Map<Long, Stock> stockByItemId;
+}
@@ -0,0 +1,59 @@
+package com.dnofulla.marketcove.backend_api.event;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.enums.StockLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published where stock is written when an item moves to another stock level (e.g. crosses its
+ * low-stock threshold or sells out). Carries a snapshot of the item, since listeners receive it
+ * after the surrounding transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class StockLevelChangedEvent {
+
+    private final Long itemId;
+    private final String itemName;
+    private final String sku;
+    private final Long storefrontId;
+    private final Long ownerUserId;
+    private final Integer stockQuantity;
+    private final Integer lowStockThreshold;
+    private final StockLevel previousLevel;
+    private final StockLevel level;
+    private final LocalDateTime changedAt;
+
+    /**
+     * Event for an item's current stock, or null if it is still at the previous level
+     */
+    public static StockLevelChangedEvent of(Item item, Long ownerUserId, StockLevel previousLevel) {
+        return of(item.getId(), item.getItemName(), item.getSku(),
+                item.getStorefront() != null ? item.getStorefront().getId() : null, ownerUserId,
+                item.getStockQuantity(), item.getLowStockThreshold(), previousLevel);
+    }
+
+    /**
+     * Event for an item's new stock given its fields, or null if it is still at the previous level
+     */
+    public static StockLevelChangedEvent of(Long itemId, String itemName, String sku, Long storefrontId,
+            Long ownerUserId, Integer stockQuantity, Integer lowStockThreshold, StockLevel previousLevel) {
+        StockLevel level = StockLevel.of(stockQuantity, lowStockThreshold);
+        if (level == previousLevel) {
+            return null;
+        }
+        return new StockLevelChangedEvent(itemId, itemName, sku, storefrontId, ownerUserId, stockQuantity,
+                lowStockThreshold, previousLevel, level, LocalDateTime.now());
+    }
+
+    /**
+     * This change folded into an earlier one that is not yet delivered: keeps that one's previous level
+     */
+    public StockLevelChangedEvent since(StockLevelChangedEvent earlier) {
+        return new StockLevelChangedEvent(itemId, itemName, sku, storefrontId, ownerUserId, stockQuantity,
+                lowStockThreshold, earlier.previousLevel, level, changedAt);
+    }
+}
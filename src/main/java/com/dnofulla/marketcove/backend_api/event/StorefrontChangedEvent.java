@@ -0,0 +1,17 @@
+package com.dnofulla.marketcove.backend_api.event;
+
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by StorefrontService whenever a storefront is created, updated or deleted.
+ * Listeners receive it after the surrounding transaction commits and should only read
+ * the storefront's own columns.
+ */
+@Getter
+@AllArgsConstructor
+public class StorefrontChangedEvent {
+
+    private final Storefront storefront;
+}
@@ -0,0 +1,11 @@
+package com.dnofulla.marketcove.backend_api.exception;
+
+/**
+ * Thrown when a request needs an in-memory index that has not finished its first build
+ */
+public class IndexNotReadyException extends RuntimeException {
+
+    public IndexNotReadyException(String message) {
+        super(message);
+    }
+}
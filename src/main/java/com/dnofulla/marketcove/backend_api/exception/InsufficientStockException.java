@@ -0,0 +1,19 @@
+package com.dnofulla.marketcove.backend_api.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a stock decrement would take an item below zero
+ */
+@Getter
+public class InsufficientStockException extends RuntimeException {
+
+    private final Long itemId;
+    private final int requestedQuantity;
+
+    public InsufficientStockException(Long itemId, int requestedQuantity) {
+        super("Insufficient stock for item " + itemId + " (requested " + requestedQuantity + ")");
+        this.itemId = itemId;
+        this.requestedQuantity = requestedQuantity;
+    }
+}
@@ -2,16 +2,22 @@ package com.dnofulla.marketcove.backend_api.repository;
 
 import com.dnofulla.marketcove.backend_api.entity.Item;
 import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import jakarta.persistence.Tuple;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for Item entity
@@ -29,8 +35,12 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     // Find by storefront ID
     List<Item> findByStorefrontId(Long storefrontId);
 
+    @EntityGraph(Item.WITH_STOREFRONT)
+    Page<Item> findByStorefrontId(Long storefrontId, Pageable pageable);
+
     List<Item> findByStorefrontIdAndIsActive(Long storefrontId, boolean isActive);
 
+    @EntityGraph(Item.WITH_STOREFRONT)
     Page<Item> findByStorefrontIdAndIsActive(Long storefrontId, boolean isActive, Pageable pageable);
 
     // Find by SKU
@@ -46,24 +56,29 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     // Find featured items
     List<Item> findByIsFeaturedAndIsActive(boolean isFeatured, boolean isActive);
 
+    @EntityGraph(Item.WITH_STOREFRONT)
     Page<Item> findByIsFeaturedAndIsActive(boolean isFeatured, boolean isActive, Pageable pageable);
 
     // Search items by name
+    @EntityGraph(Item.WITH_STOREFRONT)
     @Query("SELECT i FROM Item i WHERE LOWER(i.itemName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) AND i.isActive = true")
     Page<Item> searchByItemName(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     // Search items by name and description
+    @EntityGraph(Item.WITH_STOREFRONT)
     @Query("SELECT i FROM Item i WHERE (LOWER(i.itemName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(i.itemDescription) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND i.isActive = true")
     Page<Item> searchByNameAndDescription(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     // Find by category
     List<Item> findByCategoryAndIsActive(String category, boolean isActive);
 
+    @EntityGraph(Item.WITH_STOREFRONT)
     Page<Item> findByCategoryAndIsActive(String category, boolean isActive, Pageable pageable);
 
     // Find by price range
+    @EntityGraph(Item.WITH_STOREFRONT)
     @Query("SELECT i FROM Item i WHERE i.price BETWEEN :minPrice AND :maxPrice AND i.isActive = true")
-    Page<Item> findByPriceRange(@Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice,
+    Page<Item> findByPriceRange(@Param("minPrice") Money minPrice, @Param("maxPrice") Money maxPrice,
             Pageable pageable);
 
     // Find by storefront and category
@@ -73,12 +88,18 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             Pageable pageable);
 
     // Find low stock items
-    @Query("SELECT i FROM Item i WHERE i.stockQuantity <= i.lowStockThreshold AND i.isActive = true")
+    @Query("SELECT i FROM Item i WHERE i.lowStock = true AND i.isActive = true")
     List<Item> findLowStockItems();
 
-    @Query("SELECT i FROM Item i WHERE i.storefront = :storefront AND i.stockQuantity <= i.lowStockThreshold AND i.isActive = true")
+    @Query("SELECT i FROM Item i WHERE i.storefront = :storefront AND i.lowStock = true AND i.isActive = true")
     List<Item> findLowStockItemsByStorefront(@Param("storefront") Storefront storefront);
 
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query(value = "SELECT i FROM Item i WHERE i.storefront.id IN :storefrontIds AND i.lowStock = true AND i.isActive = true",
+            countQuery = "SELECT COUNT(i) FROM Item i WHERE i.storefront.id IN :storefrontIds AND i.lowStock = true AND i.isActive = true")
+    Page<Item> findLowStockItemsByStorefrontIds(@Param("storefrontIds") Collection<Long> storefrontIds,
+            Pageable pageable);
+
     // Find out of stock items
     @Query("SELECT i FROM Item i WHERE i.stockQuantity = 0 AND i.isActive = true")
     List<Item> findOutOfStockItems();
@@ -87,20 +108,29 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findOutOfStockItemsByStorefront(@Param("storefront") Storefront storefront);
 
     // Find items on sale
+    @EntityGraph(Item.WITH_STOREFRONT)
     @Query("SELECT i FROM Item i WHERE i.compareAtPrice IS NOT NULL AND i.compareAtPrice > i.price AND i.isActive = true")
     Page<Item> findItemsOnSale(Pageable pageable);
 
+    // Items on sale ordered by discount percentage, the on-sale feed's default order
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query(value = "SELECT i FROM Item i WHERE i.compareAtPrice IS NOT NULL AND i.compareAtPrice > i.price AND i.isActive = true ORDER BY (i.compareAtPrice - i.price) / i.compareAtPrice DESC, i.id DESC",
+            countQuery = "SELECT COUNT(i) FROM Item i WHERE i.compareAtPrice IS NOT NULL AND i.compareAtPrice > i.price AND i.isActive = true")
+    Page<Item> findItemsOnSaleByDiscount(Pageable pageable);
+
     @Query("SELECT i FROM Item i WHERE i.storefront = :storefront AND i.compareAtPrice IS NOT NULL AND i.compareAtPrice > i.price AND i.isActive = true")
     Page<Item> findItemsOnSaleByStorefront(@Param("storefront") Storefront storefront, Pageable pageable);
 
     // Find top rated items
+    @EntityGraph(Item.WITH_STOREFRONT)
     @Query("SELECT i FROM Item i WHERE i.isActive = true ORDER BY i.averageRating DESC, i.totalReviews DESC")
     Page<Item> findTopRatedItems(Pageable pageable);
 
     @Query("SELECT i FROM Item i WHERE i.storefront = :storefront AND i.isActive = true ORDER BY i.averageRating DESC, i.totalReviews DESC")
     Page<Item> findTopRatedItemsByStorefront(@Param("storefront") Storefront storefront, Pageable pageable);
 
-    // Find best selling items
+    // Find best selling items (total_sales is compacted from the sales counters by ShardedCounterService)
+    @EntityGraph(Item.WITH_STOREFRONT)
     @Query("SELECT i FROM Item i WHERE i.isActive = true ORDER BY i.totalSales DESC")
     Page<Item> findBestSellingItems(Pageable pageable);
 
@@ -108,12 +138,59 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     Page<Item> findBestSellingItemsByStorefront(@Param("storefront") Storefront storefront, Pageable pageable);
 
     // Find recently added items
+    @EntityGraph(Item.WITH_STOREFRONT)
     @Query("SELECT i FROM Item i WHERE i.isActive = true ORDER BY i.createdAt DESC")
     Page<Item> findRecentlyAddedItems(Pageable pageable);
 
     @Query("SELECT i FROM Item i WHERE i.storefront = :storefront AND i.isActive = true ORDER BY i.createdAt DESC")
     Page<Item> findRecentlyAddedItemsByStorefront(@Param("storefront") Storefront storefront, Pageable pageable);
 
+    // Keyset (cursor) variants of the discovery feeds: seek past the last row seen, no count query
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query("SELECT i FROM Item i WHERE i.isActive = true ORDER BY i.createdAt DESC, i.id DESC")
+    Slice<Item> findRecentlyAddedItemsFirstSlice(Pageable pageable);
+
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query("SELECT i FROM Item i WHERE i.isActive = true AND (i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)) ORDER BY i.createdAt DESC, i.id DESC")
+    Slice<Item> findRecentlyAddedItemsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query("SELECT i FROM Item i WHERE i.isActive = true ORDER BY i.totalSales DESC, i.id DESC")
+    Slice<Item> findBestSellingItemsFirstSlice(Pageable pageable);
+
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query("SELECT i FROM Item i WHERE i.isActive = true AND (i.totalSales < :totalSales OR (i.totalSales = :totalSales AND i.id < :id)) ORDER BY i.totalSales DESC, i.id DESC")
+    Slice<Item> findBestSellingItemsAfter(@Param("totalSales") Integer totalSales, @Param("id") Long id,
+            Pageable pageable);
+
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query("SELECT i FROM Item i WHERE i.compareAtPrice IS NOT NULL AND i.compareAtPrice > i.price AND i.isActive = true ORDER BY i.createdAt DESC, i.id DESC")
+    Slice<Item> findItemsOnSaleFirstSlice(Pageable pageable);
+
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query("SELECT i FROM Item i WHERE i.compareAtPrice IS NOT NULL AND i.compareAtPrice > i.price AND i.isActive = true AND (i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)) ORDER BY i.createdAt DESC, i.id DESC")
+    Slice<Item> findItemsOnSaleAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+            Pageable pageable);
+
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query("SELECT i FROM Item i WHERE i.price BETWEEN :minPrice AND :maxPrice AND i.isActive = true ORDER BY i.price ASC, i.id ASC")
+    Slice<Item> findByPriceRangeFirstSlice(@Param("minPrice") Money minPrice,
+            @Param("maxPrice") Money maxPrice, Pageable pageable);
+
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query("SELECT i FROM Item i WHERE i.price BETWEEN :minPrice AND :maxPrice AND i.isActive = true AND (i.price > :price OR (i.price = :price AND i.id > :id)) ORDER BY i.price ASC, i.id ASC")
+    Slice<Item> findByPriceRangeAfter(@Param("minPrice") Money minPrice, @Param("maxPrice") Money maxPrice,
+            @Param("price") Money price, @Param("id") Long id, Pageable pageable);
+
+    // Hydrate a known set of items (e.g. search hits) with the list fetch plan
+    @EntityGraph(Item.WITH_STOREFRONT)
+    List<Item> findByIdIn(Collection<Long> ids);
+
+    // Which of the given SKUs are already taken (bulk import uniqueness check)
+    @Query("SELECT i.sku FROM Item i WHERE i.sku IN :skus")
+    Set<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
     // Count items by storefront
     long countByStorefront(Storefront storefront);
 
@@ -125,9 +202,21 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     boolean existsBySkuAndStorefront(String sku, Storefront storefront);
 
     // Find items by owner user ID (through storefront)
-    @Query("SELECT i FROM Item i WHERE (i.storefront.businessProfile.user.id = :userId OR i.storefront.sellerProfile.user.id = :userId)")
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query("SELECT i FROM Item i WHERE i.storefront.id IN (" + StorefrontRepository.OWNED_STOREFRONT_IDS + ")")
     List<Item> findByOwnerUserId(@Param("userId") Long userId);
 
-    @Query("SELECT i FROM Item i WHERE (i.storefront.businessProfile.user.id = :userId OR i.storefront.sellerProfile.user.id = :userId) AND i.isActive = :isActive")
+    @EntityGraph(Item.WITH_STOREFRONT)
+    @Query("SELECT i FROM Item i WHERE i.storefront.id IN (" + StorefrontRepository.OWNED_STOREFRONT_IDS + ") AND i.isActive = :isActive")
     List<Item> findByOwnerUserIdAndIsActive(@Param("userId") Long userId, @Param("isActive") boolean isActive);
+
+    // Version rows for conditional GETs (see ContentVersion): update times and the counters written
+    // without them; the storefront's update time covers its name in the response
+    @Query("SELECT i.updatedAt, i.totalReviews, i.averageRating, i.totalSales, s.updatedAt "
+            + "FROM Item i JOIN i.storefront s WHERE i.id = :id")
+    Optional<Tuple> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT i.updatedAt, i.totalReviews, i.averageRating, i.totalSales, s.updatedAt "
+            + "FROM Item i JOIN i.storefront s WHERE i.sku = :sku AND i.isActive = true")
+    Optional<Tuple> findActiveVersionBySku(@Param("sku") String sku);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.dnofulla.marketcove.backend_api.repository;
+
+import com.dnofulla.marketcove.backend_api.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for OutboxEvent entity
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Records the relay gave up on
+    List<OutboxEvent> findByParkedAtIsNotNull();
+}
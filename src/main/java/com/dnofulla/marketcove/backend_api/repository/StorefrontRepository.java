@@ -3,6 +3,7 @@ package com.dnofulla.marketcove.backend_api.repository;
 import com.dnofulla.marketcove.backend_api.entity.BusinessProfile;
 import com.dnofulla.marketcove.backend_api.entity.SellerProfile;
 import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import jakarta.persistence.Tuple;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -48,13 +49,20 @@ public interface StorefrontRepository extends JpaRepository<Storefront, Long> {
     @Query("SELECT s FROM Storefront s WHERE LOWER(s.storeName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) AND s.isActive = true")
     Page<Storefront> searchByStoreName(@Param("searchTerm") String searchTerm, Pageable pageable);
 
-    // Find storefronts by owner user ID
-    @Query("SELECT s FROM Storefront s WHERE (s.businessProfile.user.id = :userId OR s.sellerProfile.user.id = :userId)")
+    // Find storefronts by owner user ID. An OR across the two profile columns cannot use an index,
+    // so each profile type is looked up separately and the IDs combined
+    String OWNED_STOREFRONT_IDS = "SELECT bs.id FROM Storefront bs JOIN bs.businessProfile b WHERE b.user.id = :userId "
+            + "UNION SELECT ss.id FROM Storefront ss JOIN ss.sellerProfile sp WHERE sp.user.id = :userId";
+
+    @Query("SELECT s FROM Storefront s WHERE s.id IN (" + OWNED_STOREFRONT_IDS + ")")
     List<Storefront> findByOwnerUserId(@Param("userId") Long userId);
 
-    @Query("SELECT s FROM Storefront s WHERE (s.businessProfile.user.id = :userId OR s.sellerProfile.user.id = :userId) AND s.isActive = :isActive")
+    @Query("SELECT s FROM Storefront s WHERE s.id IN (" + OWNED_STOREFRONT_IDS + ") AND s.isActive = :isActive")
     List<Storefront> findByOwnerUserIdAndIsActive(@Param("userId") Long userId, @Param("isActive") boolean isActive);
 
+    @Query(OWNED_STOREFRONT_IDS)
+    List<Long> findIdsByOwnerUserId(@Param("userId") Long userId);
+
     // Check if store name exists (for validation)
     boolean existsByStoreName(String storeName);
 
@@ -77,4 +85,16 @@ public interface StorefrontRepository extends JpaRepository<Storefront, Long> {
     long countBySellerProfile(SellerProfile sellerProfile);
 
     long countBySellerProfileAndIsActive(SellerProfile sellerProfile, boolean isActive);
+
+    // Version rows for conditional GETs (see ContentVersion); responses include the active item count,
+    // which item creates, deactivations and imports also reflect in the storefront's updatedAt
+    @Query("SELECT s.updatedAt, s.totalReviews, s.averageRating, s.totalSales, s.totalOrders, "
+            + "(SELECT COUNT(i) FROM Item i WHERE i.storefront = s AND i.isActive = true) "
+            + "FROM Storefront s WHERE s.id = :id")
+    Optional<Tuple> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT s.updatedAt, s.totalReviews, s.averageRating, s.totalSales, s.totalOrders, "
+            + "(SELECT COUNT(i) FROM Item i WHERE i.storefront = s AND i.isActive = true) "
+            + "FROM Storefront s WHERE s.storeUrlSlug = :slug AND s.isActive = true")
+    Optional<Tuple> findActiveVersionBySlug(@Param("slug") String slug);
 }
\ No newline at end of file
@@ -19,14 +19,14 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
-     * Find user by email (case-insensitive)
+     * Find user by email; pass the normalized form (see User.normalizeEmail)
      */
-    Optional<User> findByEmailIgnoreCase(String email);
+    Optional<User> findByEmail(String email);
 
     /**
-     * Check if user exists by email
+     * Check if user exists by email; pass the normalized form
      */
-    boolean existsByEmailIgnoreCase(String email);
+    boolean existsByEmail(String email);
 
     /**
      * Find users by role
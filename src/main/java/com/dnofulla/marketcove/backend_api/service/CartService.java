@@ -9,6 +9,7 @@ import com.dnofulla.marketcove.backend_api.entity.Cart;
 import com.dnofulla.marketcove.backend_api.entity.CartItem;
 import com.dnofulla.marketcove.backend_api.entity.Item;
 import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.enums.OutboxEntityType;
 import com.dnofulla.marketcove.backend_api.repository.CartItemRepository;
 import com.dnofulla.marketcove.backend_api.repository.CartRepository;
 import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
@@ -34,6 +35,7 @@ public class CartService {
     private final CartItemRepository cartItemRepository;
     private final ItemRepository itemRepository;
     private final ItemService itemService;
+    private final OutboxService outboxService;
 
     /**
      * Get user's cart
@@ -91,6 +93,7 @@ public class CartService {
 
         cart.recalculateTotal();
         Cart savedCart = cartRepository.save(cart);
+        outboxService.recordChanged(OutboxEntityType.CART, savedCart);
 
         log.info("Successfully added item to cart. Cart now has {} items", savedCart.getTotalItems());
         return convertToCartResponse(savedCart);
@@ -118,6 +121,7 @@ public class CartService {
         Cart cart = cartItem.getCart();
         cart.recalculateTotal();
         Cart savedCart = cartRepository.save(cart);
+        outboxService.recordChanged(OutboxEntityType.CART, savedCart);
 
         log.info("Successfully updated cart item quantity");
         return convertToCartResponse(savedCart);
@@ -138,6 +142,7 @@ public class CartService {
 
         cart.recalculateTotal();
         Cart savedCart = cartRepository.save(cart);
+        outboxService.recordChanged(OutboxEntityType.CART, savedCart);
 
         log.info("Successfully removed item from cart");
         return convertToCartResponse(savedCart);
@@ -153,6 +158,7 @@ public class CartService {
         cartItemRepository.deleteByCart(cart);
         cart.clearCart();
         Cart savedCart = cartRepository.save(cart);
+        outboxService.recordChanged(OutboxEntityType.CART, savedCart);
 
         log.info("Successfully cleared cart");
         return convertToCartResponse(savedCart);
@@ -212,7 +218,7 @@ public class CartService {
                 .id(cart.getId())
                 .userId(cart.getUser().getId())
                 .cartItems(cartItemResponses)
-                .totalAmount(cart.getTotalAmount())
+                .totalAmount(cart.getTotalAmount().toBigDecimal())
                 .totalItems(cart.getTotalItems())
                 .empty(cart.isEmpty())
                 .createdAt(cart.getCreatedAt())
@@ -227,10 +233,10 @@ public class CartService {
                 .id(cartItem.getId())
                 .item(itemResponse)
                 .quantity(cartItem.getQuantity())
-                .priceAtTime(cartItem.getPriceAtTime())
-                .subtotal(cartItem.getSubtotal())
+                .priceAtTime(cartItem.getPriceAtTime().toBigDecimal())
+                .subtotal(cartItem.getSubtotal().toBigDecimal())
                 .priceChanged(cartItem.isPriceChanged())
-                .currentItemPrice(cartItem.getCurrentItemPrice())
+                .currentItemPrice(cartItem.getCurrentItemPrice().toBigDecimal())
                 .createdAt(cartItem.getCreatedAt())
                 .updatedAt(cartItem.getUpdatedAt())
                 .build();
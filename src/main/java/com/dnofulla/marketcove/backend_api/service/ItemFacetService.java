@@ -0,0 +1,373 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemStockChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Faceted filtering over active items backed by compressed bitmaps.
+ * Keeps one Roaring bitmap of item IDs per facet value. A query ORs the selected
+ * values within a facet and ANDs across facets; counts for each facet are computed
+ * against the filters on every other facet, so selecting a value does not hide the
+ * alternatives. Built at startup and kept current from item change events.
+ * Bitmaps hold dense int ordinals rather than the long item IDs, so any ID fits and the
+ * 32-bit Roaring operations (including andCardinality for the counts) still apply; ordinals
+ * are handed out in ID order at build time and to new items as they appear.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemFacetService {
+
+    public static final String CATEGORY = "category";
+    public static final String PRICE_BUCKET = "priceBucket";
+    public static final String ON_SALE = "onSale";
+    public static final String IN_STOCK = "inStock";
+    public static final String LOW_STOCK = "lowStock";
+    public static final String STOREFRONT = "storefront";
+    public static final String FEATURED = "featured";
+
+    public static final List<String> FACETS = List.of(CATEGORY, PRICE_BUCKET, ON_SALE, IN_STOCK, LOW_STOCK,
+            STOREFRONT, FEATURED);
+
+    // Upper bounds (exclusive) of the price buckets; prices at or above the last bound fall in "500+"
+    private static final int[] PRICE_BUCKET_BOUNDS = { 10, 25, 50, 100, 250, 500 };
+
+    private final ItemRepository itemRepository;
+    private final PagedEntityScanner pagedEntityScanner;
+
+    @Value("${items.facets.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private FacetIndex index = new FacetIndex();
+    private volatile boolean ready = false;
+
+    // Items changed while a rebuild was running; re-applied once the new index is swapped in
+    private Map<Long, Item> changedDuringRebuild;
+    // Stock written while a rebuild was running; re-applied after the changed items
+    private Map<Long, ItemStockChangedEvent.Stock> stockChangedDuringRebuild;
+
+    /**
+     * Filter active items and count facet values.
+     * Filters map a facet name to the accepted values; an absent or empty facet does not filter.
+     * Matching IDs are returned newest first. Returns empty when the index has not been built yet.
+     */
+    public Optional<FacetResult> search(Map<String, ? extends Collection<String>> filters, long offset, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        filters.keySet().forEach(facet -> {
+            if (!FACETS.contains(facet)) {
+                throw new IllegalArgumentException("Unknown facet: " + facet);
+            }
+        });
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(index.search(filters, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Price bucket label for a price, e.g. "25-50" or "500+"
+     */
+    public static String priceBucket(Money price) {
+        int lower = 0;
+        for (int bound : PRICE_BUCKET_BOUNDS) {
+            if (price.getMinorUnits() < bound * 100L) {
+                return lower + "-" + bound;
+            }
+            lower = bound;
+        }
+        return lower + "+";
+    }
+
+    /**
+     * Build the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new LinkedHashMap<>();
+            stockChangedDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        FacetIndex rebuilt = new FacetIndex();
+        pagedEntityScanner.scan(pageable -> itemRepository.findByIsActive(true, pageable), rebuildBatchSize,
+                rebuilt::add);
+        rebuilt.optimize();
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.values().forEach(rebuilt::apply);
+            stockChangedDuringRebuild.forEach(rebuilt::applyStock);
+            changedDuringRebuild = null;
+            stockChangedDuringRebuild = null;
+            index = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Built item facet index with {} items in {} ms", rebuilt.all.getCardinality(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Keep the index in sync with committed item changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Item item = event.getItem();
+        lock.writeLock().lock();
+        try {
+            index.apply(item);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(item.getId(), item);
+                stockChangedDuringRebuild.remove(item.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keep the index in sync with bulk item changes under a single lock acquisition
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemBatchChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Item item : event.getItems()) {
+                index.apply(item);
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.put(item.getId(), item);
+                    stockChangedDuringRebuild.remove(item.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Move items between the in-stock and low-stock values after a committed stock write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ItemStockChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getStockByItemId().forEach((itemId, stock) -> {
+                index.applyStock(itemId, stock);
+                if (stockChangedDuringRebuild != null) {
+                    stockChangedDuringRebuild.put(itemId, stock);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Facet query result: matching item IDs for the requested slice, total matches and per-facet value counts
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class FacetResult {
+        private final long totalHits;
+        private final List<Long> itemIds;
+        private final Map<String, Map<String, Long>> facetCounts;
+    }
+
+    /**
+     * Facet value bitmaps. Not thread-safe; guarded by the service lock.
+     */
+    private static class FacetIndex {
+
+        // Item ID -> ordinal used in the bitmaps, and back; kept for deactivated items so they
+        // return to the same place in the order
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private long[] itemIdsByOrdinal = new long[1024];
+
+        private final RoaringBitmap all = new RoaringBitmap();
+        // facet name -> facet value -> IDs of active items with that value
+        private final Map<String, Map<String, RoaringBitmap>> bitmaps = new HashMap<>();
+
+        FacetIndex() {
+            FACETS.forEach(facet -> bitmaps.put(facet, new HashMap<>()));
+        }
+
+        void apply(Item item) {
+            remove(item.getId());
+            if (item.isActive()) {
+                add(item);
+            }
+        }
+
+        void add(Item item) {
+            int id = ordinalOf(item.getId());
+            all.add(id);
+            if (item.getCategory() != null && !item.getCategory().isBlank()) {
+                addValue(CATEGORY, item.getCategory(), id);
+            }
+            if (item.getPrice() != null) {
+                addValue(PRICE_BUCKET, priceBucket(item.getPrice()), id);
+                addValue(ON_SALE, String.valueOf(item.isOnSale()), id);
+            }
+            addStockValues(item.getStockQuantity(), item.getLowStockThreshold(), id);
+            if (item.getStorefront() != null) {
+                addValue(STOREFRONT, String.valueOf(item.getStorefront().getId()), id);
+            }
+            addValue(FEATURED, String.valueOf(item.isFeatured()), id);
+        }
+
+        // Only the stock facets change; inactive items stay out of the index
+        void applyStock(Long itemId, ItemStockChangedEvent.Stock stock) {
+            Integer id = ordinals.get(itemId);
+            if (id == null || !all.contains(id)) {
+                return;
+            }
+            removeValues(IN_STOCK, id);
+            removeValues(LOW_STOCK, id);
+            addStockValues(stock.quantity(), stock.lowStockThreshold(), id);
+        }
+
+        void remove(Long itemId) {
+            Integer id = ordinals.get(itemId);
+            if (id == null || !all.contains(id)) {
+                return;
+            }
+            all.remove(id);
+            for (Map<String, RoaringBitmap> values : bitmaps.values()) {
+                values.values().removeIf(bitmap -> {
+                    bitmap.remove(id);
+                    return bitmap.isEmpty();
+                });
+            }
+        }
+
+        void optimize() {
+            all.runOptimize();
+            bitmaps.values().forEach(values -> values.values().forEach(RoaringBitmap::runOptimize));
+        }
+
+        FacetResult search(Map<String, ? extends Collection<String>> filters, long offset, int limit) {
+            // One OR-ed bitmap per facet that has a filter
+            Map<String, RoaringBitmap> selected = new HashMap<>();
+            filters.forEach((facet, values) -> {
+                if (values != null && !values.isEmpty()) {
+                    RoaringBitmap union = new RoaringBitmap();
+                    for (String value : values) {
+                        RoaringBitmap bitmap = bitmaps.get(facet).get(value);
+                        if (bitmap != null) {
+                            union.or(bitmap);
+                        }
+                    }
+                    selected.put(facet, union);
+                }
+            });
+
+            RoaringBitmap matches = intersect(selected, null);
+
+            Map<String, Map<String, Long>> facetCounts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                RoaringBitmap others = intersect(selected, facet);
+                Map<String, Long> counts = new TreeMap<>();
+                bitmaps.get(facet).forEach((value, bitmap) -> {
+                    long count = RoaringBitmap.andCardinality(others, bitmap);
+                    if (count > 0) {
+                        counts.put(value, count);
+                    }
+                });
+                facetCounts.put(facet, counts);
+            }
+
+            // Newest (highest ordinal) first
+            int total = matches.getCardinality();
+            List<Long> itemIds = new ArrayList<>();
+            for (long rank = total - 1 - offset; rank >= 0 && itemIds.size() < limit; rank--) {
+                itemIds.add(itemIdsByOrdinal[matches.select((int) rank)]);
+            }
+            return new FacetResult(total, itemIds, facetCounts);
+        }
+
+        private int ordinalOf(Long itemId) {
+            return ordinals.computeIfAbsent(itemId, id -> {
+                int ordinal = ordinals.size();
+                if (ordinal == itemIdsByOrdinal.length) {
+                    itemIdsByOrdinal = Arrays.copyOf(itemIdsByOrdinal, ordinal * 2);
+                }
+                itemIdsByOrdinal[ordinal] = id;
+                return ordinal;
+            });
+        }
+
+        // AND of all selected facets except the excluded one, starting from every active item
+        private RoaringBitmap intersect(Map<String, RoaringBitmap> selected, String excludedFacet) {
+            RoaringBitmap result = all.clone();
+            selected.forEach((facet, bitmap) -> {
+                if (!facet.equals(excludedFacet)) {
+                    result.and(bitmap);
+                }
+            });
+            return result;
+        }
+
+        // Same rules as Item.isOutOfStock and Item.isLowStock
+        private void addStockValues(Integer stockQuantity, Integer lowStockThreshold, int id) {
+            if (stockQuantity != null) {
+                addValue(IN_STOCK, String.valueOf(stockQuantity > 0), id);
+                if (lowStockThreshold != null) {
+                    addValue(LOW_STOCK, String.valueOf(stockQuantity <= lowStockThreshold), id);
+                }
+            }
+        }
+
+        private void removeValues(String facet, int id) {
+            bitmaps.get(facet).values().removeIf(bitmap -> {
+                bitmap.remove(id);
+                return bitmap.isEmpty();
+            });
+        }
+
+        private void addValue(String facet, String value, int id) {
+            bitmaps.get(facet).computeIfAbsent(value, v -> new RoaringBitmap()).add(id);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.dto.item.ItemResponse;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.enums.OutboxEntityType;
+import com.dnofulla.marketcove.backend_api.event.EntityChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemStockChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Precomputed snapshots of the public homepage feeds.
+ * The top items of each feed are rebuilt periodically and shortly after any item
+ * change, and kept as immutable arrays of ready-made responses. Requests for the
+ * first pages of a feed in its default order are served from memory, each caller
+ * getting its own copies of the responses; anything else falls back to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemFeedSnapshotService {
+
+    /**
+     * Public item feeds, each with the default order its endpoint uses
+     */
+    @Getter
+    public enum Feed {
+        FEATURED(Sort.by(Sort.Direction.DESC, "averageRating")),
+        ON_SALE(Sort.by(Sort.Direction.DESC, "discountPercentage")),
+        BEST_SELLING(Sort.by(Sort.Direction.DESC, "totalSales")),
+        RECENT(Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        private final Sort defaultSort;
+        // Default order with an ID tie-break, so the snapshot and the database agree on every position
+        private final Sort snapshotSort;
+
+        Feed(Sort defaultSort) {
+            this.defaultSort = defaultSort;
+            this.snapshotSort = defaultSort.and(Sort.by(Sort.Direction.DESC, "id"));
+        }
+
+        /**
+         * Whether a request uses the order the snapshot was built in
+         */
+        public boolean isDefaultOrder(Pageable pageable) {
+            return pageable.getSort().isUnsorted() || pageable.getSort().equals(defaultSort);
+        }
+    }
+
+    private final ItemRepository itemRepository;
+    private final ItemResponseMapper itemResponseMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${items.feeds.snapshot-size:200}")
+    private int snapshotSize;
+
+    @Value("${items.feeds.refresh-debounce-ms:2000}")
+    private long refreshDebounceMs;
+
+    private final ConcurrentHashMap<Feed, FeedSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean(false);
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    /**
+     * Serve a page of a feed from its snapshot.
+     * Returns empty when the page is not covered by the snapshot.
+     */
+    public Optional<Page<ItemResponse>> getPage(Feed feed, Pageable pageable) {
+        FeedSnapshot snapshot = snapshots.get(feed);
+        if (snapshot == null || !feed.isDefaultOrder(pageable)) {
+            return Optional.empty();
+        }
+
+        long offset = pageable.getOffset();
+        long end = offset + pageable.getPageSize();
+        // Past the snapshot is only servable when the snapshot already holds the whole feed
+        if (end > snapshot.items.length && snapshot.items.length < snapshot.totalElements) {
+            return Optional.empty();
+        }
+
+        // Callers may modify the responses they get, so never hand out the stored ones
+        List<ItemResponse> content = offset >= snapshot.items.length
+                ? Collections.emptyList()
+                : Arrays.stream(snapshot.items, (int) offset, (int) Math.min(end, snapshot.items.length))
+                        .map(item -> item.toBuilder().build())
+                        .toList();
+        return Optional.of(new PageImpl<>(content, pageable, snapshot.totalElements));
+    }
+
+    /**
+     * Get a page of a feed, from the snapshot when it covers the page and from the database otherwise.
+     * Default-order pages past the snapshot are read in the snapshot's own order, so they continue it
+     * without repeating or skipping items.
+     */
+    public Page<ItemResponse> getFeed(Feed feed, Pageable pageable) {
+        return getPage(feed, pageable).orElseGet(() -> {
+            Pageable ordered = feed.isDefaultOrder(pageable)
+                    ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), feed.getSnapshotSort())
+                    : pageable;
+            return transactionTemplate.execute(status ->
+                    queryFeed(feed, ordered).map(itemResponseMapper::convertToResponse));
+        });
+    }
+
+    /**
+     * Rebuild every feed snapshot
+     */
+    @Scheduled(fixedDelayString = "${items.feeds.refresh-interval-ms:60000}")
+    public void refreshAll() {
+        refreshScheduled.set(false);
+        refreshLock.lock();
+        try {
+            for (Feed feed : Feed.values()) {
+                try {
+                    FeedSnapshot snapshot = transactionTemplate.execute(status -> buildSnapshot(feed));
+                    snapshots.put(feed, snapshot);
+                } catch (RuntimeException e) {
+                    // Keep serving the previous snapshot; the next refresh will try again
+                    log.error("Failed to refresh {} feed snapshot: {}", feed, e.getMessage());
+                }
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Schedule a refresh after committed item changes, coalescing bursts of changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        scheduleRefresh();
+    }
+
+    /**
+     * Schedule a debounced refresh after bulk item changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemBatchChangedEvent event) {
+        scheduleRefresh();
+    }
+
+    /**
+     * Schedule a debounced refresh after stock writes, as snapshot responses show stock
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ItemStockChangedEvent event) {
+        scheduleRefresh();
+    }
+
+    /**
+     * Schedule a debounced refresh when a storefront is renamed, as snapshot responses show its name
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getEntityType() == OutboxEntityType.STOREFRONT && event.changed("storeName")) {
+            scheduleRefresh();
+        }
+    }
+
+    // Private helper methods
+
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::refreshAll, Instant.now().plusMillis(refreshDebounceMs));
+        }
+    }
+
+    private FeedSnapshot buildSnapshot(Feed feed) {
+        Page<Item> page = queryFeed(feed, PageRequest.of(0, snapshotSize, feed.getSnapshotSort()));
+
+        ItemResponse[] items = page.getContent().stream()
+                .map(itemResponseMapper::convertToResponse)
+                .map(ItemFeedSnapshotService::freeze)
+                .toArray(ItemResponse[]::new);
+        return new FeedSnapshot(items, page.getTotalElements());
+    }
+
+    /**
+     * Make the only mutable part of a stored response read-only, so copies can share it
+     */
+    private static ItemResponse freeze(ItemResponse response) {
+        if (response.getImageUrls() != null) {
+            response.setImageUrls(Collections.unmodifiableList(new ArrayList<>(response.getImageUrls())));
+        }
+        return response;
+    }
+
+    private Page<Item> queryFeed(Feed feed, Pageable pageable) {
+        return switch (feed) {
+            case FEATURED -> itemRepository.findByIsFeaturedAndIsActive(true, true, pageable);
+            // Discount percentage is derived, so the snapshot order has its own query
+            case ON_SALE -> pageable.getSort().equals(feed.getSnapshotSort())
+                    ? itemRepository.findItemsOnSaleByDiscount(
+                            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()))
+                    : itemRepository.findItemsOnSale(pageable);
+            case BEST_SELLING -> itemRepository.findBestSellingItems(pageable);
+            case RECENT -> itemRepository.findRecentlyAddedItems(pageable);
+        };
+    }
+
+    private static class FeedSnapshot {
+        private final ItemResponse[] items;
+        private final long totalElements;
+
+        FeedSnapshot(ItemResponse[] items, long totalElements) {
+            this.items = items;
+            this.totalElements = totalElements;
+        }
+    }
+}
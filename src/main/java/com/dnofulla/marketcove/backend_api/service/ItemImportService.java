@@ -0,0 +1,373 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.dto.item.CreateItemRequest;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemImportResponse;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.repository.StorefrontRepository;
+import com.dnofulla.marketcove.backend_api.util.CsvReader;
+import com.dnofulla.marketcove.backend_api.util.IdGenerator;
+import com.dnofulla.marketcove.backend_api.util.TextTokenizer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk item import from CSV or NDJSON.
+ * The input is parsed as a stream and processed in chunks: each chunk is validated,
+ * checked for SKU conflicts with one query, and inserted with JDBC batch statements in
+ * its own transaction. Memory use depends on the chunk size, not on the file size.
+ */
+@Service
+@Slf4j
+public class ItemImportService {
+
+    /**
+     * Supported import formats
+     */
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final String INSERT_ITEM_SQL = "INSERT INTO items (item_name, item_description, sku, public_id, price, "
+            + "compare_at_price, stock_quantity, low_stock_threshold, low_stock, weight, weight_unit, category, tags, "
+            + "is_active, is_featured, requires_shipping, is_digital, seo_title, seo_description, average_rating, "
+            + "rating_sum, total_reviews, total_sales, view_count, primary_image_url, storefront_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, FALSE, ?, ?, ?, ?, 0.0, 0.0, 0, 0, 0, ?, ?, ?, ?)";
+
+    private static final String INSERT_IMAGE_SQL = "INSERT INTO item_images (item_id, image_url) VALUES (?, ?)";
+
+    // Storefront responses include the active item count, which their ETags only see through updated_at
+    private static final String TOUCH_STOREFRONT_SQL = "UPDATE storefronts SET updated_at = ? WHERE id = ?";
+
+    // Separator for multiple image URLs in one CSV column
+    private static final String CSV_IMAGE_SEPARATOR = "\\|";
+
+    private final ItemRepository itemRepository;
+    private final StorefrontRepository storefrontRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectReader ndjsonReader;
+
+    @Value("${items.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${items.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ItemImportService(ItemRepository itemRepository, StorefrontRepository storefrontRepository,
+            JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher, Validator validator, ObjectMapper objectMapper) {
+        this.itemRepository = itemRepository;
+        this.storefrontRepository = storefrontRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.ndjsonReader = objectMapper.readerFor(CreateItemRequest.class);
+    }
+
+    /**
+     * Import items into a storefront from a CSV (with header row) or NDJSON stream
+     */
+    public ItemImportResponse importItems(Long storefrontId, InputStream input, Format format, User currentUser) {
+        log.info("Importing {} items into storefront {} for user: {}", format, storefrontId, currentUser.getEmail());
+        long start = System.currentTimeMillis();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Storefront storefront = storefrontRepository.findById(storefrontId)
+                    .orElseThrow(() -> new IllegalArgumentException("Storefront not found with ID: " + storefrontId));
+            User owner = storefront.getOwnerUser();
+            if (owner == null || !owner.getId().equals(currentUser.getId())) {
+                throw new AccessDeniedException("You don't have permission to access this storefront");
+            }
+        });
+
+        ImportRun run = new ImportRun(storefrontId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == Format.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+            run.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import data", e);
+        }
+
+        log.info("Imported {} of {} items into storefront {} in {} ms", run.response.getImportedCount(),
+                run.response.getTotalRows(), storefrontId, System.currentTimeMillis() - start);
+        return run.response;
+    }
+
+    // Private helper methods
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+        List<String> columns = header.stream().map(String::trim).toList();
+        for (String column : columns) {
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + column);
+            }
+        }
+
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            long row = run.nextRow();
+            try {
+                run.add(row, fromCsvRecord(columns, record));
+            } catch (IllegalArgumentException e) {
+                run.fail(row, null, e.getMessage());
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            long row = run.nextRow();
+            try {
+                run.add(row, ndjsonReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                run.fail(row, null, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final List<String> CSV_COLUMNS = List.of("itemName", "itemDescription", "sku", "price",
+            "compareAtPrice", "stockQuantity", "lowStockThreshold", "weight", "weightUnit", "category", "tags",
+            "requiresShipping", "isDigital", "seoTitle", "seoDescription", "imageUrls");
+
+    private static CreateItemRequest fromCsvRecord(List<String> columns, List<String> record) {
+        if (record.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " columns but found " + record.size());
+        }
+        CreateItemRequest request = new CreateItemRequest();
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i);
+            String value = record.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            try {
+                switch (column) {
+                    case "itemName" -> request.setItemName(value);
+                    case "itemDescription" -> request.setItemDescription(value);
+                    case "sku" -> request.setSku(value);
+                    case "price" -> request.setPrice(new BigDecimal(value));
+                    case "compareAtPrice" -> request.setCompareAtPrice(new BigDecimal(value));
+                    case "stockQuantity" -> request.setStockQuantity(Integer.valueOf(value));
+                    case "lowStockThreshold" -> request.setLowStockThreshold(Integer.valueOf(value));
+                    case "weight" -> request.setWeight(new BigDecimal(value));
+                    case "weightUnit" -> request.setWeightUnit(value);
+                    case "category" -> request.setCategory(value);
+                    case "tags" -> request.setTags(value);
+                    case "requiresShipping" -> request.setRequiresShipping(parseBoolean(value));
+                    case "isDigital" -> request.setIsDigital(parseBoolean(value));
+                    case "seoTitle" -> request.setSeoTitle(value);
+                    case "seoDescription" -> request.setSeoDescription(value);
+                    case "imageUrls" -> request.setImageUrls(Arrays.stream(value.split(CSV_IMAGE_SEPARATOR))
+                            .map(String::trim)
+                            .filter(url -> !url.isEmpty())
+                            .toList());
+                    default -> throw new IllegalArgumentException("Unknown CSV column: " + column);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + column + ": '" + value + "'");
+            }
+        }
+        return request;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid boolean value: '" + value + "'");
+    }
+
+    /**
+     * State of one import: the pending chunk and the running report
+     */
+    private class ImportRun {
+
+        private final Long storefrontId;
+        private final ItemImportResponse response = new ItemImportResponse();
+        private final List<ImportRow> chunk = new ArrayList<>();
+
+        ImportRun(Long storefrontId) {
+            this.storefrontId = storefrontId;
+        }
+
+        long nextRow() {
+            response.setTotalRows(response.getTotalRows() + 1);
+            return response.getTotalRows();
+        }
+
+        void add(long row, CreateItemRequest request) {
+            Set<ConstraintViolation<CreateItemRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                fail(row, request.getSku(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            if (request.getSku() == null || request.getSku().isBlank()) {
+                request.setSku(Item.generateSku());
+            }
+            chunk.add(new ImportRow(row, request));
+            if (chunk.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void fail(long row, String sku, String message) {
+            response.setFailedCount(response.getFailedCount() + 1);
+            if (response.getErrors().size() < maxReportedErrors) {
+                response.getErrors().add(new ItemImportResponse.RowError(row, sku, message));
+            } else {
+                response.setErrorsTruncated(true);
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            // SKUs must be unique within the chunk and not already taken; earlier chunks are committed,
+            // so duplicates across chunks are caught by the database check
+            Set<String> existing = itemRepository.findExistingSkus(
+                    chunk.stream().map(importRow -> importRow.request.getSku()).toList());
+            Set<String> seen = new HashSet<>();
+            List<ImportRow> accepted = new ArrayList<>(chunk.size());
+            for (ImportRow importRow : chunk) {
+                String sku = importRow.request.getSku();
+                if (existing.contains(sku) || !seen.add(sku)) {
+                    fail(importRow.row, sku, "SKU already exists: " + sku);
+                } else {
+                    accepted.add(importRow);
+                }
+            }
+            chunk.clear();
+
+            if (accepted.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertChunk(accepted));
+                response.setImportedCount(response.getImportedCount() + accepted.size());
+            } catch (RuntimeException e) {
+                log.warn("Failed to import chunk of {} items into storefront {}: {}", accepted.size(),
+                        storefrontId, e.getMessage());
+                accepted.forEach(importRow -> fail(importRow.row, importRow.request.getSku(),
+                        "Chunk insert failed: " + e.getMessage()));
+            }
+        }
+
+        private void insertChunk(List<ImportRow> rows) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, rows.stream().map(importRow -> {
+                CreateItemRequest request = importRow.request;
+                List<String> images = request.getImageUrls();
+                int lowStockThreshold = request.getLowStockThreshold() != null ? request.getLowStockThreshold() : 10;
+                return new Object[] {
+                        request.getItemName(), request.getItemDescription(), request.getSku(),
+                        IdGenerator.shared().nextPublicId(), request.getPrice(),
+                        request.getCompareAtPrice(), request.getStockQuantity(), lowStockThreshold,
+                        request.getStockQuantity() != null && request.getStockQuantity() <= lowStockThreshold,
+                        request.getWeight(), request.getWeightUnit(), request.getCategory(), TextTokenizer.canonicalTags(request.getTags()),
+                        request.getRequiresShipping() == null || request.getRequiresShipping(),
+                        request.getIsDigital() != null && request.getIsDigital(),
+                        request.getSeoTitle(), request.getSeoDescription(),
+                        images != null && !images.isEmpty() ? images.get(0) : null,
+                        storefrontId, now, now
+                };
+            }).toList());
+
+            Map<String, Long> idsBySku = new HashMap<>();
+            String placeholders = String.join(",", Collections.nCopies(rows.size(), "?"));
+            jdbcTemplate.query("SELECT id, sku FROM items WHERE sku IN (" + placeholders + ")",
+                    rs -> {
+                        idsBySku.put(rs.getString("sku"), rs.getLong("id"));
+                    },
+                    rows.stream().map(importRow -> importRow.request.getSku()).toArray());
+
+            List<Object[]> imageArgs = new ArrayList<>();
+            for (ImportRow importRow : rows) {
+                List<String> images = importRow.request.getImageUrls();
+                if (images != null) {
+                    Long itemId = idsBySku.get(importRow.request.getSku());
+                    images.forEach(url -> imageArgs.add(new Object[] { itemId, url }));
+                }
+            }
+            if (!imageArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_IMAGE_SQL, imageArgs);
+            }
+            jdbcTemplate.update(TOUCH_STOREFRONT_SQL, now, storefrontId);
+
+            // Let the in-memory indexes pick up the new items once the chunk commits
+            List<Item> inserted = itemRepository.findByIdIn(idsBySku.values());
+            inserted.sort(Comparator.comparing(Item::getId));
+            eventPublisher.publishEvent(new ItemBatchChangedEvent(inserted));
+        }
+    }
+
+    private static class ImportRow {
+        private final long row;
+        private final CreateItemRequest request;
+
+        ImportRow(long row, CreateItemRequest request) {
+            this.row = row;
+            this.request = request;
+        }
+    }
+}
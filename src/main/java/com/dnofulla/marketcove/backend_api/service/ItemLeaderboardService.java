@@ -0,0 +1,265 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Top-rated items leaderboard ranked by Bayesian average.
+ * An item's score is (v * R + m * C) / (v + m), where R is its average rating, v its
+ * review count, C the review-weighted mean rating over all items and m the prior weight,
+ * so an item needs a fair number of reviews before it can outrank well-reviewed items.
+ * Rankings are held in concurrent skip lists (one global, one per storefront) updated from
+ * item change events; reads walk the lists without locking. The prior mean is fixed at each
+ * rebuild, which runs at startup and periodically.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemLeaderboardService {
+
+    private static final String PRIOR_SQL = "SELECT COALESCE(SUM(average_rating * total_reviews), 0) AS rating_total, "
+            + "COALESCE(SUM(total_reviews), 0) AS review_total FROM items WHERE is_active = TRUE AND total_reviews > 0";
+
+    private static final String LOAD_RATED_ITEMS_SQL = "SELECT id, storefront_id, average_rating, total_reviews "
+            + "FROM items WHERE is_active = TRUE AND total_reviews >= ?";
+
+    // Highest score first; more reviews, then lower ID, break ties
+    private static final Comparator<RankedItem> RANKING = Comparator.comparingDouble(RankedItem::getScore)
+            .reversed()
+            .thenComparing(Comparator.comparingInt(RankedItem::getTotalReviews).reversed())
+            .thenComparingLong(RankedItem::getItemId);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${items.leaderboard.prior-weight:10}")
+    private double priorWeight;
+
+    @Value("${items.leaderboard.min-reviews:1}")
+    private int minReviews;
+
+    // Serialises writers; readers only touch the concurrent collections
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Leaderboard leaderboard;
+
+    // Items changed while a rebuild was running; re-applied once the new leaderboard is swapped in
+    private Map<Long, Item> changedDuringRebuild;
+
+    /**
+     * Highest ranked active items, best first. Returns empty when the leaderboard has not been built yet.
+     */
+    public Optional<LeaderboardHits> getTopRated(long offset, int limit) {
+        Leaderboard current = leaderboard;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new LeaderboardHits(current.byItem.size(), slice(current.global, offset, limit)));
+    }
+
+    /**
+     * Highest ranked active items of one storefront, best first. Returns empty when the leaderboard
+     * has not been built yet.
+     */
+    public Optional<LeaderboardHits> getTopRated(Long storefrontId, long offset, int limit) {
+        Leaderboard current = leaderboard;
+        if (current == null) {
+            return Optional.empty();
+        }
+        NavigableSet<RankedItem> ranking = current.byStorefront.get(storefrontId);
+        if (ranking == null) {
+            return Optional.of(new LeaderboardHits(0, List.of()));
+        }
+        return Optional.of(new LeaderboardHits(current.countByStorefront.getOrDefault(storefrontId, 0),
+                slice(ranking, offset, limit)));
+    }
+
+    public boolean isReady() {
+        return leaderboard != null;
+    }
+
+    /**
+     * Load the leaderboard from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${items.leaderboard.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${items.leaderboard.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        double priorMean = jdbcTemplate.queryForObject(PRIOR_SQL, (rs, rowNum) -> {
+            double reviewTotal = rs.getDouble("review_total");
+            return reviewTotal > 0 ? rs.getDouble("rating_total") / reviewTotal : 0.0;
+        });
+
+        Leaderboard rebuilt = new Leaderboard(priorMean);
+        jdbcTemplate.query(LOAD_RATED_ITEMS_SQL, rs -> {
+            int totalReviews = rs.getInt("total_reviews");
+            double averageRating = rs.getDouble("average_rating");
+            rebuilt.put(new RankedItem(rs.getLong("id"), rs.getLong("storefront_id"),
+                    bayesianScore(averageRating, totalReviews, priorMean, priorWeight), totalReviews));
+        }, minReviews);
+
+        writeLock.lock();
+        try {
+            changedDuringRebuild.values().forEach(item -> apply(rebuilt, item));
+            changedDuringRebuild = null;
+            leaderboard = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+
+        log.info("Built top-rated leaderboard with {} items (prior mean {}) in {} ms", rebuilt.global.size(),
+                String.format("%.3f", priorMean), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Re-rank items whose rating, storefront or status changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        applyAll(List.of(event.getItem()));
+    }
+
+    /**
+     * Re-rank items changed in bulk
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemBatchChangedEvent event) {
+        applyAll(event.getItems());
+    }
+
+    /**
+     * Leaderboard slice: number of ranked items plus the IDs of the requested slice
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class LeaderboardHits {
+        private final long totalHits;
+        private final List<Long> itemIds;
+    }
+
+    // Private helper methods
+
+    private void applyAll(List<Item> items) {
+        writeLock.lock();
+        try {
+            Leaderboard current = leaderboard;
+            for (Item item : items) {
+                if (current != null) {
+                    apply(current, item);
+                }
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.put(item.getId(), item);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void apply(Leaderboard target, Item item) {
+        target.remove(item.getId());
+        int totalReviews = item.getTotalReviews() != null ? item.getTotalReviews() : 0;
+        if (!item.isActive() || totalReviews < minReviews || totalReviews == 0 || item.getStorefront() == null) {
+            return;
+        }
+        double averageRating = item.getAverageRating() != null ? item.getAverageRating() : 0.0;
+        target.put(new RankedItem(item.getId(), item.getStorefront().getId(),
+                bayesianScore(averageRating, totalReviews, target.priorMean, priorWeight), totalReviews));
+    }
+
+    private static double bayesianScore(double averageRating, int totalReviews, double priorMean, double priorWeight) {
+        return (totalReviews * averageRating + priorWeight * priorMean) / (totalReviews + priorWeight);
+    }
+
+    private static List<Long> slice(NavigableSet<RankedItem> ranking, long offset, int limit) {
+        List<Long> itemIds = new ArrayList<>(Math.min(limit, 100));
+        long position = 0;
+        for (RankedItem rankedItem : ranking) {
+            if (itemIds.size() >= limit) {
+                break;
+            }
+            if (position++ >= offset) {
+                itemIds.add(rankedItem.getItemId());
+            }
+        }
+        return itemIds;
+    }
+
+    /**
+     * Ranked entry of one item
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class RankedItem {
+        private final long itemId;
+        private final long storefrontId;
+        private final double score;
+        private final int totalReviews;
+    }
+
+    /**
+     * Global and per-storefront rankings for one prior mean
+     */
+    private static class Leaderboard {
+        private final double priorMean;
+        private final NavigableSet<RankedItem> global = new ConcurrentSkipListSet<>(RANKING);
+        private final Map<Long, NavigableSet<RankedItem>> byStorefront = new ConcurrentHashMap<>();
+        // Current entry per item, needed to find it in the sets when its score changes
+        private final Map<Long, RankedItem> byItem = new ConcurrentHashMap<>();
+        // Skip list size() walks the whole list, so per-storefront sizes are tracked separately
+        private final Map<Long, Integer> countByStorefront = new ConcurrentHashMap<>();
+
+        Leaderboard(double priorMean) {
+            this.priorMean = priorMean;
+        }
+
+        void put(RankedItem rankedItem) {
+            byItem.put(rankedItem.getItemId(), rankedItem);
+            byStorefront.computeIfAbsent(rankedItem.getStorefrontId(), id -> new ConcurrentSkipListSet<>(RANKING))
+                    .add(rankedItem);
+            countByStorefront.merge(rankedItem.getStorefrontId(), 1, Integer::sum);
+            global.add(rankedItem);
+        }
+
+        void remove(long itemId) {
+            RankedItem previous = byItem.remove(itemId);
+            if (previous == null) {
+                return;
+            }
+            global.remove(previous);
+            NavigableSet<RankedItem> storefrontRanking = byStorefront.get(previous.getStorefrontId());
+            if (storefrontRanking != null) {
+                storefrontRanking.remove(previous);
+            }
+            countByStorefront.merge(previous.getStorefrontId(), -1, Integer::sum);
+        }
+    }
+}
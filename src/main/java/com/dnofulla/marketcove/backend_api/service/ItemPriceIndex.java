@@ -0,0 +1,310 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory price index over active items.
+ * Holds active item IDs sorted by (price, id) as parallel primitive arrays, with
+ * prices in cents, and answers price range queries by binary search. The price of each
+ * indexed item is also kept by ID, so a changed item is found by binary search too. The index is
+ * loaded at startup and kept current from item change events; until the first load
+ * completes callers fall back to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemPriceIndex {
+
+    private static final String LOAD_ACTIVE_PRICES_SQL =
+            "SELECT id, price FROM items WHERE is_active = TRUE AND price IS NOT NULL ORDER BY price, id";
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Parallel arrays sorted by (price, id); only the first size entries are used
+    private long[] pricesInCents = new long[0];
+    private long[] itemIds = new long[0];
+    private int size = 0;
+    // Item ID -> indexed price in cents, to find an item's position without scanning
+    private Map<Long, Long> pricesById = new HashMap<>();
+    private volatile boolean ready = false;
+
+    // Items changed while a rebuild was running; re-applied once the loaded arrays are swapped in
+    private Map<Long, Item> changedDuringRebuild;
+
+    /**
+     * Find active items priced between min and max inclusive, ordered by price then ID.
+     * Bounds beyond the range of a long count of cents are clamped to it.
+     * Returns empty when the index has not been loaded yet.
+     */
+    public Optional<PriceRangeHits> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, long offset,
+            int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        long minCents = Money.ceilingOf(minPrice).getMinorUnits();
+        long maxCents = Money.floorOf(maxPrice).getMinorUnits();
+
+        lock.readLock().lock();
+        try {
+            int from = lowerBound(minCents);
+            int to = Math.max(from, maxCents == Long.MAX_VALUE ? size : lowerBound(maxCents + 1));
+
+            int start = (int) Math.min(from + offset, to);
+            int end = (int) Math.min((long) start + limit, to);
+            return Optional.of(new PriceRangeHits(to - from, Arrays.copyOfRange(itemIds, start, end)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Load the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // The query returns rows in index order, so the arrays are filled without sorting
+        long[][] loaded = { new long[INITIAL_CAPACITY], new long[INITIAL_CAPACITY] };
+        int[] count = { 0 };
+        Map<Long, Long> loadedPrices = new HashMap<>();
+        jdbcTemplate.query(LOAD_ACTIVE_PRICES_SQL, rs -> {
+            if (count[0] == loaded[0].length) {
+                loaded[0] = Arrays.copyOf(loaded[0], loaded[0].length * 2);
+                loaded[1] = Arrays.copyOf(loaded[1], loaded[1].length * 2);
+            }
+            loaded[0][count[0]] = toCents(rs.getBigDecimal("price"));
+            loaded[1][count[0]] = rs.getLong("id");
+            loadedPrices.put(loaded[1][count[0]], loaded[0][count[0]]);
+            count[0]++;
+        });
+
+        lock.writeLock().lock();
+        try {
+            pricesInCents = loaded[0];
+            itemIds = loaded[1];
+            size = count[0];
+            pricesById = loadedPrices;
+            changedDuringRebuild.values().forEach(this::apply);
+            changedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Built item price index with {} items in {} ms", count[0], System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Keep the index in sync with committed item changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Item item = event.getItem();
+        lock.writeLock().lock();
+        try {
+            apply(item);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(item.getId(), item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keep the index in sync with bulk item changes; the whole batch is merged in one pass
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemBatchChangedEvent event) {
+        List<Item> items = event.getItems();
+        lock.writeLock().lock();
+        try {
+            applyAll(items);
+            if (changedDuringRebuild != null) {
+                items.forEach(item -> changedDuringRebuild.put(item.getId(), item));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Price range result: total number of matches plus the IDs of the requested slice
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class PriceRangeHits {
+        private final long totalHits;
+        private final long[] itemIds;
+    }
+
+    // Private helper methods, called with the write lock held
+
+    private void apply(Item item) {
+        remove(item.getId());
+        if (item.isActive() && item.getPrice() != null) {
+            insert(item.getPrice().getMinorUnits(), item.getId());
+        }
+    }
+
+    private void applyAll(List<Item> items) {
+        if (items.size() == 1) {
+            apply(items.get(0));
+            return;
+        }
+
+        // Drop every changed item in one compaction pass
+        long[] changedIds = items.stream().mapToLong(Item::getId).sorted().toArray();
+        for (long changedId : changedIds) {
+            pricesById.remove(changedId);
+        }
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (Arrays.binarySearch(changedIds, itemIds[i]) < 0) {
+                pricesInCents[kept] = pricesInCents[i];
+                itemIds[kept] = itemIds[i];
+                kept++;
+            }
+        }
+        size = kept;
+
+        // Sort the additions by (price, id) and merge them in from the back
+        long[][] additions = items.stream()
+                .filter(item -> item.isActive() && item.getPrice() != null)
+                .map(item -> new long[] { item.getPrice().getMinorUnits(), item.getId() })
+                .sorted((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]))
+                .toArray(long[][]::new);
+        if (additions.length == 0) {
+            return;
+        }
+        int merged = size + additions.length;
+        if (merged > itemIds.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, Math.max(merged, size * 2));
+            pricesInCents = Arrays.copyOf(pricesInCents, capacity);
+            itemIds = Arrays.copyOf(itemIds, capacity);
+        }
+        for (long[] addition : additions) {
+            pricesById.put(addition[1], addition[0]);
+        }
+        int existing = size - 1;
+        int added = additions.length - 1;
+        for (int target = merged - 1; added >= 0; target--) {
+            if (existing >= 0 && (pricesInCents[existing] > additions[added][0]
+                    || (pricesInCents[existing] == additions[added][0] && itemIds[existing] > additions[added][1]))) {
+                pricesInCents[target] = pricesInCents[existing];
+                itemIds[target] = itemIds[existing];
+                existing--;
+            } else {
+                pricesInCents[target] = additions[added][0];
+                itemIds[target] = additions[added][1];
+                added--;
+            }
+        }
+        size = merged;
+    }
+
+    private void insert(long priceInCents, long itemId) {
+        int position = insertionPoint(priceInCents, itemId);
+        if (size == itemIds.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            pricesInCents = Arrays.copyOf(pricesInCents, capacity);
+            itemIds = Arrays.copyOf(itemIds, capacity);
+        }
+        System.arraycopy(pricesInCents, position, pricesInCents, position + 1, size - position);
+        System.arraycopy(itemIds, position, itemIds, position + 1, size - position);
+        pricesInCents[position] = priceInCents;
+        itemIds[position] = itemId;
+        pricesById.put(itemId, priceInCents);
+        size++;
+    }
+
+    private void remove(long itemId) {
+        Long priceInCents = pricesById.remove(itemId);
+        if (priceInCents == null) {
+            return;
+        }
+        int position = insertionPoint(priceInCents, itemId);
+        System.arraycopy(pricesInCents, position + 1, pricesInCents, position, size - position - 1);
+        System.arraycopy(itemIds, position + 1, itemIds, position, size - position - 1);
+        size--;
+    }
+
+    // First position whose price is >= the given price
+    private int lowerBound(long priceInCents) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (pricesInCents[mid] < priceInCents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Position that keeps the arrays sorted by (price, id)
+    private int insertionPoint(long priceInCents, long itemId) {
+        int low = lowerBound(priceInCents);
+        int high = lowerBound(priceInCents + 1);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (itemIds[mid] < itemId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
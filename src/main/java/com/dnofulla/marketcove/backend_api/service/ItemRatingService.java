@@ -0,0 +1,221 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind aggregation of item ratings.
+ * Ratings are accumulated per item in striped counters (LongAdder) and periodically flushed as
+ * batched increments of rating_sum and total_reviews, with average_rating recomputed in the same
+ * statement. Each flush rolls the item totals up to their storefronts and seller profiles in one
+ * transaction, so the three levels stay consistent and no request ever locks a storefront or
+ * seller profile row itself.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemRatingService {
+
+    public static final double MIN_RATING = 1.0;
+    public static final double MAX_RATING = 5.0;
+
+    // A pending entry packs the rating sum (in hundredths) above the rating count, so one atomic add
+    // records both and a drain can never see a rating's count without its value. 24 bits allow
+    // 16 million ratings per item between flushes.
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    // SET expressions see the pre-update row, so the average is computed from the new sum and count;
+    // rows created before rating_sum existed derive it from the running average
+    private static final String ITEM_INCREMENT_SQL = "UPDATE items SET "
+            + "rating_sum = COALESCE(rating_sum, average_rating * total_reviews, 0) + ?, "
+            + "total_reviews = COALESCE(total_reviews, 0) + ?, "
+            + "average_rating = (COALESCE(rating_sum, average_rating * total_reviews, 0) + ?) "
+            + "/ (COALESCE(total_reviews, 0) + ?) WHERE id = ?";
+
+    private static final String STOREFRONT_INCREMENT_SQL = ITEM_INCREMENT_SQL
+            .replace("UPDATE items", "UPDATE storefronts");
+
+    private static final String SELLER_PROFILE_INCREMENT_SQL = ITEM_INCREMENT_SQL
+            .replace("UPDATE items", "UPDATE seller_profiles");
+
+    private static final String RESOLVE_PARENTS_SQL = "SELECT i.id, i.storefront_id, s.seller_profile_id "
+            + "FROM items i JOIN storefronts s ON s.id = i.storefront_id WHERE i.id = ANY(?)";
+
+    private final ItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${items.ratings.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${items.ratings.flush-on-shutdown:true}")
+    private boolean flushOnShutdown;
+
+    private final ConcurrentHashMap<Long, LongAdder> pendingRatings = new ConcurrentHashMap<>();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean(false);
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * Record a rating for an item; it reaches the item, its storefront and its seller on the next flush
+     */
+    public void recordRating(Long itemId, double rating) {
+        if (itemId == null) {
+            throw new IllegalArgumentException("Item ID is required");
+        }
+        if (Double.isNaN(rating) || rating < MIN_RATING || rating > MAX_RATING) {
+            throw new IllegalArgumentException("Rating must be between " + MIN_RATING + " and " + MAX_RATING);
+        }
+        addPending(itemId, (Math.round(rating * 100) << COUNT_BITS) + 1);
+
+        if (pendingRatings.size() >= maxPending && earlyFlushScheduled.compareAndSet(false, true)) {
+            log.debug("Rating buffer reached {} items, scheduling early flush", maxPending);
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    /**
+     * Get the number of ratings recorded for an item that are not yet persisted
+     */
+    public long getPendingRatingCount(Long itemId) {
+        LongAdder adder = itemId != null ? pendingRatings.get(itemId) : null;
+        return adder != null ? adder.sum() & COUNT_MASK : 0;
+    }
+
+    /**
+     * Flush buffered ratings to items, storefronts and seller profiles
+     */
+    @Scheduled(fixedDelayString = "${items.ratings.flush-interval-ms:5000}")
+    public void flush() {
+        earlyFlushScheduled.set(false);
+        if (!flushLock.tryLock()) {
+            return;
+        }
+
+        try {
+            Map<Long, RatingTotals> drained = drainPending();
+            if (drained.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyRatings(drained));
+                log.debug("Flushed ratings for {} items", drained.size());
+            } catch (RuntimeException e) {
+                log.error("Failed to flush ratings for {} items, re-queueing: {}", drained.size(), e.getMessage());
+                drained.forEach((itemId, totals) -> addPending(itemId, totals.pack()));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushOnShutdown) {
+            log.info("Flushing pending ratings before shutdown");
+            flush();
+        }
+    }
+
+    // Private helper methods
+
+    private void applyRatings(Map<Long, RatingTotals> ratingsByItem) {
+        // Sorted keys make every flush lock rows in the same order
+        Map<Long, RatingTotals> ratingsByStorefront = new TreeMap<>();
+        Map<Long, RatingTotals> ratingsBySellerProfile = new TreeMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RESOLVE_PARENTS_SQL);
+            statement.setArray(1, connection.createArrayOf("BIGINT", ratingsByItem.keySet().toArray()));
+            return statement;
+        }, rs -> {
+            RatingTotals totals = ratingsByItem.get(rs.getLong("id"));
+            ratingsByStorefront.merge(rs.getLong("storefront_id"), totals, RatingTotals::plus);
+            long sellerProfileId = rs.getLong("seller_profile_id");
+            if (!rs.wasNull()) {
+                ratingsBySellerProfile.merge(sellerProfileId, totals, RatingTotals::plus);
+            }
+        });
+
+        jdbcTemplate.batchUpdate(ITEM_INCREMENT_SQL, toBatchArgs(ratingsByItem));
+        jdbcTemplate.batchUpdate(STOREFRONT_INCREMENT_SQL, toBatchArgs(ratingsByStorefront));
+        jdbcTemplate.batchUpdate(SELLER_PROFILE_INCREMENT_SQL, toBatchArgs(ratingsBySellerProfile));
+
+        // Let the leaderboard and other item views pick up the new averages once committed
+        eventPublisher.publishEvent(new ItemBatchChangedEvent(
+                itemRepository.findByIdIn(new ArrayList<>(ratingsByItem.keySet()))));
+    }
+
+    private static List<Object[]> toBatchArgs(Map<Long, RatingTotals> totalsById) {
+        List<Object[]> batchArgs = new ArrayList<>(totalsById.size());
+        totalsById.forEach((id, totals) -> {
+            double sum = totals.hundredths / 100.0;
+            batchArgs.add(new Object[] { sum, totals.count, sum, totals.count, id });
+        });
+        return batchArgs;
+    }
+
+    private void addPending(Long itemId, long packed) {
+        LongAdder adder = pendingRatings.get(itemId);
+        if (adder == null) {
+            adder = pendingRatings.computeIfAbsent(itemId, id -> new LongAdder());
+        }
+        adder.add(packed);
+    }
+
+    private Map<Long, RatingTotals> drainPending() {
+        Map<Long, RatingTotals> drained = new TreeMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingRatings.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long packed = adder.sumThenReset();
+            if (packed != 0) {
+                drained.put(entry.getKey(), new RatingTotals(packed >>> COUNT_BITS, packed & COUNT_MASK));
+            } else if (pendingRatings.remove(entry.getKey(), adder)) {
+                // Item went idle since the last flush; keep any rating that raced the removal
+                long raced = adder.sumThenReset();
+                if (raced != 0) {
+                    addPending(entry.getKey(), raced);
+                }
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Unpacked rating sum (in hundredths) and count; aggregated per storefront and seller without the
+     * packed count limit
+     */
+    private record RatingTotals(long hundredths, long count) {
+
+        RatingTotals plus(RatingTotals other) {
+            return new RatingTotals(hundredths + other.hundredths, count + other.count);
+        }
+
+        long pack() {
+            return (hundredths << COUNT_BITS) + count;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.dto.item.ItemResponse;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemResponseJson;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemStockChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.StorefrontChangedEvent;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of serialized item responses for the public item reads.
+ * Each item's response fields are kept as JSON bytes, valid for the item's updatedAt; the
+ * statistics (rating, sales, views) are taken from the loaded item on every read, so counter
+ * updates never invalidate an entry. Entries are also dropped on item and storefront change
+ * events, and the least recently used ones are evicted once the cached bytes exceed the budget.
+ * Readers take a stamp before loading items and only cache a response when neither the item nor
+ * its storefront was invalidated since, so a read racing a change cannot put back a stale entry.
+ */
+@Component
+@Slf4j
+public class ItemResponseCache {
+
+    // Rough per-entry cost of the map node, entry object and key beyond the JSON bytes
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    // Invalidation stamps are kept per stripe of IDs; a shared stripe only costs a skipped put
+    private static final int INVALIDATION_STRIPES = 1024;
+
+    private final ItemResponseMapper itemResponseMapper;
+    private final ItemViewCountService itemViewCountService;
+    private final ObjectWriter fieldsWriter;
+
+    @Value("${items.response-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    private final ConcurrentHashMap<Long, CachedFields> entries = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLongArray itemInvalidatedAt = new AtomicLongArray(INVALIDATION_STRIPES);
+    private final AtomicLongArray storefrontInvalidatedAt = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    public ItemResponseCache(ItemResponseMapper itemResponseMapper, ItemViewCountService itemViewCountService,
+            ObjectMapper objectMapper) {
+        this.itemResponseMapper = itemResponseMapper;
+        this.itemViewCountService = itemViewCountService;
+        // Same configuration as the response mapper, minus the statistics written per read
+        this.fieldsWriter = objectMapper.copy()
+                .addMixIn(ItemResponse.class, WithoutStatistics.class)
+                .writerFor(ItemResponse.class);
+    }
+
+    /**
+     * Stamp to take before loading the items passed to get
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Response for a loaded item, serializing its fields only if they changed since the last read.
+     * The stamp must have been taken before the item was loaded.
+     */
+    public ItemResponseJson get(Item item, long stamp) {
+        CachedFields cached = entries.get(item.getId());
+        if (cached == null || !Objects.equals(cached.updatedAt, item.getUpdatedAt())) {
+            cached = new CachedFields(item.getUpdatedAt(), item.getStorefront().getId(),
+                    serializeFields(itemResponseMapper.convertToResponse(item)));
+            if (!invalidatedSince(item.getId(), cached.storefrontId, stamp)) {
+                put(item.getId(), cached);
+                // An invalidation between the check and the put may have missed this entry
+                if (invalidatedSince(item.getId(), cached.storefrontId, stamp)) {
+                    remove(item.getId(), cached);
+                }
+            }
+        }
+        cached.lastUsed = clock.incrementAndGet();
+
+        long viewCount = (item.getViewCount() != null ? item.getViewCount() : 0)
+                + itemViewCountService.getPendingViews(item.getId());
+        return new ItemResponseJson(cached.fields, item.getAverageRating(), item.getTotalReviews(),
+                item.getTotalSales(), (int) Math.min(viewCount, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Serialized form of a response built elsewhere, without caching it
+     */
+    public ItemResponseJson toJson(ItemResponse response) {
+        return new ItemResponseJson(serializeFields(response), response.getAverageRating(),
+                response.getTotalReviews(), response.getTotalSales(), response.getViewCount());
+    }
+
+    /**
+     * Bytes currently held by the cache, including the per-entry estimate
+     */
+    public long getCachedBytes() {
+        return cachedBytes.get();
+    }
+
+    /**
+     * Drop a changed item; image and rating writes do not always move updatedAt
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        invalidate(event.getItem().getId());
+    }
+
+    /**
+     * Drop the items of a committed bulk change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemBatchChangedEvent event) {
+        event.getItems().forEach(item -> invalidate(item.getId()));
+    }
+
+    /**
+     * Drop the items of a committed stock write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ItemStockChangedEvent event) {
+        event.getStockByItemId().keySet().forEach(this::invalidate);
+    }
+
+    /**
+     * Drop the items of a changed storefront, whose name is part of every item response
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStorefrontChanged(StorefrontChangedEvent event) {
+        Long storefrontId = event.getStorefront().getId();
+        // Stamp first, so readers of the storefront's items that are not cached yet skip their put
+        storefrontInvalidatedAt.accumulateAndGet(stripe(storefrontId), invalidations.incrementAndGet(), Math::max);
+        entries.forEach((itemId, cached) -> {
+            if (storefrontId.equals(cached.storefrontId)) {
+                remove(itemId, cached);
+            }
+        });
+    }
+
+    // Private helper methods
+
+    private SerializedString serializeFields(ItemResponse response) {
+        String json;
+        try {
+            json = fieldsWriter.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize item " + response.getId(), e);
+        }
+        SerializedString fields = new SerializedString(json.substring(1, json.length() - 1));
+        // Encode once now, so every write copies the cached bytes
+        fields.asUnquotedUTF8();
+        return fields;
+    }
+
+    private void put(Long itemId, CachedFields cached) {
+        CachedFields previous = entries.put(itemId, cached);
+        cachedBytes.addAndGet(cached.size - (previous != null ? previous.size : 0));
+        if (cachedBytes.get() > maxBytes) {
+            evict();
+        }
+    }
+
+    private void invalidate(Long itemId) {
+        // Stamp before removing: a reader that puts after the removal then sees the stamp
+        itemInvalidatedAt.accumulateAndGet(stripe(itemId), invalidations.incrementAndGet(), Math::max);
+        CachedFields removed = entries.remove(itemId);
+        if (removed != null) {
+            cachedBytes.addAndGet(-removed.size);
+        }
+    }
+
+    private void remove(Long itemId, CachedFields cached) {
+        if (entries.remove(itemId, cached)) {
+            cachedBytes.addAndGet(-cached.size);
+        }
+    }
+
+    private boolean invalidatedSince(Long itemId, Long storefrontId, long stamp) {
+        return itemInvalidatedAt.get(stripe(itemId)) > stamp
+                || storefrontInvalidatedAt.get(stripe(storefrontId)) > stamp;
+    }
+
+    private static int stripe(Long id) {
+        return (int) ((id ^ (id >>> 32)) & (INVALIDATION_STRIPES - 1));
+    }
+
+    private void evict() {
+        // One evicting thread is enough; the others keep serving
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            // Evict down to 90% of the budget, so a full cache is not sorted on every miss
+            long target = maxBytes / 10 * 9;
+            List<EvictionCandidate> candidates = new ArrayList<>(entries.size());
+            entries.forEach((itemId, cached) -> candidates.add(new EvictionCandidate(itemId, cached, cached.lastUsed)));
+            candidates.sort(Comparator.comparingLong(EvictionCandidate::lastUsed));
+
+            int evicted = 0;
+            for (EvictionCandidate candidate : candidates) {
+                if (cachedBytes.get() <= target) {
+                    break;
+                }
+                if (entries.remove(candidate.itemId(), candidate.cached())) {
+                    cachedBytes.addAndGet(-candidate.cached().size);
+                    evicted++;
+                }
+            }
+            log.debug("Evicted {} cached item responses, {} bytes cached", evicted, cachedBytes.get());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @JsonIgnoreProperties({ "averageRating", "totalReviews", "totalSales", "viewCount" })
+    private interface WithoutStatistics {
+    }
+
+    private static class CachedFields {
+        private final LocalDateTime updatedAt;
+        private final Long storefrontId;
+        private final SerializedString fields;
+        private final long size;
+        private volatile long lastUsed;
+
+        CachedFields(LocalDateTime updatedAt, Long storefrontId, SerializedString fields) {
+            this.updatedAt = updatedAt;
+            this.storefrontId = storefrontId;
+            this.fields = fields;
+            this.size = fields.asUnquotedUTF8().length + ENTRY_OVERHEAD_BYTES;
+        }
+    }
+
+    // lastUsed is copied so the sort sees a stable value
+    private record EvictionCandidate(Long itemId, CachedFields cached, long lastUsed) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.dto.item.ItemResponse;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+/**
+ * Builds item API responses from item entities
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemResponseMapper {
+
+    private final ItemViewCountService itemViewCountService;
+
+    public ItemResponse convertToResponse(Item item) {
+        ItemResponse response = new ItemResponse();
+        response.setId(item.getId());
+        response.setItemName(item.getItemName());
+        response.setItemDescription(item.getItemDescription());
+        response.setSku(item.getSku());
+        response.setPublicId(item.getPublicId());
+        response.setPrice(toDecimal(item.getPrice()));
+        response.setCompareAtPrice(toDecimal(item.getCompareAtPrice()));
+        response.setStockQuantity(item.getStockQuantity());
+        response.setLowStockThreshold(item.getLowStockThreshold());
+        response.setWeight(item.getWeight());
+        response.setWeightUnit(item.getWeightUnit());
+        response.setCategory(item.getCategory());
+        response.setTags(item.getTags());
+        response.setActive(item.isActive());
+        response.setFeatured(item.isFeatured());
+        response.setRequiresShipping(item.isRequiresShipping());
+        response.setDigital(item.isDigital());
+        response.setSeoTitle(item.getSeoTitle());
+        response.setSeoDescription(item.getSeoDescription());
+        response.setAverageRating(item.getAverageRating());
+        response.setTotalReviews(item.getTotalReviews());
+        response.setTotalSales(item.getTotalSales());
+        long viewCount = (item.getViewCount() != null ? item.getViewCount() : 0)
+                + itemViewCountService.getPendingViews(item.getId());
+        response.setViewCount((int) Math.min(viewCount, Integer.MAX_VALUE));
+        response.setImageUrls(new ArrayList<>(item.getImageUrls()));
+        response.setPrimaryImageUrl(item.getPrimaryImageUrl());
+        response.setStorefrontId(item.getStorefront().getId());
+        response.setStorefrontName(item.getStorefront().getStoreName());
+        response.setOnSale(item.isOnSale());
+        response.setDiscountAmount(item.getDiscountAmount().toBigDecimal());
+        response.setDiscountPercentage(item.getDiscountPercentage());
+        response.setLowStock(item.isLowStock());
+        response.setOutOfStock(item.isOutOfStock());
+        response.setCreatedAt(item.getCreatedAt());
+        response.setUpdatedAt(item.getUpdatedAt());
+
+        return response;
+    }
+
+    private static BigDecimal toDecimal(Money money) {
+        return money != null ? money.toBigDecimal() : null;
+    }
+}
@@ -0,0 +1,278 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.util.TextTokenizer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory full-text search over active items.
+ * Keeps a BM25-ranked inverted index over item name, description, tags and category.
+ * The index is built at startup and kept current from item change events; until the
+ * first build completes callers fall back to the database search.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchService {
+
+    // Field weights: a term in the name counts as much as three in the description
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float TAGS_WEIGHT = 2.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // Standard BM25 tuning parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ItemRepository itemRepository;
+    private final PagedEntityScanner pagedEntityScanner;
+
+    @Value("${items.search.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready = false;
+
+    // Items changed while a rebuild was running; re-applied once the new index is swapped in
+    private Map<Long, Item> changedDuringRebuild;
+
+    /**
+     * Search active items, returning IDs ranked by relevance.
+     * Returns empty when the index has not been built yet.
+     */
+    public Optional<SearchHits> search(String query, int offset, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        List<String> queryTerms = TextTokenizer.tokenize(query);
+        lock.readLock().lock();
+        try {
+            return Optional.of(index.search(queryTerms, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Build the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex rebuilt = new InvertedIndex();
+        pagedEntityScanner.scan(pageable -> itemRepository.findByIsActive(true, pageable), rebuildBatchSize,
+                rebuilt::add);
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.values().forEach(rebuilt::apply);
+            changedDuringRebuild = null;
+            index = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Built item search index with {} items in {} ms", rebuilt.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Keep the index in sync with committed item changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Item item = event.getItem();
+        lock.writeLock().lock();
+        try {
+            index.apply(item);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(item.getId(), item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keep the index in sync with bulk item changes under a single lock acquisition
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemBatchChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Item item : event.getItems()) {
+                index.apply(item);
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.put(item.getId(), item);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search result: total number of matches plus the IDs of the requested slice
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class SearchHits {
+        private final long totalHits;
+        private final List<Long> itemIds;
+    }
+
+    /**
+     * Term to posting list index. Not thread-safe; guarded by the service lock.
+     */
+    private static class InvertedIndex {
+
+        // term -> (item ID -> weighted term frequency)
+        private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+        // item ID -> indexed document, kept so the item can be removed later
+        private final Map<Long, IndexedDocument> documents = new HashMap<>();
+        private double totalLength = 0;
+
+        int size() {
+            return documents.size();
+        }
+
+        void apply(Item item) {
+            remove(item.getId());
+            if (item.isActive()) {
+                add(item);
+            }
+        }
+
+        void add(Item item) {
+            Map<String, Float> termFrequencies = new HashMap<>();
+            float length = 0;
+            length += addTerms(termFrequencies, item.getItemName(), NAME_WEIGHT);
+            length += addTerms(termFrequencies, item.getTags(), TAGS_WEIGHT);
+            length += addTerms(termFrequencies, item.getCategory(), CATEGORY_WEIGHT);
+            length += addTerms(termFrequencies, item.getItemDescription(), DESCRIPTION_WEIGHT);
+
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(item.getId(), frequency));
+            documents.put(item.getId(), new IndexedDocument(termFrequencies.keySet().toArray(new String[0]), length));
+            totalLength += length;
+        }
+
+        void remove(Long itemId) {
+            IndexedDocument document = documents.remove(itemId);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms) {
+                Map<Long, Float> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(itemId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            totalLength -= document.length;
+        }
+
+        SearchHits search(List<String> queryTerms, int offset, int limit) {
+            if (queryTerms.isEmpty() || documents.isEmpty()) {
+                return new SearchHits(0, Collections.emptyList());
+            }
+
+            int documentCount = documents.size();
+            double averageLength = totalLength / documentCount;
+            Map<Long, Double> scores = new HashMap<>();
+
+            for (String term : queryTerms) {
+                Map<Long, Float> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((itemId, frequency) -> {
+                    double lengthNorm = 1 - B + B * documents.get(itemId).length / averageLength;
+                    double termScore = idf * (frequency * (K1 + 1)) / (frequency + K1 * lengthNorm);
+                    scores.merge(itemId, termScore, Double::sum);
+                });
+            }
+
+            // Keep only the top (offset + limit) hits; ties broken by newest item first
+            int wanted = offset + limit;
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(
+                    Math.max(1, Math.min(wanted, scores.size())),
+                    Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > wanted) {
+                    top.poll();
+                }
+            }
+
+            List<Long> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ranked.add(top.poll().getKey());
+            }
+            Collections.reverse(ranked);
+
+            List<Long> slice = offset >= ranked.size()
+                    ? Collections.emptyList()
+                    : ranked.subList(offset, ranked.size());
+            return new SearchHits(scores.size(), slice);
+        }
+
+        private static float addTerms(Map<String, Float> termFrequencies, String text, float weight) {
+            List<String> terms = TextTokenizer.tokenize(text);
+            for (String term : terms) {
+                termFrequencies.merge(term, weight, Float::sum);
+            }
+            return terms.size() * weight;
+        }
+    }
+
+    private static class IndexedDocument {
+        private final String[] terms;
+        private final float length;
+
+        IndexedDocument(String[] terms, float length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+}
@@ -1,26 +1,48 @@
 package com.dnofulla.marketcove.backend_api.service;
 
 import com.dnofulla.marketcove.backend_api.dto.item.CreateItemRequest;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemCursorPage;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemFacetPage;
 import com.dnofulla.marketcove.backend_api.dto.item.ItemResponse;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemResponseJson;
 import com.dnofulla.marketcove.backend_api.dto.item.UpdateItemRequest;
 import com.dnofulla.marketcove.backend_api.entity.Item;
 import com.dnofulla.marketcove.backend_api.entity.Storefront;
 import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.enums.OutboxEntityType;
+import com.dnofulla.marketcove.backend_api.enums.StockLevel;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.StockLevelChangedEvent;
+import com.dnofulla.marketcove.backend_api.exception.IndexNotReadyException;
 import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
 import com.dnofulla.marketcove.backend_api.repository.StorefrontRepository;
+import com.dnofulla.marketcove.backend_api.util.ContentVersion;
+import com.dnofulla.marketcove.backend_api.util.KeysetCursor;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import com.dnofulla.marketcove.backend_api.util.TextTokenizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -32,9 +54,25 @@ import java.util.stream.Collectors;
 @Transactional
 public class ItemService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final Sort PRICE_ASCENDING = Sort.by(Sort.Direction.ASC, "price");
+
     private final ItemRepository itemRepository;
     private final StorefrontRepository storefrontRepository;
     private final S3ImageService s3ImageService;
+    private final ItemViewCountService itemViewCountService;
+    private final ItemSearchService itemSearchService;
+    private final ItemFeedSnapshotService itemFeedSnapshotService;
+    private final ItemPriceIndex itemPriceIndex;
+    private final ItemFacetService itemFacetService;
+    private final ItemTagIndex itemTagIndex;
+    private final ItemSimilarityService itemSimilarityService;
+    private final ItemLeaderboardService itemLeaderboardService;
+    private final ItemResponseMapper itemResponseMapper;
+    private final ItemResponseCache itemResponseCache;
+    private final OutboxService outboxService;
+    private final ListVersionTracker listVersionTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new item in a storefront
@@ -56,6 +94,9 @@ public class ItemService {
         item.setStorefront(storefront);
 
         Item savedItem = itemRepository.save(item);
+        touchItemCount(savedItem);
+        outboxService.recordCreated(OutboxEntityType.ITEM, savedItem);
+        eventPublisher.publishEvent(new ItemChangedEvent(savedItem));
         log.info("Successfully created item with ID: {}", savedItem.getId());
 
         return convertToResponse(savedItem);
@@ -77,8 +118,16 @@ public class ItemService {
             throw new IllegalArgumentException("SKU already exists in this storefront");
         }
 
+        StockLevel previousLevel = StockLevel.of(item.getStockQuantity(), item.getLowStockThreshold());
+        boolean wasActive = item.isActive();
         updateItemFromRequest(item, request);
+        if (item.isActive() != wasActive) {
+            touchItemCount(item);
+        }
         Item savedItem = itemRepository.save(item);
+        outboxService.recordChanged(OutboxEntityType.ITEM, savedItem);
+        eventPublisher.publishEvent(new ItemChangedEvent(savedItem));
+        publishStockLevelChange(savedItem, currentUser, previousLevel);
 
         log.info("Successfully updated item with ID: {}", savedItem.getId());
         return convertToResponse(savedItem);
@@ -88,52 +137,67 @@ public class ItemService {
      * Get item by ID
      */
     @Transactional(readOnly = true)
-    public ItemResponse getItem(Long itemId) {
+    public ItemResponseJson getItem(Long itemId) {
+        long stamp = itemResponseCache.stamp();
         Item item = getItemById(itemId);
 
-        // Increment view count
-        item.incrementViewCount();
-        itemRepository.save(item);
+        itemViewCountService.recordView(item.getId());
 
-        return convertToResponse(item);
+        return itemResponseCache.get(item, stamp);
+    }
+
+    /**
+     * Get the version of an item's response, for conditional requests
+     */
+    @Transactional(readOnly = true)
+    public Optional<ContentVersion> getItemVersion(Long itemId) {
+        return itemRepository.findVersionById(itemId).map(row -> ContentVersion.of("item", row));
+    }
+
+    /**
+     * Get the version of an active item's response by SKU, for conditional requests
+     */
+    @Transactional(readOnly = true)
+    public Optional<ContentVersion> getItemVersionBySku(String sku) {
+        return itemRepository.findActiveVersionBySku(sku).map(row -> ContentVersion.of("item", row));
     }
 
     /**
      * Get item by SKU
      */
     @Transactional(readOnly = true)
-    public ItemResponse getItemBySku(String sku) {
+    public ItemResponseJson getItemBySku(String sku) {
+        long stamp = itemResponseCache.stamp();
         Item item = itemRepository.findBySkuAndIsActive(sku, true)
                 .orElseThrow(() -> new IllegalArgumentException("Item not found with SKU: " + sku));
 
-        // Increment view count
-        item.incrementViewCount();
-        itemRepository.save(item);
+        itemViewCountService.recordView(item.getId());
 
-        return convertToResponse(item);
+        return itemResponseCache.get(item, stamp);
     }
 
     /**
      * Get all items in a storefront
      */
     @Transactional(readOnly = true)
-    public Page<ItemResponse> getStorefrontItems(Long storefrontId, boolean activeOnly, Pageable pageable) {
-        if (activeOnly) {
-            return itemRepository.findByStorefrontIdAndIsActive(storefrontId, true, pageable)
-                    .map(this::convertToResponse);
-        } else {
-            List<Item> items = itemRepository.findByStorefrontId(storefrontId);
-            List<ItemResponse> responses = items.stream()
-                    .map(this::convertToResponse)
-                    .collect(Collectors.toList());
-
-            // Simple pagination simulation for non-active filter
-            int start = (int) pageable.getOffset();
-            int end = Math.min(start + pageable.getPageSize(), responses.size());
-            List<ItemResponse> pageContent = responses.subList(start, end);
+    public Page<ItemResponseJson> getStorefrontItems(Long storefrontId, boolean activeOnly, Pageable pageable) {
+        long stamp = itemResponseCache.stamp();
+        Page<Item> items = activeOnly
+                ? itemRepository.findByStorefrontIdAndIsActive(storefrontId, true, pageable)
+                : itemRepository.findByStorefrontId(storefrontId, pageable);
+        return items.map(item -> itemResponseCache.get(item, stamp));
+    }
 
-            return new PageImpl<>(pageContent, pageable, responses.size());
+    /**
+     * Get the version of a page of storefront items, for conditional requests
+     */
+    @Transactional(readOnly = true)
+    public Optional<ContentVersion> getStorefrontItemsVersion(Long storefrontId, boolean activeOnly,
+            Pageable pageable) {
+        if (!storefrontRepository.existsById(storefrontId)) {
+            return Optional.empty();
         }
+        return Optional.of(listVersionTracker.getStorefrontItemsVersion(storefrontId, activeOnly, pageable));
     }
 
     /**
@@ -148,10 +212,23 @@ public class ItemService {
     }
 
     /**
-     * Search items by name and description
+     * Search items by name, description, tags and category.
+     * Unsorted requests are ranked by relevance from the in-memory search index;
+     * explicitly sorted requests, or requests made before the index is built, use the database.
      */
     @Transactional(readOnly = true)
     public Page<ItemResponse> searchItems(String searchTerm, Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            Optional<ItemSearchService.SearchHits> hits = itemSearchService.search(searchTerm,
+                    (int) pageable.getOffset(), pageable.getPageSize());
+            if (hits.isPresent()) {
+                List<ItemResponse> content = findItemsInOrder(hits.get().getItemIds()).stream()
+                        .map(this::convertToResponse)
+                        .toList();
+                return new PageImpl<>(content, pageable, hits.get().getTotalHits());
+            }
+        }
+
         return itemRepository.searchByNameAndDescription(searchTerm, pageable)
                 .map(this::convertToResponse);
     }
@@ -166,60 +243,231 @@ public class ItemService {
     }
 
     /**
-     * Get items by price range
+     * Get items by price range.
+     * Requests ordered by ascending price (or unordered) are answered from the in-memory price index.
      */
     @Transactional(readOnly = true)
     public Page<ItemResponse> getItemsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
-        return itemRepository.findByPriceRange(minPrice, maxPrice, pageable)
+        if (pageable.getSort().isUnsorted() || pageable.getSort().equals(PRICE_ASCENDING)) {
+            Optional<ItemPriceIndex.PriceRangeHits> hits = itemPriceIndex.findByPriceRange(minPrice, maxPrice,
+                    pageable.getOffset(), pageable.getPageSize());
+            if (hits.isPresent()) {
+                List<ItemResponse> content = findItemsInOrder(Arrays.stream(hits.get().getItemIds()).boxed().toList())
+                        .stream()
+                        .map(this::convertToResponse)
+                        .toList();
+                return new PageImpl<>(content, pageable, hits.get().getTotalHits());
+            }
+        }
+
+        return itemRepository.findByPriceRange(Money.ceilingOf(minPrice), Money.floorOf(maxPrice), pageable)
                 .map(this::convertToResponse);
     }
 
     /**
-     * Get featured items
+     * Filter items by facets, newest first, with per-facet value counts
      */
     @Transactional(readOnly = true)
-    public Page<ItemResponse> getFeaturedItems(Pageable pageable) {
-        return itemRepository.findByIsFeaturedAndIsActive(true, true, pageable)
+    public ItemFacetPage getFacetedItems(Map<String, List<String>> filters, Pageable pageable) {
+        ItemFacetService.FacetResult result = itemFacetService
+                .search(filters, pageable.getOffset(), pageable.getPageSize())
+                .orElseThrow(() -> new IndexNotReadyException("Item facets are still being indexed, please retry shortly"));
+
+        List<ItemResponse> content = findItemsInOrder(result.getItemIds()).stream()
+                .map(this::convertToResponse)
+                .toList();
+        return new ItemFacetPage(content, pageable.getPageNumber(), pageable.getPageSize(), result.getTotalHits(),
+                result.getFacetCounts());
+    }
+
+    /**
+     * Get active items carrying all of the given tags, newest first
+     */
+    @Transactional(readOnly = true)
+    public Page<ItemResponse> getItemsByTags(List<String> tags, Pageable pageable) {
+        ItemTagIndex.TagHits hits = itemTagIndex
+                .findByTags(tags, pageable.getOffset(), pageable.getPageSize())
+                .orElseThrow(() -> new IndexNotReadyException("Item tags are still being indexed, please retry shortly"));
+
+        List<ItemResponse> content = findItemsInOrder(hits.getItemIds()).stream()
+                .map(this::convertToResponse)
+                .toList();
+        return new PageImpl<>(content, pageable, hits.getTotalHits());
+    }
+
+    /**
+     * Get the active items most similar to an item, most similar first
+     */
+    @Transactional(readOnly = true)
+    public List<ItemResponseJson> getSimilarItems(Long itemId, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1");
+        }
+        // No list holds more than top-k items
+        int limit = Math.min(size, itemSimilarityService.getTopK());
+        List<Long> similarIds = itemSimilarityService.findSimilar(itemId, limit)
+                .orElseThrow(() -> new IndexNotReadyException("Similar items are still being indexed, please retry shortly"));
+        if (similarIds.isEmpty()) {
+            // Only items without a list pay for telling an unknown item from one with no similar items
+            if (!itemRepository.existsById(itemId)) {
+                throw new IllegalArgumentException("Item not found with ID: " + itemId);
+            }
+            return List.of();
+        }
+
+        long stamp = itemResponseCache.stamp();
+        return findItemsInOrder(similarIds).stream()
+                .map(item -> itemResponseCache.get(item, stamp))
+                .toList();
+    }
+
+    /**
+     * Get top-rated items ranked by Bayesian average rating.
+     * Falls back to ordering by raw average rating while the leaderboard is being built.
+     */
+    @Transactional(readOnly = true)
+    public Page<ItemResponse> getTopRatedItems(Pageable pageable) {
+        Optional<ItemLeaderboardService.LeaderboardHits> hits = itemLeaderboardService
+                .getTopRated(pageable.getOffset(), pageable.getPageSize());
+        if (hits.isPresent()) {
+            return toLeaderboardPage(hits.get(), pageable);
+        }
+
+        return itemRepository.findTopRatedItems(pageable)
                 .map(this::convertToResponse);
     }
 
     /**
-     * Get items on sale
+     * Get top-rated items of a storefront ranked by Bayesian average rating
      */
     @Transactional(readOnly = true)
-    public Page<ItemResponse> getItemsOnSale(Pageable pageable) {
-        return itemRepository.findItemsOnSale(pageable)
+    public Page<ItemResponse> getTopRatedItemsByStorefront(Long storefrontId, Pageable pageable) {
+        Optional<ItemLeaderboardService.LeaderboardHits> hits = itemLeaderboardService
+                .getTopRated(storefrontId, pageable.getOffset(), pageable.getPageSize());
+        if (hits.isPresent()) {
+            return toLeaderboardPage(hits.get(), pageable);
+        }
+
+        Storefront storefront = getStorefrontById(storefrontId);
+        return itemRepository.findTopRatedItemsByStorefront(storefront, pageable)
                 .map(this::convertToResponse);
     }
 
+    /**
+     * Get featured items. Served from the feed snapshot without a transaction when possible.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<ItemResponse> getFeaturedItems(Pageable pageable) {
+        return itemFeedSnapshotService.getFeed(ItemFeedSnapshotService.Feed.FEATURED, pageable);
+    }
+
+    /**
+     * Get items on sale
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<ItemResponse> getItemsOnSale(Pageable pageable) {
+        return itemFeedSnapshotService.getFeed(ItemFeedSnapshotService.Feed.ON_SALE, pageable);
+    }
+
     /**
      * Get best selling items
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<ItemResponse> getBestSellingItems(Pageable pageable) {
-        return itemRepository.findBestSellingItems(pageable)
-                .map(this::convertToResponse);
+        return itemFeedSnapshotService.getFeed(ItemFeedSnapshotService.Feed.BEST_SELLING, pageable);
     }
 
     /**
      * Get recently added items
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<ItemResponse> getRecentlyAddedItems(Pageable pageable) {
-        return itemRepository.findRecentlyAddedItems(pageable)
-                .map(this::convertToResponse);
+        return itemFeedSnapshotService.getFeed(ItemFeedSnapshotService.Feed.RECENT, pageable);
     }
 
     /**
-     * Get low stock items for the current user
+     * Get recently added items using keyset (cursor) pagination
      */
     @Transactional(readOnly = true)
-    public List<ItemResponse> getLowStockItems(User currentUser) {
-        List<Item> userItems = itemRepository.findByOwnerUserIdAndIsActive(currentUser.getId(), true);
-        return userItems.stream()
-                .filter(Item::isLowStock)
-                .map(this::convertToResponse)
-                .toList();
+    public ItemCursorPage getRecentlyAddedItems(String cursor, int size) {
+        Pageable limit = cursorPageRequest(size);
+        Slice<Item> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = itemRepository.findRecentlyAddedItemsFirstSlice(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            slice = itemRepository.findRecentlyAddedItemsAfter(after.getSortKeyAsDateTime(), after.getId(), limit);
+        }
+        return toCursorPage(slice, Item::getCreatedAt);
+    }
+
+    /**
+     * Get best selling items using keyset (cursor) pagination
+     */
+    @Transactional(readOnly = true)
+    public ItemCursorPage getBestSellingItems(String cursor, int size) {
+        Pageable limit = cursorPageRequest(size);
+        Slice<Item> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = itemRepository.findBestSellingItemsFirstSlice(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            slice = itemRepository.findBestSellingItemsAfter(after.getSortKeyAsInteger(), after.getId(), limit);
+        }
+        return toCursorPage(slice, Item::getTotalSales);
+    }
+
+    /**
+     * Get items on sale (newest first) using keyset (cursor) pagination
+     */
+    @Transactional(readOnly = true)
+    public ItemCursorPage getItemsOnSale(String cursor, int size) {
+        Pageable limit = cursorPageRequest(size);
+        Slice<Item> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = itemRepository.findItemsOnSaleFirstSlice(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            slice = itemRepository.findItemsOnSaleAfter(after.getSortKeyAsDateTime(), after.getId(), limit);
+        }
+        return toCursorPage(slice, Item::getCreatedAt);
+    }
+
+    /**
+     * Get items by price range (cheapest first) using keyset (cursor) pagination
+     */
+    @Transactional(readOnly = true)
+    public ItemCursorPage getItemsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, String cursor, int size) {
+        Pageable limit = cursorPageRequest(size);
+        Slice<Item> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = itemRepository.findByPriceRangeFirstSlice(Money.ceilingOf(minPrice), Money.floorOf(maxPrice),
+                    limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            slice = itemRepository.findByPriceRangeAfter(Money.ceilingOf(minPrice), Money.floorOf(maxPrice),
+                    Money.of(after.getSortKeyAsDecimal()), after.getId(), limit);
+        }
+        return toCursorPage(slice, Item::getPrice);
+    }
+
+    /**
+     * Get low stock items for the current user.
+     * Reads the maintained low_stock flag through the storefront index, so only low-stock rows are touched.
+     * Items that tie on the requested order come in ID order, so pages neither repeat nor skip items.
+     */
+    @Transactional(readOnly = true)
+    public Page<ItemResponse> getLowStockItems(User currentUser, Pageable pageable) {
+        List<Long> storefrontIds = storefrontRepository.findIdsByOwnerUserId(currentUser.getId());
+        if (storefrontIds.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        Sort sort = pageable.getSort().getOrderFor("id") != null
+                ? pageable.getSort()
+                : pageable.getSort().and(Sort.by("id"));
+        return itemRepository.findLowStockItemsByStorefrontIds(storefrontIds,
+                        PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort))
+                .map(this::convertToResponse);
     }
 
     /**
@@ -231,8 +479,13 @@ public class ItemService {
         Item item = getItemById(itemId);
         validateItemOwnership(item, currentUser);
 
+        if (item.isActive()) {
+            touchItemCount(item);
+        }
         item.setActive(false);
         itemRepository.save(item);
+        outboxService.recordChanged(OutboxEntityType.ITEM, item);
+        eventPublisher.publishEvent(new ItemChangedEvent(item));
 
         log.info("Successfully deleted item with ID: {}", itemId);
     }
@@ -270,6 +523,7 @@ public class ItemService {
         }
         existingUrls.addAll(imageUrls);
         item.setImageUrls(existingUrls);
+        touchImages(item);
 
         // Set primary image if not set
         if (item.getPrimaryImageUrl() == null && !existingUrls.isEmpty()) {
@@ -277,6 +531,8 @@ public class ItemService {
         }
 
         item = itemRepository.save(item);
+        outboxService.recordChanged(OutboxEntityType.ITEM, item);
+        eventPublisher.publishEvent(new ItemChangedEvent(item));
         return convertToResponse(item);
     }
 
@@ -293,6 +549,7 @@ public class ItemService {
         if (imageUrls != null && imageUrls.contains(imageUrl)) {
             imageUrls.remove(imageUrl);
             item.setImageUrls(imageUrls);
+            touchImages(item);
 
             // Update primary image if the removed image was primary
             if (imageUrl.equals(item.getPrimaryImageUrl())) {
@@ -303,6 +560,8 @@ public class ItemService {
             s3ImageService.deleteImage(imageUrl);
 
             item = itemRepository.save(item);
+            outboxService.recordChanged(OutboxEntityType.ITEM, item);
+            eventPublisher.publishEvent(new ItemChangedEvent(item));
         }
 
         return convertToResponse(item);
@@ -317,19 +576,75 @@ public class ItemService {
         Item item = getItemById(itemId);
         validateItemOwnership(item, currentUser);
 
+        StockLevel previousLevel = StockLevel.of(item.getStockQuantity(), item.getLowStockThreshold());
         item.setStockQuantity(quantity);
         item = itemRepository.save(item);
+        outboxService.recordChanged(OutboxEntityType.ITEM, item);
+        eventPublisher.publishEvent(new ItemChangedEvent(item));
+        publishStockLevelChange(item, currentUser, previousLevel);
 
         return convertToResponse(item);
     }
 
     // Private helper methods
 
+    /**
+     * Image list edits only write item_images, so move updatedAt by hand: the item's ETag and
+     * cached response are both validated against it
+     */
+    private void touchImages(Item item) {
+        item.setUpdatedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Storefront responses include the active item count, which the storefront ETags do not query;
+     * moving the storefront's updatedAt whenever the count changes keeps them current
+     */
+    private void touchItemCount(Item item) {
+        item.getStorefront().setUpdatedAt(LocalDateTime.now());
+    }
+
     private Item getItemById(Long itemId) {
         return itemRepository.findById(itemId)
                 .orElseThrow(() -> new IllegalArgumentException("Item not found with ID: " + itemId));
     }
 
+    private Pageable cursorPageRequest(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        return PageRequest.of(0, size);
+    }
+
+    private ItemCursorPage toCursorPage(Slice<Item> slice, Function<Item, Object> sortKey) {
+        List<ItemResponse> content = slice.getContent().stream()
+                .map(this::convertToResponse)
+                .toList();
+
+        String nextCursor = null;
+        if (slice.hasNext() && !slice.getContent().isEmpty()) {
+            Item last = slice.getContent().get(slice.getContent().size() - 1);
+            nextCursor = KeysetCursor.encode(sortKey.apply(last), last.getId());
+        }
+        return new ItemCursorPage(content, content.size(), slice.hasNext(), nextCursor);
+    }
+
+    private Page<ItemResponse> toLeaderboardPage(ItemLeaderboardService.LeaderboardHits hits, Pageable pageable) {
+        List<ItemResponse> content = findItemsInOrder(hits.getItemIds()).stream()
+                .map(this::convertToResponse)
+                .toList();
+        return new PageImpl<>(content, pageable, hits.getTotalHits());
+    }
+
+    private List<Item> findItemsInOrder(List<Long> itemIds) {
+        Map<Long, Item> itemsById = itemRepository.findByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(itemsById::get)
+                .filter(item -> item != null && item.isActive())
+                .toList();
+    }
+
     private Storefront getStorefrontById(Long storefrontId) {
         return storefrontRepository.findById(storefrontId)
                 .orElseThrow(() -> new IllegalArgumentException("Storefront not found with ID: " + storefrontId));
@@ -342,6 +657,13 @@ public class ItemService {
         }
     }
 
+    private void publishStockLevelChange(Item item, User owner, StockLevel previousLevel) {
+        StockLevelChangedEvent event = StockLevelChangedEvent.of(item, owner.getId(), previousLevel);
+        if (event != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
     private void validateItemOwnership(Item item, User currentUser) {
         User owner = item.getStorefront().getOwnerUser();
         if (owner == null || !owner.getId().equals(currentUser.getId())) {
@@ -353,14 +675,14 @@ public class ItemService {
         item.setItemName(request.getItemName());
         item.setItemDescription(request.getItemDescription());
         item.setSku(request.getSku());
-        item.setPrice(request.getPrice());
-        item.setCompareAtPrice(request.getCompareAtPrice());
+        item.setPrice(Money.of(request.getPrice()));
+        item.setCompareAtPrice(request.getCompareAtPrice() != null ? Money.of(request.getCompareAtPrice()) : null);
         item.setStockQuantity(request.getStockQuantity());
         item.setLowStockThreshold(request.getLowStockThreshold());
         item.setWeight(request.getWeight());
         item.setWeightUnit(request.getWeightUnit());
         item.setCategory(request.getCategory());
-        item.setTags(request.getTags());
+        item.setTags(TextTokenizer.canonicalTags(request.getTags()));
         item.setRequiresShipping(request.getRequiresShipping());
         item.setDigital(request.getIsDigital());
         item.setSeoTitle(request.getSeoTitle());
@@ -379,10 +701,10 @@ public class ItemService {
             item.setSku(request.getSku());
         }
         if (request.getPrice() != null) {
-            item.setPrice(request.getPrice());
+            item.setPrice(Money.of(request.getPrice()));
         }
         if (request.getCompareAtPrice() != null) {
-            item.setCompareAtPrice(request.getCompareAtPrice());
+            item.setCompareAtPrice(Money.of(request.getCompareAtPrice()));
         }
         if (request.getStockQuantity() != null) {
             item.setStockQuantity(request.getStockQuantity());
@@ -400,7 +722,7 @@ public class ItemService {
             item.setCategory(request.getCategory());
         }
         if (request.getTags() != null) {
-            item.setTags(request.getTags());
+            item.setTags(TextTokenizer.canonicalTags(request.getTags()));
         }
         if (request.getIsActive() != null) {
             item.setActive(request.getIsActive());
@@ -426,41 +748,6 @@ public class ItemService {
     }
 
     public ItemResponse convertToResponse(Item item) {
-        ItemResponse response = new ItemResponse();
-        response.setId(item.getId());
-        response.setItemName(item.getItemName());
-        response.setItemDescription(item.getItemDescription());
-        response.setSku(item.getSku());
-        response.setPrice(item.getPrice());
-        response.setCompareAtPrice(item.getCompareAtPrice());
-        response.setStockQuantity(item.getStockQuantity());
-        response.setLowStockThreshold(item.getLowStockThreshold());
-        response.setWeight(item.getWeight());
-        response.setWeightUnit(item.getWeightUnit());
-        response.setCategory(item.getCategory());
-        response.setTags(item.getTags());
-        response.setActive(item.isActive());
-        response.setFeatured(item.isFeatured());
-        response.setRequiresShipping(item.isRequiresShipping());
-        response.setDigital(item.isDigital());
-        response.setSeoTitle(item.getSeoTitle());
-        response.setSeoDescription(item.getSeoDescription());
-        response.setAverageRating(item.getAverageRating());
-        response.setTotalReviews(item.getTotalReviews());
-        response.setTotalSales(item.getTotalSales());
-        response.setViewCount(item.getViewCount());
-        response.setImageUrls(item.getImageUrls());
-        response.setPrimaryImageUrl(item.getPrimaryImageUrl());
-        response.setStorefrontId(item.getStorefront().getId());
-        response.setStorefrontName(item.getStorefront().getStoreName());
-        response.setOnSale(item.isOnSale());
-        response.setDiscountAmount(item.getDiscountAmount());
-        response.setDiscountPercentage(item.getDiscountPercentage());
-        response.setLowStock(item.isLowStock());
-        response.setOutOfStock(item.isOutOfStock());
-        response.setCreatedAt(item.getCreatedAt());
-        response.setUpdatedAt(item.getUpdatedAt());
-
-        return response;
-    }
-}
\ No newline at end of file
+        return itemResponseMapper.convertToResponse(item);
+    }
+}
@@ -0,0 +1,462 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.util.TextTokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed "similar items" lists over active items.
+ * Each item is a sparse TF-IDF vector over the terms of its name and description, its whole
+ * tags and its category, normalized to unit length so the dot product of two vectors is their
+ * cosine similarity. Candidates come from an inverted index (term to Roaring bitmap of item IDs),
+ * walking the item's most distinctive terms first and stopping at a fixed candidate budget; only
+ * candidates are scored, and the best top-k are kept per item. Built at startup and periodically
+ * (which refreshes the IDF weights); item changes re-score the changed item and the lists that
+ * referenced it in between, unless the change left its terms as they were.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSimilarityService {
+
+    // Field weights: a name or tag match says more about the product than a description word
+    private static final float NAME_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float TAG_WEIGHT = 2.0f;
+    private static final float CATEGORY_WEIGHT = 1.5f;
+
+    // Prefixes keep whole tags and categories apart from free-text terms
+    private static final String TAG_PREFIX = "#";
+    private static final String CATEGORY_PREFIX = "@";
+
+    private final ItemRepository itemRepository;
+    private final PagedEntityScanner pagedEntityScanner;
+
+    @Value("${items.similar.top-k:12}")
+    private int topK;
+
+    @Value("${items.similar.max-candidates:500}")
+    private int maxCandidates;
+
+    @Value("${items.similar.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private SimilarityIndex index;
+    private volatile boolean ready = false;
+
+    // Items changed while a rebuild was running; re-applied once the new index is swapped in
+    private Map<Long, Item> changedDuringRebuild;
+
+    /**
+     * IDs of the items most similar to an item, most similar first. The list is empty for items
+     * that are inactive, unknown or share no terms with any other item. Returns empty when the
+     * index has not been built yet.
+     */
+    public Optional<List<Long>> findSimilar(Long itemId, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(index.similarTo(itemId, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Length of the precomputed lists, the most a query can return
+     */
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * Build the vectors and similar items lists from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${items.similar.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${items.similar.rebuild-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        SimilarityIndex rebuilt = new SimilarityIndex(topK, maxCandidates);
+        pagedEntityScanner.scan(pageable -> itemRepository.findByIsActive(true, pageable), rebuildBatchSize,
+                rebuilt::load);
+        rebuilt.finishLoad();
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.values().forEach(rebuilt::apply);
+            changedDuringRebuild = null;
+            index = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Built similar items for {} items over {} terms in {} ms", rebuilt.vectors.size(),
+                rebuilt.termIds.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Re-score a changed item and the lists that referenced it
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        applyAll(List.of(event.getItem()));
+    }
+
+    /**
+     * Re-score items changed in bulk under a single lock acquisition; items whose name,
+     * description, tags and category are unchanged keep their lists
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemBatchChangedEvent event) {
+        applyAll(event.getItems());
+    }
+
+    private void applyAll(List<Item> items) {
+        lock.writeLock().lock();
+        try {
+            for (Item item : items) {
+                if (index != null) {
+                    index.apply(item);
+                }
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.put(item.getId(), item);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Term IDs sorted ascending with one weight each: raw weighted term frequencies while loading,
+     * unit-length TF-IDF weights once vectorized
+     */
+    private static class SparseVector {
+
+        final int[] terms;
+        final float[] weights;
+        // Raw weighted term frequencies, kept to tell whether a change touched the terms
+        final float[] frequencies;
+
+        SparseVector(int[] terms, float[] frequencies) {
+            this.terms = terms;
+            this.weights = frequencies.clone();
+            this.frequencies = frequencies;
+        }
+
+        boolean sameTerms(SparseVector other) {
+            return Arrays.equals(terms, other.terms) && Arrays.equals(frequencies, other.frequencies);
+        }
+
+        float dot(SparseVector other) {
+            float sum = 0;
+            int i = 0;
+            int j = 0;
+            while (i < terms.length && j < other.terms.length) {
+                if (terms[i] == other.terms[j]) {
+                    sum += weights[i++] * other.weights[j++];
+                } else if (terms[i] < other.terms[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return sum;
+        }
+
+        // Indexes into terms, highest weight (most distinctive term) first
+        int[] termsByWeight() {
+            return IntStream.range(0, terms.length)
+                    .boxed()
+                    .sorted((a, b) -> Float.compare(weights[b], weights[a]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+
+    /**
+     * Best neighbours of one item, kept sorted by descending score (then ascending ID)
+     */
+    private static class Neighbours {
+
+        final long[] ids;
+        final float[] scores;
+        int size;
+
+        Neighbours(int capacity) {
+            this.ids = new long[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void offer(long id, float score) {
+            if (score <= 0 || contains(id)) {
+                return;
+            }
+            if (size == ids.length && !ranksBefore(score, id, size - 1)) {
+                return;
+            }
+            int position = size < ids.length ? size++ : size - 1;
+            while (position > 0 && ranksBefore(score, id, position - 1)) {
+                ids[position] = ids[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            ids[position] = id;
+            scores[position] = score;
+        }
+
+        boolean contains(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean ranksBefore(float score, long id, int position) {
+            return score > scores[position] || (score == scores[position] && id < ids[position]);
+        }
+    }
+
+    /**
+     * Term dictionary, document frequencies, posting lists, vectors and neighbour lists.
+     * Not thread-safe; guarded by the service lock.
+     */
+    private static class SimilarityIndex {
+
+        private final int topK;
+        private final int maxCandidates;
+
+        // Dictionary: term -> term ID, which indexes the document frequencies and posting lists
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private int[] documentFrequencies = new int[1024];
+        private final List<Roaring64Bitmap> postings = new ArrayList<>();
+        private final Map<Long, SparseVector> vectors = new HashMap<>();
+        private final Map<Long, Neighbours> neighbours = new HashMap<>();
+
+        SimilarityIndex(int topK, int maxCandidates) {
+            this.topK = topK;
+            this.maxCandidates = maxCandidates;
+        }
+
+        List<Long> similarTo(long id, int limit) {
+            Neighbours list = neighbours.get(id);
+            if (list == null) {
+                return List.of();
+            }
+            List<Long> itemIds = new ArrayList<>(Math.min(limit, list.size));
+            for (int i = 0; i < list.size && itemIds.size() < limit; i++) {
+                // Lists not reached by an incremental update may still name a since deactivated item
+                if (vectors.containsKey(list.ids[i])) {
+                    itemIds.add(list.ids[i]);
+                }
+            }
+            return itemIds;
+        }
+
+        // Rebuild: index raw term frequencies first, weights need the final document frequencies
+        void load(Item item) {
+            SparseVector vector = termFrequencies(item);
+            if (vector.terms.length > 0) {
+                addPostings(item.getId(), vector);
+            }
+        }
+
+        void finishLoad() {
+            vectors.values().forEach(this::weigh);
+            postings.forEach(Roaring64Bitmap::runOptimize);
+            vectors.forEach((id, vector) -> neighbours.put(id, score(id, vector, false)));
+        }
+
+        /**
+         * Re-index a changed item; nothing is re-scored when its terms and active state are unchanged
+         */
+        void apply(Item item) {
+            long id = item.getId();
+            SparseVector previous = vectors.get(id);
+            SparseVector vector = item.isActive() ? termFrequencies(item) : null;
+            boolean indexed = vector != null && vector.terms.length > 0;
+            if (previous == null ? !indexed : indexed && previous.sameTerms(vector)) {
+                return;
+            }
+
+            // Lists holding the item are found among the candidates of its previous content
+            List<Long> referencing = new ArrayList<>();
+            if (previous != null) {
+                for (long candidate : candidates(id, previous)) {
+                    Neighbours list = neighbours.get(candidate);
+                    if (list != null && list.contains(id)) {
+                        referencing.add(candidate);
+                    }
+                }
+                remove(id, previous);
+            }
+
+            if (indexed) {
+                addPostings(id, vector);
+                weigh(vector);
+                neighbours.put(id, score(id, vector, true));
+            }
+
+            for (long other : referencing) {
+                SparseVector otherVector = vectors.get(other);
+                if (otherVector != null) {
+                    neighbours.put(other, score(other, otherVector, false));
+                }
+            }
+        }
+
+        /**
+         * Score the candidates of an item and keep the best. Similarity is symmetric, so when
+         * offerBack is set each candidate is also offered the item, which is how a new or changed
+         * item enters the lists of existing items.
+         */
+        private Neighbours score(long id, SparseVector vector, boolean offerBack) {
+            Neighbours best = new Neighbours(topK);
+            for (long candidate : candidates(id, vector)) {
+                float similarity = vector.dot(vectors.get(candidate));
+                best.offer(candidate, similarity);
+                if (offerBack) {
+                    Neighbours theirs = neighbours.get(candidate);
+                    if (theirs != null) {
+                        theirs.offer(id, similarity);
+                    }
+                }
+            }
+            return best;
+        }
+
+        // Items sharing the item's most distinctive terms, newest first within a term, up to the budget
+        private long[] candidates(long id, SparseVector vector) {
+            Roaring64Bitmap seen = new Roaring64Bitmap();
+            int count = 0;
+            for (int position : vector.termsByWeight()) {
+                LongIterator postingIds = postings.get(vector.terms[position]).getReverseLongIterator();
+                while (postingIds.hasNext() && count < maxCandidates) {
+                    long candidate = postingIds.next();
+                    if (candidate != id && !seen.contains(candidate)) {
+                        seen.addLong(candidate);
+                        count++;
+                    }
+                }
+                if (count >= maxCandidates) {
+                    break;
+                }
+            }
+            return seen.toArray();
+        }
+
+        private SparseVector termFrequencies(Item item) {
+            Map<Integer, Float> frequencies = new TreeMap<>();
+            for (String term : TextTokenizer.tokenize(item.getItemName())) {
+                frequencies.merge(termId(term), NAME_WEIGHT, Float::sum);
+            }
+            for (String term : TextTokenizer.tokenize(item.getItemDescription())) {
+                frequencies.merge(termId(term), DESCRIPTION_WEIGHT, Float::sum);
+            }
+            for (String tag : TextTokenizer.parseTags(item.getTags())) {
+                frequencies.merge(termId(TAG_PREFIX + tag), TAG_WEIGHT, Float::sum);
+            }
+            String category = TextTokenizer.normalizeTag(item.getCategory());
+            if (!category.isEmpty()) {
+                frequencies.merge(termId(CATEGORY_PREFIX + category), CATEGORY_WEIGHT, Float::sum);
+            }
+
+            int[] terms = new int[frequencies.size()];
+            float[] weights = new float[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Float> entry : frequencies.entrySet()) {
+                terms[i] = entry.getKey();
+                weights[i++] = entry.getValue();
+            }
+            return new SparseVector(terms, weights);
+        }
+
+        private int termId(String term) {
+            return termIds.computeIfAbsent(term, key -> {
+                postings.add(new Roaring64Bitmap());
+                if (postings.size() > documentFrequencies.length) {
+                    documentFrequencies = Arrays.copyOf(documentFrequencies, documentFrequencies.length * 2);
+                }
+                return postings.size() - 1;
+            });
+        }
+
+        private void addPostings(long id, SparseVector vector) {
+            for (int term : vector.terms) {
+                documentFrequencies[term]++;
+                postings.get(term).addLong(id);
+            }
+            vectors.put(id, vector);
+        }
+
+        private void remove(long id, SparseVector vector) {
+            for (int term : vector.terms) {
+                // Emptied terms keep their dictionary slot; they are dropped on the next rebuild
+                documentFrequencies[term]--;
+                postings.get(term).removeLong(id);
+            }
+            vectors.remove(id);
+            neighbours.remove(id);
+        }
+
+        // Sublinear TF times smoothed IDF, scaled to unit length
+        private void weigh(SparseVector vector) {
+            int itemCount = vectors.size();
+            double squaredNorm = 0;
+            for (int i = 0; i < vector.terms.length; i++) {
+                double idf = Math.log((1.0 + itemCount) / (1.0 + documentFrequencies[vector.terms[i]])) + 1.0;
+                double weight = (1.0 + Math.log(vector.weights[i])) * idf;
+                vector.weights[i] = (float) weight;
+                squaredNorm += weight * weight;
+            }
+            float norm = (float) Math.sqrt(squaredNorm);
+            for (int i = 0; i < vector.weights.length; i++) {
+                vector.weights[i] /= norm;
+            }
+        }
+    }
+}
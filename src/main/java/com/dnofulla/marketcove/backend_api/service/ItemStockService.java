@@ -0,0 +1,252 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.dto.item.BatchStockUpdateRequest;
+import com.dnofulla.marketcove.backend_api.dto.item.BatchStockUpdateResponse;
+import com.dnofulla.marketcove.backend_api.dto.item.BatchStockUpdateResponse.Status;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.enums.StockLevel;
+import com.dnofulla.marketcove.backend_api.event.ItemStockChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.StockLevelChangedEvent;
+import com.dnofulla.marketcove.backend_api.exception.InsufficientStockException;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Stock writes: batch updates for warehouse synchronisation and oversell-proof decrements.
+ * Batch updates resolve and ownership-check every item with one query, then write all
+ * quantities with a single JDBC batch UPDATE; their change events are built from the resolved
+ * rows and new quantities, so no item is reloaded afterwards. Decrements are conditional UPDATEs that only
+ * succeed while enough stock is left, so concurrent buyers cannot take stock below zero.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemStockService {
+
+    // Items matched by ID or SKU with the ID of the user owning their storefront (business profile first,
+    // as in Storefront.getOwnerUser); array parameters keep it one statement for any batch size, and
+    // joining against the unnested arrays looks each key up in its index instead of scanning the table
+    private static final String RESOLVE_ITEMS_SQL = "SELECT i.id, i.item_name, i.sku, i.storefront_id, "
+            + "i.stock_quantity, i.low_stock_threshold, COALESCE(bp.user_id, sp.user_id) AS owner_id "
+            + "FROM (SELECT ids.k AS id FROM UNNEST(?) AS ids(k) "
+            + "UNION SELECT m.id FROM UNNEST(?) AS skus(k) JOIN items m ON m.sku = skus.k) r "
+            + "JOIN items i ON i.id = r.id JOIN storefronts s ON s.id = i.storefront_id "
+            + "LEFT JOIN business_profiles bp ON bp.id = s.business_profile_id "
+            + "LEFT JOIN seller_profiles sp ON sp.id = s.seller_profile_id";
+
+    // low_stock mirrors Item.refreshLowStock, so the indexed low-stock listing stays exact
+    private static final String UPDATE_STOCK_SQL = "UPDATE items SET stock_quantity = ?, "
+            + "low_stock = COALESCE(? <= low_stock_threshold, FALSE), updated_at = ? WHERE id = ?";
+
+    // The row lock taken by the UPDATE makes check and decrement one atomic step
+    private static final String DECREMENT_STOCK_SQL = "UPDATE items SET stock_quantity = stock_quantity - ?, "
+            + "low_stock = COALESCE(stock_quantity - ? <= low_stock_threshold, FALSE), "
+            + "updated_at = ? WHERE id = ? AND is_active = TRUE AND stock_quantity >= ?";
+
+    private static final String RECONCILE_LOW_STOCK_SQL = "UPDATE items "
+            + "SET low_stock = COALESCE(stock_quantity <= low_stock_threshold, FALSE) "
+            + "WHERE low_stock IS NULL OR low_stock <> COALESCE(stock_quantity <= low_stock_threshold, FALSE)";
+
+    private final ItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${items.stock.batch-max-size:50000}")
+    private int batchMaxSize;
+
+    /**
+     * Set stock quantities for a batch of items owned by the current user.
+     * Entries for unknown or foreign items are reported and skipped; if an item appears more
+     * than once the last quantity wins.
+     */
+    @Transactional
+    public BatchStockUpdateResponse updateStock(BatchStockUpdateRequest request, User currentUser) {
+        List<BatchStockUpdateRequest.Entry> entries = request.getUpdates();
+        if (entries.size() > batchMaxSize) {
+            throw new IllegalArgumentException("A batch can contain at most " + batchMaxSize + " stock updates");
+        }
+        long start = System.currentTimeMillis();
+
+        Set<Long> ids = new LinkedHashSet<>();
+        Set<String> skus = new LinkedHashSet<>();
+        for (BatchStockUpdateRequest.Entry entry : entries) {
+            if (entry.getItemId() != null) {
+                ids.add(entry.getItemId());
+            } else if (entry.getSku() != null) {
+                skus.add(entry.getSku());
+            }
+        }
+
+        Map<Long, ResolvedItem> resolvedById = new HashMap<>();
+        Map<String, Long> idBySku = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RESOLVE_ITEMS_SQL);
+            statement.setArray(1, connection.createArrayOf("BIGINT", ids.toArray()));
+            statement.setArray(2, connection.createArrayOf("VARCHAR", skus.toArray()));
+            return statement;
+        }, rs -> {
+            long itemId = rs.getLong("id");
+            String sku = rs.getString("sku");
+            resolvedById.put(itemId, new ResolvedItem(rs.getString("item_name"), sku,
+                    rs.getLong("storefront_id"), rs.getObject("owner_id", Long.class),
+                    (Integer) rs.getObject("stock_quantity"), (Integer) rs.getObject("low_stock_threshold")));
+            if (sku != null) {
+                idBySku.put(sku, itemId);
+            }
+        });
+
+        BatchStockUpdateResponse response = new BatchStockUpdateResponse();
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (BatchStockUpdateRequest.Entry entry : entries) {
+            Long itemId = null;
+            Status status;
+            if ((entry.getItemId() == null) == (entry.getSku() == null)) {
+                status = Status.INVALID;
+            } else {
+                itemId = entry.getItemId() != null ? entry.getItemId() : idBySku.get(entry.getSku());
+                if (itemId == null || !resolvedById.containsKey(itemId)) {
+                    status = Status.NOT_FOUND;
+                } else if (!currentUser.getId().equals(resolvedById.get(itemId).ownerId())) {
+                    status = Status.FORBIDDEN;
+                } else {
+                    quantities.put(itemId, entry.getQuantity());
+                    status = Status.UPDATED;
+                }
+            }
+            response.getResults().add(new BatchStockUpdateResponse.Result(itemId, entry.getSku(), status));
+            if (status == Status.UPDATED) {
+                response.setUpdatedCount(response.getUpdatedCount() + 1);
+            } else {
+                response.setFailedCount(response.getFailedCount() + 1);
+            }
+        }
+
+        if (!quantities.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> args = new ArrayList<>(quantities.size());
+            quantities.forEach((itemId, quantity) -> args.add(new Object[] { quantity, quantity, now, itemId }));
+            jdbcTemplate.batchUpdate(UPDATE_STOCK_SQL, args);
+
+            // Stock feeds the in-stock and low-stock facets and the cached responses; the resolved rows
+            // and new quantities say everything listeners need, so nothing is reloaded
+            Map<Long, ItemStockChangedEvent.Stock> stockByItemId = new HashMap<>();
+            quantities.forEach((itemId, quantity) -> {
+                ResolvedItem resolved = resolvedById.get(itemId);
+                stockByItemId.put(itemId, new ItemStockChangedEvent.Stock(quantity, resolved.lowStockThreshold()));
+                publishStockLevelChange(StockLevelChangedEvent.of(itemId, resolved.itemName(), resolved.sku(),
+                        resolved.storefrontId(), resolved.ownerId(), quantity, resolved.lowStockThreshold(),
+                        StockLevel.of(resolved.stockQuantity(), resolved.lowStockThreshold())));
+            });
+            eventPublisher.publishEvent(new ItemStockChangedEvent(stockByItemId));
+        }
+
+        log.info("Updated stock for {} of {} entries for user {} in {} ms", response.getUpdatedCount(),
+                entries.size(), currentUser.getEmail(), System.currentTimeMillis() - start);
+        return response;
+    }
+
+    /**
+     * Bring the low-stock flag in line with stock and threshold for rows written before it existed
+     * or outside the application
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reconcileLowStock() {
+        int updated = jdbcTemplate.update(RECONCILE_LOW_STOCK_SQL);
+        if (updated > 0) {
+            log.info("Reconciled low-stock flag for {} items", updated);
+        }
+    }
+
+    /**
+     * Atomically take stock from one active item.
+     * Throws InsufficientStockException if less than the quantity is left.
+     */
+    @Transactional
+    public void decrementStock(Long itemId, int quantity) {
+        decrementStock(Map.of(itemId, quantity));
+    }
+
+    /**
+     * Atomically take stock from several items, all or nothing.
+     * If any item is short the whole transaction rolls back and InsufficientStockException
+     * names the first item that could not be decremented.
+     */
+    @Transactional
+    public void decrementStock(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        quantities.forEach((itemId, quantity) -> {
+            if (quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive for item " + itemId);
+            }
+        });
+
+        // Lock rows in ID order so two multi-item purchases cannot deadlock each other
+        Map<Long, Integer> ordered = new TreeMap<>(quantities);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(ordered.size());
+        ordered.forEach((itemId, quantity) -> args.add(new Object[] { quantity, quantity, now, itemId, quantity }));
+
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, args);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] failed = args.get(i);
+                throw new InsufficientStockException((Long) failed[3], (Integer) failed[0]);
+            }
+        }
+
+        List<Item> items = itemRepository.findByIdIn(ordered.keySet());
+        Map<Long, ItemStockChangedEvent.Stock> stockByItemId = new HashMap<>();
+        for (Item item : items) {
+            stockByItemId.put(item.getId(),
+                    new ItemStockChangedEvent.Stock(item.getStockQuantity(), item.getLowStockThreshold()));
+            StockLevel previousLevel = StockLevel.of(item.getStockQuantity() + ordered.get(item.getId()),
+                    item.getLowStockThreshold());
+            if (previousLevel != StockLevel.of(item.getStockQuantity(), item.getLowStockThreshold())) {
+                // Only crossings need the owner, so only they load it
+                User owner = item.getStorefront().getOwnerUser();
+                publishStockLevelChange(StockLevelChangedEvent.of(item, owner != null ? owner.getId() : null,
+                        previousLevel));
+            }
+        }
+        eventPublisher.publishEvent(new ItemStockChangedEvent(stockByItemId));
+    }
+
+    // Private helper methods
+
+    private void publishStockLevelChange(StockLevelChangedEvent event) {
+        if (event != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    /**
+     * Item row read before a batch update: what its events and ownership check need
+     */
+    private record ResolvedItem(String itemName, String sku, Long storefrontId, Long ownerId,
+            Integer stockQuantity, Integer lowStockThreshold) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.util.TextTokenizer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory tag index over active items.
+ * Item.tags is parsed into normalized tags, each tag is dictionary-encoded to an int and
+ * maps to a compressed posting list (64-bit Roaring bitmap) of item IDs. Multi-tag queries
+ * intersect the posting lists smallest first. Built at startup and kept current from
+ * item change events.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemTagIndex {
+
+    private final ItemRepository itemRepository;
+    private final PagedEntityScanner pagedEntityScanner;
+
+    @Value("${items.tags.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TagIndex index = new TagIndex();
+    private volatile boolean ready = false;
+
+    // Items changed while a rebuild was running; re-applied once the new index is swapped in
+    private Map<Long, Item> changedDuringRebuild;
+
+    /**
+     * Find active items carrying all of the given tags, newest first.
+     * Returns empty when the index has not been built yet.
+     */
+    public Optional<TagHits> findByTags(Collection<String> tags, long offset, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        List<String> normalized = tags.stream()
+                .map(TextTokenizer::normalizeTag)
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .toList();
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("At least one tag is required");
+        }
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(index.search(normalized, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Build the index from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TagIndex rebuilt = new TagIndex();
+        pagedEntityScanner.scan(pageable -> itemRepository.findByIsActive(true, pageable), rebuildBatchSize,
+                rebuilt::add);
+        rebuilt.optimize();
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.values().forEach(rebuilt::apply);
+            changedDuringRebuild = null;
+            index = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Built item tag index with {} tags over {} items in {} ms", rebuilt.tagIds.size(),
+                rebuilt.tagsByItem.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Keep the index in sync with committed item changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Item item = event.getItem();
+        lock.writeLock().lock();
+        try {
+            index.apply(item);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(item.getId(), item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keep the index in sync with bulk item changes under a single lock acquisition
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemBatchChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Item item : event.getItems()) {
+                index.apply(item);
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.put(item.getId(), item);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tag query result: total number of matches plus the IDs of the requested slice
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class TagHits {
+        private final long totalHits;
+        private final List<Long> itemIds;
+    }
+
+    /**
+     * Tag dictionary and posting lists. Not thread-safe; guarded by the service lock.
+     */
+    private static class TagIndex {
+
+        // Dictionary: normalized tag -> tag ID, which indexes the posting lists
+        private final Map<String, Integer> tagIds = new HashMap<>();
+        private final List<Roaring64Bitmap> postings = new ArrayList<>();
+        // Tag IDs currently indexed for each item, so a changed item can be removed without its old tags
+        private final Map<Long, int[]> tagsByItem = new HashMap<>();
+
+        void apply(Item item) {
+            remove(item.getId());
+            if (item.isActive()) {
+                add(item);
+            }
+        }
+
+        void add(Item item) {
+            List<String> tags = TextTokenizer.parseTags(item.getTags());
+            if (tags.isEmpty()) {
+                return;
+            }
+            int[] itemTagIds = new int[tags.size()];
+            for (int i = 0; i < tags.size(); i++) {
+                int tagId = tagIds.computeIfAbsent(tags.get(i), tag -> {
+                    postings.add(new Roaring64Bitmap());
+                    return postings.size() - 1;
+                });
+                postings.get(tagId).addLong(item.getId());
+                itemTagIds[i] = tagId;
+            }
+            tagsByItem.put(item.getId(), itemTagIds);
+        }
+
+        void remove(Long itemId) {
+            int[] itemTagIds = tagsByItem.remove(itemId);
+            if (itemTagIds == null) {
+                return;
+            }
+            for (int tagId : itemTagIds) {
+                // Emptied tags keep their dictionary slot; they are dropped on the next rebuild
+                postings.get(tagId).removeLong(itemId);
+            }
+        }
+
+        void optimize() {
+            postings.forEach(Roaring64Bitmap::runOptimize);
+        }
+
+        TagHits search(List<String> tags, long offset, int limit) {
+            List<Roaring64Bitmap> lists = new ArrayList<>(tags.size());
+            for (String tag : tags) {
+                Integer tagId = tagIds.get(tag);
+                if (tagId == null) {
+                    return new TagHits(0, List.of());
+                }
+                lists.add(postings.get(tagId));
+            }
+
+            // Smallest posting list first keeps every intermediate result small
+            lists.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+            // A single tag is read straight from its posting list; intersecting works on a copy
+            Roaring64Bitmap matches = lists.get(0);
+            if (lists.size() > 1) {
+                matches = matches.clone();
+                for (int i = 1; i < lists.size() && !matches.isEmpty(); i++) {
+                    matches.and(lists.get(i));
+                }
+            }
+
+            // Newest (highest ID) first
+            long total = matches.getLongCardinality();
+            List<Long> itemIds = new ArrayList<>();
+            for (long rank = total - 1 - offset; rank >= 0 && itemIds.size() < limit; rank--) {
+                itemIds.add(matches.select(rank));
+            }
+            return new TagHits(total, itemIds);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.enums.CounterType;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for item view counts.
+ * Views are accumulated in memory per item and periodically flushed to the
+ * item view counters as one batched increment per item, so product page reads
+ * never write to the database themselves. The counters are compacted into
+ * items.view_count by ShardedCounterService; until then their cached sum counts as pending.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemViewCountService {
+
+    private final ShardedCounterService shardedCounterService;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${items.view-count.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${items.view-count.flush-on-shutdown:true}")
+    private boolean flushOnShutdown;
+
+    private final ConcurrentHashMap<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean(false);
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Views taken out of the buffer but not yet committed, so reads stay accurate mid-flush
+    private volatile Map<Long, Long> inFlightViews = Map.of();
+
+    /**
+     * Record a single view of an item
+     */
+    public void recordView(Long itemId) {
+        if (itemId == null) {
+            return;
+        }
+        addPendingViews(itemId, 1);
+
+        if (pendingViews.size() >= maxPending && earlyFlushScheduled.compareAndSet(false, true)) {
+            log.debug("View count buffer reached {} items, scheduling early flush", maxPending);
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    /**
+     * Get the number of views recorded for an item that are not yet in items.view_count
+     */
+    public long getPendingViews(Long itemId) {
+        if (itemId == null) {
+            return 0;
+        }
+        LongAdder adder = pendingViews.get(itemId);
+        long pending = adder != null ? adder.sum() : 0;
+        return pending + inFlightViews.getOrDefault(itemId, 0L)
+                + shardedCounterService.getUncompacted(CounterType.ITEM_VIEWS, itemId).longValue();
+    }
+
+    /**
+     * Flush buffered views to the database
+     */
+    @Scheduled(fixedDelayString = "${items.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        earlyFlushScheduled.set(false);
+        if (!flushLock.tryLock()) {
+            return;
+        }
+
+        try {
+            Map<Long, Long> drained = drainPendingViews();
+            if (drained.isEmpty()) {
+                return;
+            }
+
+            inFlightViews = drained;
+            try {
+                shardedCounterService.incrementAll(CounterType.ITEM_VIEWS, drained);
+                log.debug("Flushed view counts for {} items", drained.size());
+            } catch (RuntimeException e) {
+                log.error("Failed to flush view counts for {} items, re-queueing: {}", drained.size(), e.getMessage());
+                drained.forEach(this::addPendingViews);
+            } finally {
+                inFlightViews = Map.of();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushOnShutdown) {
+            log.info("Flushing pending view counts before shutdown");
+            flush();
+        }
+    }
+
+    // Private helper methods
+
+    private void addPendingViews(Long itemId, long views) {
+        LongAdder adder = pendingViews.get(itemId);
+        if (adder == null) {
+            adder = pendingViews.computeIfAbsent(itemId, id -> new LongAdder());
+        }
+        adder.add(views);
+    }
+
+    private Map<Long, Long> drainPendingViews() {
+        Map<Long, Long> drained = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingViews.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long views = adder.sumThenReset();
+            if (views > 0) {
+                drained.put(entry.getKey(), views);
+            } else if (pendingViews.remove(entry.getKey(), adder)) {
+                // Item went idle since the last flush; keep any view that raced the removal
+                long raced = adder.sumThenReset();
+                if (raced > 0) {
+                    addPendingViews(entry.getKey(), raced);
+                }
+            }
+        }
+        return drained;
+    }
+}
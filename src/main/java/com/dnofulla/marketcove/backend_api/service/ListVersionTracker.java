@@ -0,0 +1,121 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.enums.CounterType;
+import com.dnofulla.marketcove.backend_api.event.CountersCompactedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemStockChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.StorefrontChangedEvent;
+import com.dnofulla.marketcove.backend_api.util.ContentVersion;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versions of the list responses whose version query would aggregate a whole table (all storefronts)
+ * or a storefront's whole item set. Each list keeps the time it last changed, moved by the committed
+ * change events of everything it shows, so validating a cached list is a map lookup.
+ * Times only ever increase, and the ETags include an ID of this run, so a version from before a
+ * restart never matches.
+ */
+@Component
+public class ListVersionTracker {
+
+    private final String runId = UUID.randomUUID().toString();
+    private final long startedAt = System.currentTimeMillis();
+
+    private final AtomicLong storefrontListsChangedAt = new AtomicLong(startedAt);
+    // Changes that may touch any storefront's items (stock writes and sales carry no storefront)
+    private final AtomicLong allStorefrontItemsChangedAt = new AtomicLong(startedAt);
+    private final ConcurrentHashMap<Long, AtomicLong> storefrontItemsChangedAt = new ConcurrentHashMap<>();
+
+    /**
+     * Version of a page of a public storefront list
+     */
+    public ContentVersion getStorefrontListVersion(String list, Object... requestParts) {
+        long changedAt = storefrontListsChangedAt.get();
+        return ContentVersion.ofTracked("storefronts-" + list, runId + "|" + changedAt, changedAt, requestParts);
+    }
+
+    /**
+     * Version of a page of a storefront's items
+     */
+    public ContentVersion getStorefrontItemsVersion(Long storefrontId, Object... requestParts) {
+        long allChangedAt = allStorefrontItemsChangedAt.get();
+        AtomicLong own = storefrontItemsChangedAt.get(storefrontId);
+        long changedAt = Math.max(allChangedAt, own != null ? own.get() : startedAt);
+        return ContentVersion.ofTracked("storefront-items",
+                runId + "|" + storefrontId + "|" + allChangedAt + "|" + changedAt, changedAt, requestParts);
+    }
+
+    /**
+     * Storefront fields show in storefront lists, and its name in its item responses
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStorefrontChanged(StorefrontChangedEvent event) {
+        touch(storefrontListsChangedAt);
+        touchStorefrontItems(event.getStorefront().getId());
+    }
+
+    /**
+     * An item change moves its storefront's item list and, through the active item count, the storefront lists
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        touchItem(event.getItem());
+        touch(storefrontListsChangedAt);
+    }
+
+    /**
+     * Bulk item changes, including rating flushes, which also move storefront ratings
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemBatchChangedEvent event) {
+        event.getItems().forEach(this::touchItem);
+        touch(storefrontListsChangedAt);
+    }
+
+    /**
+     * Stock writes only carry item IDs
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ItemStockChangedEvent event) {
+        touch(allStorefrontItemsChangedAt);
+    }
+
+    /**
+     * Compacted sales and order counters; view counts are left out of versions
+     */
+    @EventListener
+    public void onCountersCompacted(CountersCompactedEvent event) {
+        if (event.getCounterType() == CounterType.ITEM_SALES) {
+            touch(allStorefrontItemsChangedAt);
+        } else if (event.getCounterType() != CounterType.ITEM_VIEWS) {
+            touch(storefrontListsChangedAt);
+        }
+    }
+
+    // Private helper methods
+
+    private void touchItem(Item item) {
+        if (item.getStorefront() != null) {
+            touchStorefrontItems(item.getStorefront().getId());
+        } else {
+            touch(allStorefrontItemsChangedAt);
+        }
+    }
+
+    private void touchStorefrontItems(Long storefrontId) {
+        touch(storefrontItemsChangedAt.computeIfAbsent(storefrontId, id -> new AtomicLong(startedAt)));
+    }
+
+    private static void touch(AtomicLong changedAt) {
+        // Strictly increasing, so two changes within a millisecond still give two versions
+        changedAt.accumulateAndGet(System.currentTimeMillis(), (previous, now) -> Math.max(previous + 1, now));
+    }
+}
@@ -0,0 +1,134 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.enums.OutboxEntityType;
+import com.dnofulla.marketcove.backend_api.event.EntityChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tails the outbox in ID order and publishes each record as an EntityChangedEvent, deleting the
+ * records once their listeners have returned. A record whose listener throws stays at the head of
+ * the outbox and is retried on the next poll together with everything after it, so delivery is at
+ * least once and in order for an entity. After max-attempts failed deliveries a record is parked
+ * (kept with parked_at set and skipped from then on), so one record no listener can handle does
+ * not hold back the rest of the outbox.
+ * Deliveries go to this instance's listeners only; a deployment with several instances would need
+ * one outbox reader per instance.
+ * The relay uses plain JDBC, so its polls of an idle outbox do not show up in the SQL log.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private static final String FIND_PENDING_SQL = "SELECT id, entity_type, entity_id, changed_fields, attempts "
+            + "FROM outbox_events WHERE parked_at IS NULL ORDER BY id LIMIT ?";
+
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id = ?";
+
+    private static final String RECORD_FAILURE_SQL = "UPDATE outbox_events SET attempts = ?, parked_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-attempts:5}")
+    private int maxAttempts;
+
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    /**
+     * Deliver all committed outbox records
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public void relay() {
+        if (!relayLock.tryLock()) {
+            return;
+        }
+
+        try {
+            List<PendingRecord> batch;
+            do {
+                batch = jdbcTemplate.query(FIND_PENDING_SQL, (rs, rowNum) -> new PendingRecord(rs.getLong("id"),
+                        OutboxEntityType.valueOf(rs.getString("entity_type")), rs.getLong("entity_id"),
+                        rs.getString("changed_fields"), rs.getInt("attempts")), batchSize);
+                List<Long> done = publish(batch);
+                if (!done.isEmpty()) {
+                    jdbcTemplate.batchUpdate(DELETE_SQL, done, done.size(),
+                            (PreparedStatement statement, Long id) -> statement.setLong(1, id));
+                }
+                if (done.size() < batch.size()) {
+                    return;
+                }
+            } while (batch.size() == batchSize);
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Publish records in order up to the first failure. Publishing continues past parked records;
+     * they are kept, not deleted
+     */
+    private List<Long> publish(List<PendingRecord> batch) {
+        List<Long> done = new ArrayList<>(batch.size());
+        for (PendingRecord record : batch) {
+            try {
+                eventPublisher.publishEvent(toEvent(record));
+            } catch (RuntimeException e) {
+                if (!recordFailure(record, e)) {
+                    break;
+                }
+                continue;
+            }
+            done.add(record.id());
+        }
+        return done;
+    }
+
+    /**
+     * Count a failed delivery, parking the record once it has used up its attempts.
+     * Returns whether the record was parked.
+     */
+    private boolean recordFailure(PendingRecord record, RuntimeException e) {
+        int attempts = record.attempts() + 1;
+        boolean park = attempts >= maxAttempts;
+        jdbcTemplate.update(RECORD_FAILURE_SQL, attempts, park ? Timestamp.valueOf(LocalDateTime.now()) : null,
+                record.id());
+        if (park) {
+            log.error("Outbox listener failed on {} {} (record {}) {} times, parking the record: {}",
+                    record.entityType(), record.entityId(), record.id(), attempts, e.getMessage());
+        } else {
+            log.error("Outbox listener failed on {} {} (record {}), retrying on the next poll: {}",
+                    record.entityType(), record.entityId(), record.id(), e.getMessage());
+        }
+        return park;
+    }
+
+    private EntityChangedEvent toEvent(PendingRecord record) {
+        Set<String> changedFields = new LinkedHashSet<>(List.of(record.changedFields().split(",")));
+        return new EntityChangedEvent(record.entityType(), record.entityId(), record.id(), changedFields);
+    }
+
+    private record PendingRecord(long id, OutboxEntityType entityType, long entityId, String changedFields,
+            int attempts) {
+    }
+}
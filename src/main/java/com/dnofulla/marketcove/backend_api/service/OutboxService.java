@@ -0,0 +1,100 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.entity.OutboxEvent;
+import com.dnofulla.marketcove.backend_api.enums.OutboxEntityType;
+import com.dnofulla.marketcove.backend_api.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Appends change records to the outbox in the caller's transaction, so a change and its record
+ * commit or roll back together. OutboxRelay delivers them after commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final EntityManager entityManager;
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Record a newly saved entity; every property counts as changed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(OutboxEntityType entityType, Object entity) {
+        EntityPersister persister = entryOf(entity).getPersister();
+        append(entityType, entity, new LinkedHashSet<>(Arrays.asList(persister.getPropertyNames())));
+    }
+
+    /**
+     * Record the properties of a managed entity changed since it was loaded or last flushed.
+     * Call after the change, before anything else flushes it; nothing is recorded if no property changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanged(OutboxEntityType entityType, Object entity) {
+        Set<String> changedFields = dirtyProperties(entity);
+        if (!changedFields.isEmpty()) {
+            append(entityType, entity, changedFields);
+        }
+    }
+
+    private void append(OutboxEntityType entityType, Object entity, Set<String> changedFields) {
+        // Write the entity first, so its row lock is held before the outbox row takes the next ID:
+        // two transactions changing the same entity then record it in commit order
+        entityManager.flush();
+
+        OutboxEvent event = new OutboxEvent();
+        event.setEntityType(entityType);
+        event.setEntityId((Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity));
+        event.setChangedFields(String.join(",", changedFields));
+        outboxEventRepository.save(event);
+    }
+
+    private Set<String> dirtyProperties(Object entity) {
+        EntityEntry entry = entryOf(entity);
+        EntityPersister persister = entry.getPersister();
+        Object[] loadedState = entry.getLoadedState();
+        Object[] currentState = persister.getValues(entity);
+        String[] names = persister.getPropertyNames();
+
+        Set<String> dirty = new LinkedHashSet<>();
+        int[] dirtyIndexes = loadedState == null ? null
+                : persister.findDirty(currentState, loadedState, entity, session());
+        if (dirtyIndexes != null) {
+            for (int index : dirtyIndexes) {
+                dirty.add(names[index]);
+            }
+        }
+        // Collections track their own changes; a replaced collection is not a persistent one yet
+        for (int i = 0; i < names.length; i++) {
+            if (persister.getPropertyTypes()[i].isCollectionType()
+                    && (!(currentState[i] instanceof PersistentCollection<?> collection) || collection.isDirty())) {
+                dirty.add(names[i]);
+            }
+        }
+        return dirty;
+    }
+
+    private EntityEntry entryOf(Object entity) {
+        EntityEntry entry = session().getPersistenceContextInternal().getEntry(entity);
+        if (entry == null) {
+            throw new IllegalStateException("Outbox records need a managed entity: " + entity.getClass().getSimpleName());
+        }
+        return entry;
+    }
+
+    private SharedSessionContractImplementor session() {
+        return entityManager.unwrap(SharedSessionContractImplementor.class);
+    }
+}
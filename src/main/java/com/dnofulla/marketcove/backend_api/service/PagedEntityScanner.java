@@ -0,0 +1,38 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reads every row of a paged query one page at a time, for the in-memory index rebuilds.
+ * The persistence context is cleared after each page, so a rebuild running in a single
+ * read-only transaction never holds more than one page of managed entities.
+ */
+@Component
+@RequiredArgsConstructor
+public class PagedEntityScanner {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Pass every row of a query to a consumer in ID order.
+     * Entities are detached once their page is done, so the consumer must not keep them.
+     */
+    public <T> void scan(Function<Pageable, Page<T>> query, int pageSize, Consumer<? super T> consumer) {
+        int pageNumber = 0;
+        Page<T> page;
+        do {
+            page = query.apply(PageRequest.of(pageNumber++, pageSize, Sort.by("id")));
+            page.forEach(consumer);
+            entityManager.clear();
+        } while (page.hasNext());
+    }
+}
@@ -0,0 +1,49 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.util.IdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Assigns public IDs to items and storefronts created before the column existed
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PublicIdBackfillService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final List<String> TABLES = List.of("items", "storefronts");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdGenerator idGenerator;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (String table : TABLES) {
+            int assigned = 0;
+            List<Long> ids;
+            do {
+                ids = jdbcTemplate.queryForList(
+                        "SELECT id FROM " + table + " WHERE public_id IS NULL ORDER BY id LIMIT " + BATCH_SIZE,
+                        Long.class);
+                if (!ids.isEmpty()) {
+                    jdbcTemplate.batchUpdate(
+                            "UPDATE " + table + " SET public_id = ? WHERE id = ? AND public_id IS NULL",
+                            ids.stream().map(id -> new Object[] { idGenerator.nextPublicId(), id }).toList());
+                    assigned += ids.size();
+                }
+            } while (ids.size() == BATCH_SIZE);
+
+            if (assigned > 0) {
+                log.info("Assigned public IDs to {} rows of {}", assigned, table);
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.enums.CounterType;
+import com.dnofulla.marketcove.backend_api.event.CountersCompactedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sharded counters for hot totals (sales, orders, views).
+ * Every counted entity has a few slots in counter_shards; an increment updates one slot picked at
+ * random, so concurrent increments of a best-seller rarely wait on the same row. A periodic
+ * compaction folds the slots into the entity's own column (e.g. items.total_sales), which queries
+ * sort on. The sum of the slots not yet compacted is cached in memory per entity, kept up to date by
+ * increments and compactions, so reads add it to the column without querying the slots.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShardedCounterService {
+
+    private static final String INCREMENT_SHARD_SQL = "UPDATE counter_shards SET counter_value = counter_value + ? "
+            + "WHERE counter_type = ? AND entity_id = ? AND shard = ?";
+
+    // Skips existing slots, so raising counters.shards only adds the new ones
+    private static final String INSERT_SHARD_SQL = "INSERT INTO counter_shards (counter_type, entity_id, shard, "
+            + "counter_value) SELECT ?, ?, ?, 0 WHERE NOT EXISTS (SELECT 1 FROM counter_shards "
+            + "WHERE counter_type = ? AND entity_id = ? AND shard = ?)";
+
+    // ID order keeps every compaction locking slots in the same order
+    private static final String UNCOMPACTED_SHARDS_SQL = "SELECT id, entity_id, counter_value FROM counter_shards "
+            + "WHERE counter_type = ? AND counter_value <> 0 ORDER BY id";
+
+    // Subtracting what was read, rather than zeroing, keeps increments that land mid-compaction
+    private static final String DRAIN_SHARD_SQL = "UPDATE counter_shards SET counter_value = counter_value - ? "
+            + "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${counters.shards:8}")
+    private int shards;
+
+    // Uncompacted sum per entity; slots a crash leaves behind only count once compacted, so shutdown compacts
+    private final Map<CounterType, ConcurrentHashMap<Long, BigDecimal>> uncompacted = createUncompacted();
+
+    /**
+     * Add an amount to an entity's counter
+     */
+    @Transactional
+    public void increment(CounterType type, Long entityId, Number amount) {
+        incrementAll(type, Map.of(entityId, amount));
+    }
+
+    /**
+     * Add amounts to the counters of several entities in one batch
+     */
+    @Transactional
+    public void incrementAll(CounterType type, Map<Long, ? extends Number> amountsByEntity) {
+        if (amountsByEntity.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(amountsByEntity.size());
+        amountsByEntity.forEach((entityId, amount) -> batchArgs.add(new Object[] {
+                new BigDecimal(amount.toString()), type.name(), entityId,
+                ThreadLocalRandom.current().nextInt(shards) }));
+        int[] updated = jdbcTemplate.batchUpdate(INCREMENT_SHARD_SQL, batchArgs);
+
+        // First increment of an entity: create its slots, then retry
+        List<Object[]> retries = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] args = batchArgs.get(i);
+                createShards(type, (Long) args[2]);
+                retries.add(args);
+            }
+        }
+        if (!retries.isEmpty()) {
+            for (int count : jdbcTemplate.batchUpdate(INCREMENT_SHARD_SQL, retries)) {
+                if (count == 0) {
+                    throw new IllegalStateException("Counter slot missing after creation for " + type);
+                }
+            }
+        }
+        cacheIncrements(type, amountsByEntity);
+    }
+
+    /**
+     * Exact counter value: the compacted column plus all slots not yet folded into it
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal get(CounterType type, Long entityId) {
+        BigDecimal compacted = jdbcTemplate.query(
+                "SELECT " + type.getColumnName() + " FROM " + type.getTableName() + " WHERE id = ?",
+                rs -> rs.next() ? rs.getBigDecimal(1) : null, entityId);
+        return (compacted != null ? compacted : BigDecimal.ZERO).add(getUncompacted(type, entityId));
+    }
+
+    /**
+     * Cached sum of an entity's slots not yet folded into its column, for callers that already loaded the column
+     */
+    public BigDecimal getUncompacted(CounterType type, Long entityId) {
+        return entityId != null ? uncompacted.get(type).getOrDefault(entityId, BigDecimal.ZERO) : BigDecimal.ZERO;
+    }
+
+    /**
+     * Fold counter slots into the counted entities' columns
+     */
+    @Scheduled(fixedDelayString = "${counters.compaction-interval-ms:10000}")
+    public void compact() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (CounterType type : CounterType.values()) {
+            try {
+                Map<Long, BigDecimal> compacted = transactionTemplate.execute(status -> compact(type));
+                if (compacted != null && !compacted.isEmpty()) {
+                    compacted.forEach((entityId, total) -> addUncompacted(type, entityId, total.negate()));
+                    eventPublisher.publishEvent(new CountersCompactedEvent(type, compacted.keySet()));
+                    log.debug("Compacted {} counters for {} entities", type, compacted.size());
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to compact {} counters, retrying next run: {}", type, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compact();
+    }
+
+    // Private helper methods
+
+    private static Map<CounterType, ConcurrentHashMap<Long, BigDecimal>> createUncompacted() {
+        Map<CounterType, ConcurrentHashMap<Long, BigDecimal>> byType = new EnumMap<>(CounterType.class);
+        for (CounterType type : CounterType.values()) {
+            byType.put(type, new ConcurrentHashMap<>());
+        }
+        return byType;
+    }
+
+    private void cacheIncrements(CounterType type, Map<Long, ? extends Number> amountsByEntity) {
+        // Counted right away so a read never misses a write; a rollback takes the amounts back out
+        amountsByEntity.forEach((entityId, amount) ->
+                addUncompacted(type, entityId, new BigDecimal(amount.toString())));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        amountsByEntity.forEach((entityId, amount) ->
+                                addUncompacted(type, entityId, new BigDecimal(amount.toString()).negate()));
+                    }
+                }
+            });
+        }
+    }
+
+    private void addUncompacted(CounterType type, Long entityId, BigDecimal amount) {
+        // Compacting slots a crashed instance left behind would go negative; those were never counted
+        uncompacted.get(type).compute(entityId, (id, current) -> {
+            BigDecimal sum = current != null ? current.add(amount) : amount;
+            return sum.signum() > 0 ? sum : null;
+        });
+    }
+
+    private Map<Long, BigDecimal> compact(CounterType type) {
+        List<Object[]> drains = new ArrayList<>();
+        Map<Long, BigDecimal> totals = new TreeMap<>();
+        jdbcTemplate.query(UNCOMPACTED_SHARDS_SQL, rs -> {
+            BigDecimal value = rs.getBigDecimal("counter_value");
+            drains.add(new Object[] { value, rs.getLong("id") });
+            totals.merge(rs.getLong("entity_id"), value, BigDecimal::add);
+        }, type.name());
+        if (totals.isEmpty()) {
+            return totals;
+        }
+
+        jdbcTemplate.batchUpdate(DRAIN_SHARD_SQL, drains);
+        String column = type.getColumnName();
+        List<Object[]> batchArgs = new ArrayList<>(totals.size());
+        totals.forEach((entityId, total) -> batchArgs.add(new Object[] { total, entityId }));
+        jdbcTemplate.batchUpdate("UPDATE " + type.getTableName() + " SET " + column + " = COALESCE(" + column
+                + ", 0) + ? WHERE id = ?", batchArgs);
+        return totals;
+    }
+
+    private void createShards(CounterType type, Long entityId) {
+        // Own transaction, so a concurrent creator winning the race does not fail the caller's
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<Object[]> batchArgs = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            batchArgs.add(new Object[] { type.name(), entityId, shard, type.name(), entityId, shard });
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SHARD_SQL, batchArgs));
+        } catch (DuplicateKeyException e) {
+            log.debug("Counter slots for {} {} were created concurrently", type, entityId);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.dto.item.StockAlertResponse;
+import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.event.StockLevelChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pushes low-stock and out-of-stock alerts to sellers over Server-Sent Events.
+ * Stock level changes are queued per item after commit, so a burst of changes to one item
+ * is delivered as a single alert (from the level the seller last saw to the latest one), and
+ * a dispatcher sends the queued alerts on its own schedule; stock writes never wait for a
+ * client. The queue is bounded, and alerts of sellers without an open stream are not queued.
+ * The blocking writes to clients run on a dedicated executor, one at a time per stream and in
+ * order, so neither the scheduler nor other streams wait for a slow client; a stream that falls
+ * too far behind is closed.
+ */
+@Service
+@Slf4j
+public class StockAlertService {
+
+    @Value("${items.stock-alerts.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${items.stock-alerts.max-streams-per-user:5}")
+    private int maxStreamsPerUser;
+
+    @Value("${items.stock-alerts.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${items.stock-alerts.max-queued-sends:100}")
+    private int maxQueuedSends;
+
+    private final Executor sendExecutor;
+    private final ConcurrentHashMap<Long, List<AlertStream>> streamsByUser = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, StockLevelChangedEvent> pendingAlerts = new ConcurrentHashMap<>();
+    private final LongAdder droppedAlerts = new LongAdder();
+
+    public StockAlertService(@Qualifier("stockAlertSendExecutor") Executor sendExecutor) {
+        this.sendExecutor = sendExecutor;
+    }
+
+    /**
+     * Open an alert stream for the current user; the oldest stream is closed beyond the per-user limit
+     */
+    public SseEmitter subscribe(User currentUser) {
+        Long userId = currentUser.getId();
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        AlertStream stream = new AlertStream(emitter);
+        emitter.onCompletion(() -> removeStream(userId, stream));
+        emitter.onTimeout(() -> removeStream(userId, stream));
+        emitter.onError(e -> removeStream(userId, stream));
+
+        List<AlertStream> evicted = new ArrayList<>();
+        streamsByUser.compute(userId, (id, existing) -> {
+            List<AlertStream> streams = existing != null ? existing : new CopyOnWriteArrayList<>();
+            streams.add(stream);
+            while (streams.size() > maxStreamsPerUser) {
+                evicted.add(streams.remove(0));
+            }
+            return streams;
+        });
+        evicted.forEach(old -> old.emitter.complete());
+
+        log.debug("Opened stock alert stream for user {}", currentUser.getEmail());
+        return emitter;
+    }
+
+    /**
+     * Number of alerts dropped because the queue was full
+     */
+    public long getDroppedAlertCount() {
+        return droppedAlerts.sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        if (event.getOwnerUserId() == null || !streamsByUser.containsKey(event.getOwnerUserId())) {
+            return;
+        }
+        if (pendingAlerts.size() >= maxPending && !pendingAlerts.containsKey(event.getItemId())) {
+            droppedAlerts.increment();
+            return;
+        }
+
+        // Back at the level of the undelivered alert's start: nothing to tell the seller
+        pendingAlerts.merge(event.getItemId(), event, (earlier, latest) -> {
+            StockLevelChangedEvent merged = latest.since(earlier);
+            return merged.getPreviousLevel() == merged.getLevel() ? null : merged;
+        });
+    }
+
+    /**
+     * Hand queued alerts to the streams of their sellers
+     */
+    @Scheduled(fixedDelayString = "${items.stock-alerts.dispatch-interval-ms:1000}")
+    public void dispatch() {
+        Map<Long, List<StockLevelChangedEvent>> alertsByUser = new HashMap<>();
+        for (Long itemId : pendingAlerts.keySet()) {
+            StockLevelChangedEvent alert = pendingAlerts.remove(itemId);
+            if (alert != null) {
+                alertsByUser.computeIfAbsent(alert.getOwnerUserId(), id -> new ArrayList<>()).add(alert);
+            }
+        }
+
+        alertsByUser.forEach((userId, alerts) -> {
+            // Event builders keep state once sent, so each stream gets its own
+            Supplier<List<SseEmitter.SseEventBuilder>> events = () -> alerts.stream()
+                    .map(alert -> SseEmitter.event()
+                            .id(String.valueOf(alert.getItemId()))
+                            .name(alert.getLevel().name())
+                            .data(toResponse(alert)))
+                    .toList();
+            for (AlertStream stream : streamsByUser.getOrDefault(userId, List.of())) {
+                send(userId, stream, events);
+            }
+        });
+    }
+
+    /**
+     * Keep idle streams open through proxies and notice disconnected clients
+     */
+    @Scheduled(fixedDelayString = "${items.stock-alerts.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        streamsByUser.forEach((userId, streams) -> {
+            for (AlertStream stream : streams) {
+                // A stream with sends still queued is not idle
+                if (stream.queuedSends.get() == 0) {
+                    send(userId, stream, () -> List.of(SseEmitter.event().comment("heartbeat")));
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamsByUser.values().forEach(streams -> streams.forEach(stream -> stream.emitter.complete()));
+        streamsByUser.clear();
+    }
+
+    // Private helper methods
+
+    /**
+     * Queue events for a stream behind its earlier sends, closing the stream if too many are waiting
+     */
+    private void send(Long userId, AlertStream stream, Supplier<List<SseEmitter.SseEventBuilder>> events) {
+        if (stream.queuedSends.incrementAndGet() > maxQueuedSends) {
+            log.debug("Closing stock alert stream of user {}: client is not reading", userId);
+            removeStream(userId, stream);
+            stream.emitter.complete();
+            return;
+        }
+
+        synchronized (stream) {
+            stream.lastSend = stream.lastSend.thenRunAsync(() -> {
+                try {
+                    for (SseEmitter.SseEventBuilder event : events.get()) {
+                        stream.emitter.send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Closing stock alert stream of user {}: {}", userId, e.getMessage());
+                    removeStream(userId, stream);
+                    stream.emitter.completeWithError(e);
+                } finally {
+                    stream.queuedSends.decrementAndGet();
+                }
+            }, sendExecutor);
+        }
+    }
+
+    private void removeStream(Long userId, AlertStream stream) {
+        streamsByUser.computeIfPresent(userId, (id, streams) -> {
+            streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private static StockAlertResponse toResponse(StockLevelChangedEvent alert) {
+        return new StockAlertResponse(alert.getItemId(), alert.getItemName(), alert.getSku(),
+                alert.getStorefrontId(), alert.getStockQuantity(), alert.getLowStockThreshold(),
+                alert.getPreviousLevel(), alert.getLevel(), alert.getChangedAt());
+    }
+
+    /**
+     * An open stream with the tail of its send chain; each send starts after the previous one ends
+     */
+    private static class AlertStream {
+        private final SseEmitter emitter;
+        private final AtomicInteger queuedSends = new AtomicInteger();
+        private CompletableFuture<Void> lastSend = CompletableFuture.completedFuture(null);
+
+        AlertStream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -7,13 +7,17 @@ import com.dnofulla.marketcove.backend_api.entity.BusinessProfile;
 import com.dnofulla.marketcove.backend_api.entity.SellerProfile;
 import com.dnofulla.marketcove.backend_api.entity.Storefront;
 import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.enums.OutboxEntityType;
 import com.dnofulla.marketcove.backend_api.enums.UserRole;
+import com.dnofulla.marketcove.backend_api.event.StorefrontChangedEvent;
 import com.dnofulla.marketcove.backend_api.repository.BusinessProfileRepository;
 import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
 import com.dnofulla.marketcove.backend_api.repository.SellerProfileRepository;
 import com.dnofulla.marketcove.backend_api.repository.StorefrontRepository;
+import com.dnofulla.marketcove.backend_api.util.ContentVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -38,6 +42,9 @@ public class StorefrontService {
     private final BusinessProfileRepository businessProfileRepository;
     private final SellerProfileRepository sellerProfileRepository;
     private final S3ImageService s3ImageService;
+    private final OutboxService outboxService;
+    private final ListVersionTracker listVersionTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new storefront for the current user
@@ -58,6 +65,8 @@ public class StorefrontService {
         setStorefrontOwner(storefront, currentUser);
 
         Storefront savedStorefront = storefrontRepository.save(storefront);
+        outboxService.recordCreated(OutboxEntityType.STOREFRONT, savedStorefront);
+        eventPublisher.publishEvent(new StorefrontChangedEvent(savedStorefront));
         log.info("Successfully created storefront with ID: {}", savedStorefront.getId());
 
         return convertToResponse(savedStorefront);
@@ -81,11 +90,36 @@ public class StorefrontService {
 
         updateStorefrontFromRequest(storefront, request);
         Storefront savedStorefront = storefrontRepository.save(storefront);
+        outboxService.recordChanged(OutboxEntityType.STOREFRONT, savedStorefront);
+        eventPublisher.publishEvent(new StorefrontChangedEvent(savedStorefront));
 
         log.info("Successfully updated storefront with ID: {}", savedStorefront.getId());
         return convertToResponse(savedStorefront);
     }
 
+    /**
+     * Get the version of a storefront's response, for conditional requests
+     */
+    @Transactional(readOnly = true)
+    public Optional<ContentVersion> getStorefrontVersion(Long storefrontId) {
+        return storefrontRepository.findVersionById(storefrontId).map(row -> ContentVersion.of("storefront", row));
+    }
+
+    /**
+     * Get the version of an active storefront's response by URL slug, for conditional requests
+     */
+    @Transactional(readOnly = true)
+    public Optional<ContentVersion> getStorefrontVersionBySlug(String slug) {
+        return storefrontRepository.findActiveVersionBySlug(slug).map(row -> ContentVersion.of("storefront", row));
+    }
+
+    /**
+     * Get the version of a page of a public storefront list, for conditional requests
+     */
+    public Optional<ContentVersion> getStorefrontListVersion(String list, Object... requestParts) {
+        return Optional.of(listVersionTracker.getStorefrontListVersion(list, requestParts));
+    }
+
     /**
      * Get storefront by ID
      */
@@ -163,6 +197,8 @@ public class StorefrontService {
 
         storefront.setActive(false);
         storefrontRepository.save(storefront);
+        outboxService.recordChanged(OutboxEntityType.STOREFRONT, storefront);
+        eventPublisher.publishEvent(new StorefrontChangedEvent(storefront));
 
         log.info("Successfully deleted storefront with ID: {}", storefrontId);
     }
@@ -193,6 +229,7 @@ public class StorefrontService {
         if (imageUrl != null) {
             storefront.setStoreLogoUrl(imageUrl);
             storefront = storefrontRepository.save(storefront);
+            outboxService.recordChanged(OutboxEntityType.STOREFRONT, storefront);
         }
 
         return convertToResponse(storefront);
@@ -224,6 +261,7 @@ public class StorefrontService {
         if (imageUrl != null) {
             storefront.setStoreBannerUrl(imageUrl);
             storefront = storefrontRepository.save(storefront);
+            outboxService.recordChanged(OutboxEntityType.STOREFRONT, storefront);
         }
 
         return convertToResponse(storefront);
@@ -319,6 +357,7 @@ public class StorefrontService {
         response.setStoreName(storefront.getStoreName());
         response.setStoreDescription(storefront.getStoreDescription());
         response.setStoreUrlSlug(storefront.getStoreUrlSlug());
+        response.setPublicId(storefront.getPublicId());
         response.setStoreLogoUrl(storefront.getStoreLogoUrl());
         response.setStoreBannerUrl(storefront.getStoreBannerUrl());
         response.setContactEmail(storefront.getContactEmail());
@@ -0,0 +1,500 @@
+package com.dnofulla.marketcove.backend_api.service;
+
+import com.dnofulla.marketcove.backend_api.dto.search.SuggestionResponse;
+import com.dnofulla.marketcove.backend_api.dto.search.SuggestionResponse.Type;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.StorefrontChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.repository.StorefrontRepository;
+import com.dnofulla.marketcove.backend_api.util.TextTokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Search box typeahead over item names, storefront names and categories.
+ * Names are normalized and indexed in a prefix trie from the start of the name and from
+ * the start of each of its first words. Every trie node keeps its top completions ranked
+ * by popularity (sales weighted above views), so a lookup is a walk down the typed prefix
+ * and a copy of that node's list. Built at startup, kept current from item and storefront
+ * change events, and rebuilt periodically to pick up sales and view count drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestService {
+
+    // One sale counts as much as this many views
+    private static final long SALES_WEIGHT = 10;
+    // Names are indexed from their start and from the start of this many following words
+    private static final int MAX_WORD_STARTS = 4;
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong((Entry entry) -> entry.weight)
+            .reversed()
+            .thenComparing(entry -> entry.text)
+            .thenComparing(entry -> entry.key);
+
+    private final ItemRepository itemRepository;
+    private final StorefrontRepository storefrontRepository;
+    private final PagedEntityScanner pagedEntityScanner;
+
+    @Value("${suggest.top-k:20}")
+    private int topK;
+
+    // Prefixes are indexed up to this length; longer queries are matched against the deepest node's list
+    @Value("${suggest.max-prefix-length:32}")
+    private int maxPrefixLength;
+
+    @Value("${suggest.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private SuggestIndex index;
+    private volatile boolean ready = false;
+
+    // Changes seen while a rebuild was running; re-applied once the new index is swapped in
+    private List<Runnable> changedDuringRebuild;
+
+    /**
+     * Top completions for a typed prefix, most popular first
+     */
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        String prefix = normalizeKey(query);
+        if (!ready || prefix.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return index.lookup(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Build the trie from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${suggest.rebuild-interval-ms:600000}",
+            fixedDelayString = "${suggest.rebuild-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        SuggestIndex rebuilt = new SuggestIndex(topK, maxPrefixLength);
+        pagedEntityScanner.scan(pageable -> itemRepository.findByIsActive(true, pageable), rebuildBatchSize,
+                item -> rebuilt.applyItem(item, false));
+        pagedEntityScanner.scan(pageable -> storefrontRepository.findByIsActive(true, pageable), rebuildBatchSize,
+                storefront -> rebuilt.applyStorefront(storefront, false));
+        rebuilt.rankAll();
+
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+            changedDuringRebuild.forEach(Runnable::run);
+            changedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Built suggestion index with {} entries in {} ms", rebuilt.entries.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Keep the trie in sync with committed item changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Item item = event.getItem();
+        applyChange(() -> index.applyItem(item, true));
+    }
+
+    /**
+     * Keep the trie in sync with bulk item changes under a single lock acquisition
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsChanged(ItemBatchChangedEvent event) {
+        List<Item> items = event.getItems();
+        applyChange(() -> items.forEach(item -> index.applyItem(item, true)));
+    }
+
+    /**
+     * Keep the trie in sync with committed storefront changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStorefrontChanged(StorefrontChangedEvent event) {
+        Storefront storefront = event.getStorefront();
+        applyChange(() -> index.applyStorefront(storefront, true));
+    }
+
+    // Private helper methods
+
+    private void applyChange(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                change.run();
+            }
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Lowercase, accent-free, words separated by single spaces
+    private static String normalizeKey(String text) {
+        return String.join(" ", TextTokenizer.normalize(text).split("[^\\p{L}\\p{N}]+")).trim();
+    }
+
+    private static long weight(Integer sales, Integer views) {
+        return (sales != null ? sales : 0) * SALES_WEIGHT + (views != null ? views : 0);
+    }
+
+    /**
+     * A completion. Identified by key ("I:12", "S:3", "C:books") so it can be replaced or removed.
+     */
+    private static final class Entry {
+        private final String key;
+        private final Type type;
+        private final Long id;
+        private final String text;
+        private final long weight;
+
+        private Entry(String key, Type type, Long id, String text, long weight) {
+            this.key = key;
+            this.type = type;
+            this.id = id;
+            this.text = text;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Trie node. Children are kept in parallel arrays sorted by character.
+     */
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        // Entries whose indexed string ends at this node
+        private List<Entry> terminals;
+        // Best completions in this node's subtree
+        private Entry[] top = NO_ENTRIES;
+
+        Node child(char c) {
+            int position = Arrays.binarySearch(keys, c);
+            return position >= 0 ? children[position] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int position = Arrays.binarySearch(keys, c);
+            if (position >= 0) {
+                return children[position];
+            }
+            int insertAt = -position - 1;
+            Node child = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = child;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int position = Arrays.binarySearch(keys, c);
+            if (position < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            System.arraycopy(keys, position + 1, newKeys, position, keys.length - position - 1);
+            System.arraycopy(children, position + 1, newChildren, position, children.length - position - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return keys.length == 0 && (terminals == null || terminals.isEmpty());
+        }
+
+        // The subtree's top is the best of this node's own entries and each child's top
+        void rank(int topK) {
+            List<Entry> candidates = new ArrayList<>();
+            if (terminals != null) {
+                candidates.addAll(terminals);
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(RANKING);
+            List<Entry> best = new ArrayList<>(topK);
+            Set<String> seen = new LinkedHashSet<>();
+            for (Entry entry : candidates) {
+                // An entry indexed under several word starts can reach a node along more than one path
+                if (seen.add(entry.key)) {
+                    best.add(entry);
+                    if (best.size() == topK) {
+                        break;
+                    }
+                }
+            }
+            top = best.toArray(NO_ENTRIES);
+        }
+    }
+
+    /**
+     * The trie plus bookkeeping for incremental updates. Not thread-safe; guarded by the service lock.
+     */
+    private static final class SuggestIndex {
+
+        private final int topK;
+        private final int maxPrefixLength;
+        private final Node root = new Node();
+        // Entry key -> entry and the strings it is indexed under
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final Map<String, List<String>> indexedKeys = new HashMap<>();
+        // Category aggregates, rebuilt from item contributions
+        private final Map<Long, ItemContribution> itemContributions = new HashMap<>();
+        private final Map<String, CategoryStats> categories = new LinkedHashMap<>();
+
+        SuggestIndex(int topK, int maxPrefixLength) {
+            this.topK = topK;
+            this.maxPrefixLength = maxPrefixLength;
+        }
+
+        List<SuggestionResponse> lookup(String prefix, int limit) {
+            Node node = root;
+            String walked = prefix.length() > maxPrefixLength ? prefix.substring(0, maxPrefixLength) : prefix;
+            for (int i = 0; i < walked.length() && node != null; i++) {
+                node = node.child(walked.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            boolean truncated = walked.length() < prefix.length();
+            List<SuggestionResponse> suggestions = new ArrayList<>(Math.min(limit, node.top.length));
+            for (Entry entry : node.top) {
+                if (suggestions.size() == limit) {
+                    break;
+                }
+                if (!truncated || matchesBeyondIndex(entry, prefix)) {
+                    suggestions.add(new SuggestionResponse(entry.type, entry.id, entry.text));
+                }
+            }
+            return suggestions;
+        }
+
+        void applyItem(Item item, boolean rank) {
+            String key = "I:" + item.getId();
+            ItemContribution previous = itemContributions.remove(item.getId());
+            if (previous != null) {
+                adjustCategory(previous.category, previous.displayName, -previous.weight, -1, rank);
+            }
+            if (!item.isActive()) {
+                remove(key, rank);
+                return;
+            }
+
+            long weight = weight(item.getTotalSales(), item.getViewCount());
+            put(new Entry(key, Type.ITEM, item.getId(), item.getItemName(), weight), rank);
+            String category = normalizeKey(item.getCategory());
+            if (!category.isEmpty()) {
+                itemContributions.put(item.getId(), new ItemContribution(category, item.getCategory().trim(), weight));
+                adjustCategory(category, item.getCategory().trim(), weight, 1, rank);
+            }
+        }
+
+        void applyStorefront(Storefront storefront, boolean rank) {
+            String key = "S:" + storefront.getId();
+            if (!storefront.isActive()) {
+                remove(key, rank);
+                return;
+            }
+            long weight = weight(storefront.getTotalOrders(), 0);
+            put(new Entry(key, Type.STOREFRONT, storefront.getId(), storefront.getStoreName(), weight), rank);
+        }
+
+        void rankAll() {
+            rankSubtree(root);
+        }
+
+        private void adjustCategory(String category, String displayName, long weight, int count, boolean rank) {
+            CategoryStats stats = categories.computeIfAbsent(category, c -> new CategoryStats(displayName));
+            stats.weight += weight;
+            stats.itemCount += count;
+            String key = "C:" + category;
+            if (stats.itemCount <= 0) {
+                categories.remove(category);
+                remove(key, rank);
+            } else {
+                // Categories rank by the popularity of their items, then by their size
+                put(new Entry(key, Type.CATEGORY, null, stats.displayName, stats.weight + stats.itemCount), rank);
+            }
+        }
+
+        private void put(Entry entry, boolean rank) {
+            remove(entry.key, rank);
+            List<String> keys = indexKeys(entry.text);
+            if (keys.isEmpty()) {
+                return;
+            }
+            entries.put(entry.key, entry);
+            indexedKeys.put(entry.key, keys);
+            for (String indexKey : keys) {
+                List<Node> path = path(indexKey, true);
+                Node last = path.get(path.size() - 1);
+                if (last.terminals == null) {
+                    last.terminals = new ArrayList<>(1);
+                }
+                last.terminals.add(entry);
+                if (rank) {
+                    rankPath(path);
+                }
+            }
+        }
+
+        private void remove(String entryKey, boolean rank) {
+            Entry entry = entries.remove(entryKey);
+            List<String> keys = indexedKeys.remove(entryKey);
+            if (entry == null || keys == null) {
+                return;
+            }
+            for (String indexKey : keys) {
+                List<Node> path = path(indexKey, false);
+                Node last = path.get(path.size() - 1);
+                if (last.terminals != null) {
+                    last.terminals.removeIf(terminal -> terminal.key.equals(entryKey));
+                }
+                // Prune nodes left without entries or children, deepest first
+                for (int depth = path.size() - 1; depth > 0 && path.get(depth).isEmpty(); depth--) {
+                    path.get(depth - 1).removeChild(indexKey.charAt(depth - 1));
+                    path.remove(depth);
+                }
+                if (rank) {
+                    rankPath(path);
+                }
+            }
+        }
+
+        // Nodes from the root down to the end of the key (or as far as it exists when not creating)
+        private List<Node> path(String key, boolean create) {
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length(); i++) {
+                node = create ? node.childOrCreate(key.charAt(i)) : node.child(key.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                path.add(node);
+            }
+            return path;
+        }
+
+        private void rankPath(List<Node> path) {
+            for (int depth = path.size() - 1; depth >= 0; depth--) {
+                path.get(depth).rank(topK);
+            }
+        }
+
+        private void rankSubtree(Node node) {
+            for (Node child : node.children) {
+                rankSubtree(child);
+            }
+            node.rank(topK);
+        }
+
+        // The full name and the remainder from each following word start, cut to the indexed length
+        private List<String> indexKeys(String text) {
+            String normalized = normalizeKey(text);
+            Set<String> keys = new LinkedHashSet<>();
+            int start = 0;
+            for (int word = 0; word < MAX_WORD_STARTS && start < normalized.length(); word++) {
+                String key = normalized.substring(start);
+                keys.add(key.length() > maxPrefixLength ? key.substring(0, maxPrefixLength) : key);
+                int space = normalized.indexOf(' ', start);
+                if (space < 0) {
+                    break;
+                }
+                start = space + 1;
+            }
+            return new ArrayList<>(keys);
+        }
+
+        private boolean matchesBeyondIndex(Entry entry, String prefix) {
+            String normalized = normalizeKey(entry.text);
+            if (normalized.startsWith(prefix)) {
+                return true;
+            }
+            return normalized.contains(" " + prefix);
+        }
+    }
+
+    private static final class ItemContribution {
+        private final String category;
+        private final String displayName;
+        private final long weight;
+
+        private ItemContribution(String category, String displayName, long weight) {
+            this.category = category;
+            this.displayName = displayName;
+            this.weight = weight;
+        }
+    }
+
+    private static final class CategoryStats {
+        private final String displayName;
+        private long weight;
+        private int itemCount;
+
+        private CategoryStats(String displayName) {
+            this.displayName = displayName;
+        }
+    }
+}
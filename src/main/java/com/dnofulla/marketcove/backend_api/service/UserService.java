@@ -34,7 +34,7 @@ public class UserService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmailIgnoreCase(email)
+        return userRepository.findByEmail(User.normalizeEmail(email))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 
@@ -44,7 +44,7 @@ public class UserService implements UserDetailsService {
     public User createUser(User user) {
         log.info("Creating new user with email: {}", user.getEmail());
 
-        if (userRepository.existsByEmailIgnoreCase(user.getEmail())) {
+        if (userRepository.existsByEmail(User.normalizeEmail(user.getEmail()))) {
             throw new RuntimeException("User already exists with email: " + user.getEmail());
         }
 
@@ -70,7 +70,7 @@ public class UserService implements UserDetailsService {
      * Find user by email
      */
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmailIgnoreCase(email);
+        return userRepository.findByEmail(User.normalizeEmail(email));
     }
 
     /**
@@ -99,7 +99,7 @@ public class UserService implements UserDetailsService {
      * Increment failed login attempts and lock account if necessary
      */
     public void incrementFailedLoginAttempts(String email) {
-        Optional<User> userOpt = userRepository.findByEmailIgnoreCase(email);
+        Optional<User> userOpt = userRepository.findByEmail(User.normalizeEmail(email));
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             user.incrementFailedLoginAttempts();
@@ -113,7 +113,7 @@ public class UserService implements UserDetailsService {
      * Reset failed login attempts
      */
     public void resetFailedLoginAttempts(String email) {
-        Optional<User> userOpt = userRepository.findByEmailIgnoreCase(email);
+        Optional<User> userOpt = userRepository.findByEmail(User.normalizeEmail(email));
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             user.resetFailedLoginAttempts();
@@ -142,7 +142,7 @@ public class UserService implements UserDetailsService {
      * Generate password reset token
      */
     public String generatePasswordResetToken(String email) {
-        Optional<User> userOpt = userRepository.findByEmailIgnoreCase(email);
+        Optional<User> userOpt = userRepository.findByEmail(User.normalizeEmail(email));
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             String token = UUID.randomUUID().toString();
@@ -201,7 +201,7 @@ public class UserService implements UserDetailsService {
      * Check if email exists
      */
     public boolean emailExists(String email) {
-        return userRepository.existsByEmailIgnoreCase(email);
+        return userRepository.existsByEmail(User.normalizeEmail(email));
     }
 
     /**
@@ -237,7 +237,7 @@ public class UserService implements UserDetailsService {
      * TODO: Remove this method in production
      */
     public boolean manuallyVerifyEmail(String email) {
-        Optional<User> userOpt = userRepository.findByEmailIgnoreCase(email);
+        Optional<User> userOpt = userRepository.findByEmail(User.normalizeEmail(email));
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             user.setEmailVerified(true);
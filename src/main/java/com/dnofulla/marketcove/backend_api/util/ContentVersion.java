@@ -0,0 +1,71 @@
+package com.dnofulla.marketcove.backend_api.util;
+
+import jakarta.persistence.Tuple;
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * Version of a read response for HTTP conditional requests.
+ * Built from a small version query (update timestamps and the counters that change without
+ * them), or for lists from a version tracked in memory, plus the request parameters that shape
+ * the response, so a client's cached copy can be validated before anything is loaded or serialized. The ETag is weak: view counts are left out
+ * and may be stale in a revalidated copy.
+ */
+@Getter
+public final class ContentVersion {
+
+    private final String eTag;
+    private final long lastModified;
+
+    private ContentVersion(String eTag, long lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Version of a response from its version query row and the request parameters it depends on
+     */
+    public static ContentVersion of(String resource, Tuple versionRow, Object... requestParts) {
+        StringBuilder raw = new StringBuilder(resource);
+        LocalDateTime latest = null;
+        for (Object part : versionRow.toArray()) {
+            raw.append('|').append(part);
+            if (part instanceof LocalDateTime timestamp && (latest == null || timestamp.isAfter(latest))) {
+                latest = timestamp;
+            }
+        }
+        long lastModified = latest != null ? latest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        return new ContentVersion(eTag(raw, requestParts), lastModified);
+    }
+
+    /**
+     * Version of a response tracked in memory rather than queried: the state identifies the tracked
+     * version and lastModified is the time it last changed
+     */
+    public static ContentVersion ofTracked(String resource, String state, long lastModified, Object... requestParts) {
+        return new ContentVersion(eTag(new StringBuilder(resource).append('|').append(state), requestParts),
+                lastModified);
+    }
+
+    /**
+     * Whether the client's copy is current. If so the response has already been turned into
+     * a 304 Not Modified and the handler should return without a body; otherwise the ETag and
+     * Last-Modified headers are set for the full response.
+     */
+    public static boolean isNotModified(Optional<ContentVersion> version, WebRequest request) {
+        return version.isPresent() && request.checkNotModified(version.get().eTag, version.get().lastModified);
+    }
+
+    private static String eTag(StringBuilder raw, Object... parts) {
+        for (Object part : parts) {
+            raw.append('|').append(part);
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(raw.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
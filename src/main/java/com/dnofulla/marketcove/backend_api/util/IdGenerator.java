@@ -0,0 +1,102 @@
+package com.dnofulla.marketcove.backend_api.util;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 64-bit IDs, unique across nodes without a database round trip.
+ * Layout (Snowflake style): 41 bits of milliseconds since 2024-01-01, 10 bits of node ID and
+ * 12 bits of sequence, so a node issues up to 4096 IDs per millisecond. The timestamp and
+ * sequence live in one AtomicLong advanced by compare-and-set: IDs are strictly increasing
+ * per node, and no caller ever waits on a lock. When the sequence runs out within a
+ * millisecond, or the wall clock steps back, the timestamp part moves ahead of the clock
+ * instead of blocking until it catches up.
+ */
+public final class IdGenerator {
+
+    public static final int MAX_NODE_ID = 1023;
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Used where there is no injection point (entity callbacks); configured at startup
+    private static volatile IdGenerator shared = new IdGenerator(0);
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    // (milliseconds since the epoch << SEQUENCE_BITS) | sequence of the last issued ID
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    public IdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    public IdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * Generator shared by the process, e.g. for SKUs assigned when an entity is persisted
+     */
+    public static IdGenerator shared() {
+        return shared;
+    }
+
+    /**
+     * Replace the shared generator with one for the given node
+     */
+    public static synchronized IdGenerator configureShared(int nodeId) {
+        IdGenerator configured = new IdGenerator(nodeId);
+        // Continue after the IDs already issued, in case the node ID is unchanged
+        configured.lastTimeAndSequence.set(shared.lastTimeAndSequence.get());
+        shared = configured;
+        return configured;
+    }
+
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        while (true) {
+            long last = lastTimeAndSequence.get();
+            long next = Math.max(now, last + 1);
+            if (lastTimeAndSequence.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Next ID rendered as a short opaque string
+     */
+    public String nextPublicId() {
+        return format(nextId());
+    }
+
+    /**
+     * Uppercase base-36 form of an ID, at most 13 characters
+     */
+    public static String format(long id) {
+        return Long.toString(id, Character.MAX_RADIX).toUpperCase();
+    }
+
+    /**
+     * Node that issued an ID
+     */
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    /**
+     * Creation time of an ID, in epoch milliseconds
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+}
@@ -0,0 +1,152 @@
+package com.dnofulla.marketcove.backend_api.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Amount of money as a whole number of minor units (cents) in a currency.
+ * Amounts always have two decimal places, like the NUMERIC(10, 2) columns they are stored in
+ * through {@link MoneyConverter}. Arithmetic works on the long minor units, so price, discount
+ * and total calculations do not create intermediate BigDecimals; conversion happens only when
+ * reading request values and writing responses.
+ */
+public final class Money implements Comparable<Money> {
+
+    /** Currency of stored amounts; the price columns have no currency of their own */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    private static final int SCALE = 2;
+
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(Long.MAX_VALUE, SCALE);
+    private static final BigDecimal MIN_AMOUNT = BigDecimal.valueOf(Long.MIN_VALUE, SCALE);
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    /**
+     * Amount in minor units of the default currency
+     */
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Amount in minor units of the given currency
+     */
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Amount of the default currency, rounded half up to cents
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinor(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Smallest amount at or above a lower query bound, saturating at the range of minor units
+     */
+    public static Money ceilingOf(BigDecimal bound) {
+        return ofMinor(clampToMinor(bound, RoundingMode.CEILING));
+    }
+
+    /**
+     * Largest amount at or below an upper query bound, saturating at the range of minor units
+     */
+    public static Money floorOf(BigDecimal bound) {
+        return ofMinor(clampToMinor(bound, RoundingMode.FLOOR));
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(int quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity), currency);
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return compareTo(other) > 0;
+    }
+
+    /**
+     * This amount as a share of another, in hundredths of a percent, rounded half up
+     */
+    public long basisPointsOf(Money whole) {
+        requireSameCurrency(whole);
+        if (whole.minorUnits == 0) {
+            throw new ArithmeticException("Share of a zero amount");
+        }
+        // floor((share * 10000 + whole / 2) / whole), kept in integers
+        return Math.floorDiv(Math.multiplyExact(minorUnits, 20_000L) + whole.minorUnits, whole.minorUnits * 2);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    /**
+     * Plain decimal amount, e.g. "19.99", as used in keyset cursors
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    // Checked before scaling, so a huge exponent is never expanded
+    private static long clampToMinor(BigDecimal amount, RoundingMode roundingMode) {
+        if (amount.compareTo(MAX_AMOUNT) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (amount.compareTo(MIN_AMOUNT) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        return amount.setScale(SCALE, roundingMode).unscaledValue().longValueExact();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException(
+                    "Currency mismatch: " + currency.getCurrencyCode() + " and " + other.currency.getCurrencyCode());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.dnofulla.marketcove.backend_api.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility for splitting free text into normalized search terms
+ */
+public final class TextTokenizer {
+
+    // Length of the items.tags column
+    public static final int MAX_TAGS_LENGTH = 500;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * Normalize text: strip accents and lowercase
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Split text into lowercase alphanumeric terms, dropping stop words
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean termChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                String term = normalized.substring(start, i);
+                if (!STOP_WORDS.contains(term)) {
+                    terms.add(term);
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Split a comma-separated tag string into distinct normalized tags
+     */
+    public static List<String> parseTags(String tags) {
+        Set<String> parsed = new LinkedHashSet<>();
+        if (tags == null) {
+            return new ArrayList<>(parsed);
+        }
+        for (String tag : tags.split(",")) {
+            String normalized = normalizeTag(tag);
+            if (!normalized.isEmpty()) {
+                parsed.add(normalized);
+            }
+        }
+        return new ArrayList<>(parsed);
+    }
+
+    /**
+     * Normalize a single tag: accents stripped, lowercase, inner whitespace collapsed
+     */
+    public static String normalizeTag(String tag) {
+        return normalize(tag).trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Tidy a comma-separated tag string for storage: entries trimmed, empty and duplicate
+     * (by normalized form) entries dropped, joined with ", ". The separators can make the result
+     * longer than the input, so tags that would take it past MAX_TAGS_LENGTH are dropped.
+     * Returns null when no tag is left.
+     */
+    public static String canonicalTags(String tags) {
+        if (tags == null) {
+            return null;
+        }
+        Map<String, String> distinct = new LinkedHashMap<>();
+        int length = 0;
+        for (String tag : tags.split(",")) {
+            String trimmed = tag.trim().replaceAll("\\s+", " ");
+            String normalized = normalizeTag(trimmed);
+            if (normalized.isEmpty() || distinct.containsKey(normalized)) {
+                continue;
+            }
+            int separator = distinct.isEmpty() ? 0 : 2;
+            if (length + separator + trimmed.length() > MAX_TAGS_LENGTH) {
+                break;
+            }
+            distinct.put(normalized, trimmed);
+            length += separator + trimmed.length();
+        }
+        return distinct.isEmpty() ? null : String.join(", ", distinct.values());
+    }
+}
@@ -10,6 +10,8 @@ import com.dnofulla.marketcove.backend_api.repository.CartRepository;
 import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
 import com.dnofulla.marketcove.backend_api.service.CartService;
 import com.dnofulla.marketcove.backend_api.service.ItemService;
+import com.dnofulla.marketcove.backend_api.service.OutboxService;
+import com.dnofulla.marketcove.backend_api.util.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -48,6 +50,9 @@ public class CartServiceTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private CartService cartService;
 
@@ -89,7 +94,7 @@ public class CartServiceTest {
         mockItem = new Item();
         mockItem.setId(1L);
         mockItem.setItemName("Test Item");
-        mockItem.setPrice(BigDecimal.valueOf(19.99));
+        mockItem.setPrice(Money.of(BigDecimal.valueOf(19.99)));
         mockItem.setStockQuantity(10);
         mockItem.setActive(true);
         mockItem.setStorefront(mockStorefront);
@@ -99,7 +104,7 @@ public class CartServiceTest {
         mockCart.setId(1L);
         mockCart.setUser(mockCustomer);
         mockCart.setCartItems(new ArrayList<>());
-        mockCart.setTotalAmount(BigDecimal.ZERO);
+        mockCart.setTotalAmount(Money.ZERO);
         mockCart.setTotalItems(0);
         mockCart.setCreatedAt(LocalDateTime.now());
         mockCart.setUpdatedAt(LocalDateTime.now());
@@ -110,7 +115,7 @@ public class CartServiceTest {
         mockCartItem.setCart(mockCart);
         mockCartItem.setItem(mockItem);
         mockCartItem.setQuantity(2);
-        mockCartItem.setPriceAtTime(BigDecimal.valueOf(19.99));
+        mockCartItem.setPriceAtTime(Money.of(BigDecimal.valueOf(19.99)));
         mockCartItem.setCreatedAt(LocalDateTime.now());
         mockCartItem.setUpdatedAt(LocalDateTime.now());
     }
@@ -125,7 +130,7 @@ public class CartServiceTest {
             // Arrange
             List<CartItem> cartItems = List.of(mockCartItem);
             mockCart.setCartItems(cartItems);
-            mockCart.setTotalAmount(BigDecimal.valueOf(39.98));
+            mockCart.setTotalAmount(Money.of(BigDecimal.valueOf(39.98)));
             mockCart.setTotalItems(2);
 
             when(cartRepository.findByUserIdWithItems(1L)).thenReturn(Optional.of(mockCart));
@@ -162,7 +167,7 @@ public class CartServiceTest {
             assertThat(result.getId()).isEqualTo(1L);
             assertThat(result.getUserId()).isEqualTo(1L);
             assertThat(result.getTotalItems()).isEqualTo(0);
-            assertThat(result.getTotalAmount()).isEqualTo(BigDecimal.ZERO);
+            assertThat(result.getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO);
             assertThat(result.isEmpty()).isTrue();
             assertThat(result.getCartItems()).isEmpty();
 
@@ -438,7 +443,7 @@ public class CartServiceTest {
             assertThat(result).isNotNull();
             assertThat(result.isEmpty()).isTrue();
             assertThat(result.getTotalItems()).isEqualTo(0);
-            assertThat(result.getTotalAmount()).isEqualTo(BigDecimal.ZERO);
+            assertThat(result.getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO);
 
             verify(cartItemRepository, times(1)).deleteByCart(mockCart);
             verify(cartRepository, times(1)).save(mockCart);
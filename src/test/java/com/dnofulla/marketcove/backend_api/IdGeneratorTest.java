@@ -0,0 +1,100 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.util.IdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test class for the Snowflake-style ID generator
+ */
+@DisplayName("IdGenerator Tests")
+public class IdGeneratorTest {
+
+    private static final long NOW = 1_717_200_000_000L;
+
+    @Test
+    @DisplayName("Should issue unique, increasing IDs across threads")
+    void testConcurrentUniqueness() throws Exception {
+        IdGenerator generator = new IdGenerator(7);
+        int threads = 8;
+        int idsPerThread = 50_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    long[] ids = new long[idsPerThread];
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<Long> all = new HashSet<>();
+            for (Future<long[]> result : results) {
+                long[] ids = result.get();
+                for (int i = 0; i < ids.length; i++) {
+                    assertThat(all.add(ids[i])).isTrue();
+                    if (i > 0) {
+                        assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                    }
+                }
+            }
+            assertThat(all).hasSize(threads * idsPerThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run ahead of the clock instead of blocking when a millisecond is used up or the clock steps back")
+    void testSequenceOverflowAndClockSkew() {
+        AtomicLong clock = new AtomicLong(NOW);
+        IdGenerator generator = new IdGenerator(3, clock::get);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+        // 10,001 IDs within one millisecond borrow the next two
+        assertThat(IdGenerator.timestampOf(previous)).isEqualTo(NOW + 2);
+
+        clock.set(NOW - 60_000);
+        assertThat(generator.nextId()).isGreaterThan(previous);
+
+        clock.set(NOW + 1_000);
+        long id = generator.nextId();
+        assertThat(IdGenerator.timestampOf(id)).isEqualTo(NOW + 1_000);
+        assertThat(IdGenerator.nodeOf(id)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep IDs of different nodes apart and render short SKUs")
+    void testNodesAndFormat() {
+        long first = new IdGenerator(1, () -> NOW).nextId();
+        long second = new IdGenerator(2, () -> NOW).nextId();
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(IdGenerator.format(first)).matches("[0-9A-Z]{1,13}");
+        assertThat(Item.generateSku()).startsWith("ITEM-").hasSizeLessThanOrEqualTo(18);
+        assertThat(Item.generateSku()).isNotEqualTo(Item.generateSku());
+        assertThatThrownBy(() -> new IdGenerator(IdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,17 +1,30 @@
 package com.dnofulla.marketcove.backend_api;
 
 import com.dnofulla.marketcove.backend_api.controller.ItemController;
+import com.dnofulla.marketcove.backend_api.dto.item.BatchStockUpdateRequest;
+import com.dnofulla.marketcove.backend_api.dto.item.BatchStockUpdateResponse;
 import com.dnofulla.marketcove.backend_api.dto.item.CreateItemRequest;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemCursorPage;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemFacetPage;
+import com.dnofulla.marketcove.backend_api.dto.item.ItemImportResponse;
 import com.dnofulla.marketcove.backend_api.dto.item.ItemResponse;
 import com.dnofulla.marketcove.backend_api.dto.item.UpdateItemRequest;
 import com.dnofulla.marketcove.backend_api.entity.User;
 import com.dnofulla.marketcove.backend_api.enums.UserRole;
+import com.dnofulla.marketcove.backend_api.exception.IndexNotReadyException;
+import com.dnofulla.marketcove.backend_api.service.ItemImportService;
+import com.dnofulla.marketcove.backend_api.service.ItemResponseCache;
+import com.dnofulla.marketcove.backend_api.service.ItemResponseMapper;
 import com.dnofulla.marketcove.backend_api.service.ItemService;
+import com.dnofulla.marketcove.backend_api.service.ItemStockService;
+import com.dnofulla.marketcove.backend_api.service.ItemViewCountService;
+import com.dnofulla.marketcove.backend_api.service.StockAlertService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -30,7 +43,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -53,6 +68,15 @@ public class ItemControllerTest {
         @MockBean
         private ItemService itemService;
 
+        @MockBean
+        private ItemImportService itemImportService;
+
+        @MockBean
+        private ItemStockService itemStockService;
+
+        @MockBean
+        private StockAlertService stockAlertService;
+
         @MockBean
         private com.dnofulla.marketcove.backend_api.util.JwtUtil jwtUtil;
 
@@ -68,6 +92,7 @@ public class ItemControllerTest {
         private ItemResponse mockItemResponse;
         private List<ItemResponse> mockItemList;
         private Page<ItemResponse> mockItemPage;
+        private ItemResponseCache itemResponseCache;
 
         @BeforeEach
         void setUp() {
@@ -111,6 +136,9 @@ public class ItemControllerTest {
                 validUpdateRequest.setItemDescription("Updated description");
                 validUpdateRequest.setPrice(new BigDecimal("139.99"));
 
+                itemResponseCache = new ItemResponseCache(mock(ItemResponseMapper.class),
+                                mock(ItemViewCountService.class), objectMapper);
+
                 // Setup mock item response
                 mockItemResponse = new ItemResponse();
                 mockItemResponse.setId(1L);
@@ -292,14 +320,16 @@ public class ItemControllerTest {
                 @Test
                 @DisplayName("Should get item by ID successfully")
                 void testGetItemByIdSuccess() throws Exception {
-                        when(itemService.getItem(1L)).thenReturn(mockItemResponse);
+                        when(itemService.getItem(1L)).thenReturn(itemResponseCache.toJson(mockItemResponse));
 
                         mockMvc.perform(get("/api/items/1"))
                                         .andExpect(status().isOk())
                                         .andExpect(jsonPath("$.id").value(1L))
                                         .andExpect(jsonPath("$.itemName").value("Wireless Bluetooth Headphones"))
                                         .andExpect(jsonPath("$.sku").value("WBH-001"))
-                                        .andExpect(jsonPath("$.price").value(149.99));
+                                        .andExpect(jsonPath("$.price").value(149.99))
+                                        .andExpect(jsonPath("$.viewCount").value(150))
+                                        .andExpect(jsonPath("$.storefrontName").value("Tech Paradise"));
 
                         verify(itemService, times(1)).getItem(1L);
                 }
@@ -307,7 +337,7 @@ public class ItemControllerTest {
                 @Test
                 @DisplayName("Should get item by SKU successfully")
                 void testGetItemBySkuSuccess() throws Exception {
-                        when(itemService.getItemBySku("WBH-001")).thenReturn(mockItemResponse);
+                        when(itemService.getItemBySku("WBH-001")).thenReturn(itemResponseCache.toJson(mockItemResponse));
 
                         mockMvc.perform(get("/api/items/sku/WBH-001"))
                                         .andExpect(status().isOk())
@@ -349,7 +379,7 @@ public class ItemControllerTest {
                 @DisplayName("Should get storefront items successfully")
                 void testGetStorefrontItemsSuccess() throws Exception {
                         when(itemService.getStorefrontItems(eq(1L), eq(true), any(Pageable.class)))
-                                        .thenReturn(mockItemPage);
+                                        .thenReturn(mockItemPage.map(itemResponseCache::toJson));
 
                         mockMvc.perform(get("/api/items/storefront/1")
                                         .param("activeOnly", "true")
@@ -368,7 +398,7 @@ public class ItemControllerTest {
                 @DisplayName("Should get all storefront items including inactive")
                 void testGetStorefrontItemsIncludeInactive() throws Exception {
                         when(itemService.getStorefrontItems(eq(1L), eq(false), any(Pageable.class)))
-                                        .thenReturn(mockItemPage);
+                                        .thenReturn(mockItemPage.map(itemResponseCache::toJson));
 
                         mockMvc.perform(get("/api/items/storefront/1")
                                         .param("activeOnly", "false"))
@@ -523,6 +553,200 @@ public class ItemControllerTest {
                 }
         }
 
+        @Nested
+        @DisplayName("Cursor Pagination Endpoint Tests")
+        class CursorPaginationEndpointTests {
+
+                @Test
+                @DisplayName("Should get first page of recently added items without a cursor")
+                void testGetRecentlyAddedItemsFirstPage() throws Exception {
+                        when(itemService.getRecentlyAddedItems(isNull(), eq(20)))
+                                        .thenReturn(new ItemCursorPage(mockItemList, 1, true, "next-cursor"));
+
+                        mockMvc.perform(get("/api/items/recent/cursor"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.content").isArray())
+                                        .andExpect(jsonPath("$.content[0].id").value(1L))
+                                        .andExpect(jsonPath("$.hasNext").value(true))
+                                        .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+
+                        verify(itemService, times(1)).getRecentlyAddedItems(isNull(), eq(20));
+                }
+
+                @Test
+                @DisplayName("Should pass cursor and size through for price range")
+                void testGetItemsByPriceRangeWithCursor() throws Exception {
+                        when(itemService.getItemsByPriceRange(eq(new BigDecimal("100")), eq(new BigDecimal("200")),
+                                        eq("abc"), eq(10)))
+                                        .thenReturn(new ItemCursorPage(mockItemList, 1, false, null));
+
+                        mockMvc.perform(get("/api/items/price-range/cursor")
+                                        .param("minPrice", "100")
+                                        .param("maxPrice", "200")
+                                        .param("cursor", "abc")
+                                        .param("size", "10"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.hasNext").value(false));
+
+                        verify(itemService, times(1)).getItemsByPriceRange(eq(new BigDecimal("100")),
+                                        eq(new BigDecimal("200")), eq("abc"), eq(10));
+                }
+
+                @Test
+                @DisplayName("Should return 400 for an invalid cursor")
+                void testInvalidCursor() throws Exception {
+                        when(itemService.getBestSellingItems(eq("garbage"), eq(20)))
+                                        .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+                        mockMvc.perform(get("/api/items/best-selling/cursor")
+                                        .param("cursor", "garbage"))
+                                        .andExpect(status().isBadRequest())
+                                        .andExpect(jsonPath("$.message").value("Invalid cursor"));
+                }
+        }
+
+        @Nested
+        @DisplayName("Facet Endpoint Tests")
+        class FacetEndpointTests {
+
+                @Test
+                @DisplayName("Should translate query parameters into facet filters")
+                @SuppressWarnings("unchecked")
+                void testGetFacetedItems() throws Exception {
+                        Map<String, Map<String, Long>> facets = Map.of("category", Map.of("Electronics", 1L));
+                        when(itemService.getFacetedItems(anyMap(), any(Pageable.class)))
+                                        .thenReturn(new ItemFacetPage(mockItemList, 0, 20, 1, facets));
+
+                        mockMvc.perform(get("/api/items/facets")
+                                        .param("category", "Electronics", "Books")
+                                        .param("onSale", "true")
+                                        .param("storefrontId", "1"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.content[0].id").value(1L))
+                                        .andExpect(jsonPath("$.totalElements").value(1))
+                                        .andExpect(jsonPath("$.facets.category.Electronics").value(1));
+
+                        ArgumentCaptor<Map<String, List<String>>> filters = ArgumentCaptor.forClass(Map.class);
+                        verify(itemService, times(1)).getFacetedItems(filters.capture(), any(Pageable.class));
+                        assertThat(filters.getValue()).containsOnly(
+                                        entry("category", List.of("Electronics", "Books")),
+                                        entry("onSale", List.of("true")),
+                                        entry("storefront", List.of("1")));
+                }
+
+                @Test
+                @DisplayName("Should query items by one tag or by several tags")
+                void testGetItemsByTags() throws Exception {
+                        when(itemService.getItemsByTags(anyList(), any(Pageable.class))).thenReturn(mockItemPage);
+
+                        mockMvc.perform(get("/api/items/tags/wireless"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.content[0].id").value(1L));
+                        mockMvc.perform(get("/api/items/tags")
+                                        .param("tag", "wireless", "audio"))
+                                        .andExpect(status().isOk());
+
+                        verify(itemService).getItemsByTags(eq(List.of("wireless")), any(Pageable.class));
+                        verify(itemService).getItemsByTags(eq(List.of("wireless", "audio")), any(Pageable.class));
+                }
+
+                @Test
+                @DisplayName("Should get top-rated items globally and per storefront")
+                void testGetTopRatedItems() throws Exception {
+                        when(itemService.getTopRatedItems(any(Pageable.class))).thenReturn(mockItemPage);
+                        when(itemService.getTopRatedItemsByStorefront(eq(1L), any(Pageable.class)))
+                                        .thenReturn(mockItemPage);
+
+                        mockMvc.perform(get("/api/items/top-rated"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.content[0].id").value(1L));
+                        mockMvc.perform(get("/api/items/storefront/1/top-rated"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.content[0].id").value(1L));
+
+                        verify(itemService).getTopRatedItems(any(Pageable.class));
+                        verify(itemService).getTopRatedItemsByStorefront(eq(1L), any(Pageable.class));
+                }
+
+                @Test
+                @DisplayName("Should answer 503 while an index is still being built")
+                void testIndexNotReady() throws Exception {
+                        when(itemService.getSimilarItems(eq(1L), anyInt())).thenThrow(
+                                        new IndexNotReadyException("Similar items are still being indexed, please retry shortly"));
+
+                        mockMvc.perform(get("/api/items/1/similar"))
+                                        .andExpect(status().isServiceUnavailable())
+                                        .andExpect(header().exists("Retry-After"))
+                                        .andExpect(jsonPath("$.status").value(503));
+                }
+        }
+
+        @Nested
+        @DisplayName("Bulk Endpoint Tests")
+        class BulkEndpointTests {
+
+                @Test
+                @DisplayName("Should pick the import format from the content type")
+                void testImportItems() throws Exception {
+                        ItemImportResponse importResponse = new ItemImportResponse();
+                        importResponse.setTotalRows(2);
+                        importResponse.setImportedCount(1);
+                        importResponse.setFailedCount(1);
+                        importResponse.getErrors().add(new ItemImportResponse.RowError(2, "WBH-001", "SKU already exists: WBH-001"));
+                        when(itemImportService.importItems(eq(1L), any(), any(), any(User.class)))
+                                        .thenReturn(importResponse);
+
+                        mockMvc.perform(post("/api/items/storefront/1/import")
+                                        .contentType("text/csv")
+                                        .content("itemName,sku,price,stockQuantity\nLamp,L-1,10,1\n"))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.importedCount").value(1))
+                                        .andExpect(jsonPath("$.errors[0].row").value(2));
+
+                        mockMvc.perform(post("/api/items/storefront/1/import")
+                                        .contentType("application/x-ndjson")
+                                        .content("{\"itemName\":\"Lamp\"}\n"))
+                                        .andExpect(status().isOk());
+
+                        verify(itemImportService).importItems(eq(1L), any(), eq(ItemImportService.Format.CSV), any(User.class));
+                        verify(itemImportService).importItems(eq(1L), any(), eq(ItemImportService.Format.NDJSON), any(User.class));
+                }
+
+                @Test
+                @DisplayName("Should apply a batch of stock updates")
+                void testUpdateStockBatch() throws Exception {
+                        BatchStockUpdateRequest request = new BatchStockUpdateRequest(List.of(
+                                        new BatchStockUpdateRequest.Entry(1L, null, 5),
+                                        new BatchStockUpdateRequest.Entry(null, "MISSING", 3)));
+                        BatchStockUpdateResponse stockResponse = new BatchStockUpdateResponse(1, 1, List.of(
+                                        new BatchStockUpdateResponse.Result(1L, null, BatchStockUpdateResponse.Status.UPDATED),
+                                        new BatchStockUpdateResponse.Result(null, "MISSING", BatchStockUpdateResponse.Status.NOT_FOUND)));
+                        when(itemStockService.updateStock(any(BatchStockUpdateRequest.class), any(User.class)))
+                                        .thenReturn(stockResponse);
+
+                        mockMvc.perform(patch("/api/items/stock")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(request)))
+                                        .andExpect(status().isOk())
+                                        .andExpect(jsonPath("$.updatedCount").value(1))
+                                        .andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"));
+                }
+
+                @Test
+                @DisplayName("Should reject negative stock quantities in a batch")
+                void testUpdateStockBatchValidation() throws Exception {
+                        BatchStockUpdateRequest request = new BatchStockUpdateRequest(List.of(
+                                        new BatchStockUpdateRequest.Entry(1L, null, -1)));
+
+                        mockMvc.perform(patch("/api/items/stock")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(request)))
+                                        .andExpect(status().isBadRequest());
+
+                        verify(itemStockService, never()).updateStock(any(), any());
+                }
+        }
+
         @Nested
         @DisplayName("Owner-specific Endpoint Tests")
         class OwnerSpecificEndpointTests {
@@ -530,14 +754,14 @@ public class ItemControllerTest {
                 @Test
                 @DisplayName("Should get low stock items successfully")
                 void testGetLowStockItemsSuccess() throws Exception {
-                        when(itemService.getLowStockItems(any(User.class))).thenReturn(mockItemList);
+                        when(itemService.getLowStockItems(any(User.class), any(Pageable.class))).thenReturn(mockItemPage);
 
                         mockMvc.perform(get("/api/items/low-stock"))
                                         .andExpect(status().isOk())
-                                        .andExpect(jsonPath("$").isArray())
-                                        .andExpect(jsonPath("$[0].id").value(1L));
+                                        .andExpect(jsonPath("$.content[0].id").value(1L))
+                                        .andExpect(jsonPath("$.totalElements").value(1));
 
-                        verify(itemService, times(1)).getLowStockItems(any(User.class));
+                        verify(itemService, times(1)).getLowStockItems(any(User.class), any(Pageable.class));
                 }
 
                 @Test
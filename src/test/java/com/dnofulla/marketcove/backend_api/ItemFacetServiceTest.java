@@ -0,0 +1,179 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemStockChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.service.ItemFacetService;
+import com.dnofulla.marketcove.backend_api.service.PagedEntityScanner;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the bitmap-backed item facets
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ItemFacetService Tests")
+public class ItemFacetServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemFacetService itemFacetService;
+
+    @BeforeEach
+    void setUp() {
+        itemFacetService = new ItemFacetService(itemRepository, new PagedEntityScanner(mock(EntityManager.class)));
+        ReflectionTestUtils.setField(itemFacetService, "rebuildBatchSize", 100);
+    }
+
+    @Test
+    @DisplayName("Should report no result before the index is built")
+    void testSearchBeforeBuild() {
+        assertThat(itemFacetService.search(Map.of(), 0, 20)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should OR values within a facet and AND across facets, newest first")
+    void testFilterCombination() {
+        buildIndex(
+                createItem(1L, "Books", "12.00", null, 5, 1L),
+                createItem(2L, "Games", "30.00", "40.00", 5, 1L),
+                createItem(3L, "Books", "8.00", "10.00", 0, 2L),
+                createItem(4L, "Toys", "15.00", "20.00", 5, 1L));
+
+        ItemFacetService.FacetResult result = itemFacetService.search(Map.of(
+                ItemFacetService.CATEGORY, List.of("Books", "Games"),
+                ItemFacetService.ON_SALE, List.of("true")), 0, 20).orElseThrow();
+
+        assertThat(result.getTotalHits()).isEqualTo(2);
+        assertThat(result.getItemIds()).containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should count each facet against the filters on the other facets")
+    void testFacetCounts() {
+        buildIndex(
+                createItem(1L, "Books", "12.00", null, 5, 1L),
+                createItem(2L, "Games", "30.00", "40.00", 5, 1L),
+                createItem(3L, "Books", "8.00", "10.00", 0, 2L));
+
+        Map<String, Map<String, Long>> counts = itemFacetService.search(Map.of(
+                ItemFacetService.CATEGORY, List.of("Books")), 0, 20).orElseThrow().getFacetCounts();
+
+        // The category facet ignores its own selection so the alternatives stay visible
+        assertThat(counts.get(ItemFacetService.CATEGORY)).containsOnly(entry("Books", 2L), entry("Games", 1L));
+        assertThat(counts.get(ItemFacetService.IN_STOCK)).containsOnly(entry("true", 1L), entry("false", 1L));
+        assertThat(counts.get(ItemFacetService.PRICE_BUCKET)).containsOnly(entry("0-10", 1L), entry("10-25", 1L));
+        assertThat(counts.get(ItemFacetService.STOREFRONT)).containsOnly(entry("1", 1L), entry("2", 1L));
+    }
+
+    @Test
+    @DisplayName("Should move changed items between facet values and drop deactivated ones")
+    void testIncrementalUpdates() {
+        Item item = createItem(1L, "Books", "12.00", null, 5, 1L);
+        buildIndex(item);
+
+        item.setCategory("Games");
+        itemFacetService.onItemChanged(new ItemChangedEvent(item));
+        assertThat(itemFacetService.search(Map.of(ItemFacetService.CATEGORY, List.of("Books")), 0, 20)
+                .orElseThrow().getTotalHits()).isZero();
+        assertThat(itemFacetService.search(Map.of(ItemFacetService.CATEGORY, List.of("Games")), 0, 20)
+                .orElseThrow().getItemIds()).containsExactly(1L);
+
+        item.setActive(false);
+        itemFacetService.onItemChanged(new ItemChangedEvent(item));
+        assertThat(itemFacetService.search(Map.of(), 0, 20).orElseThrow().getTotalHits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should move items between stock values on stock-only changes")
+    void testStockChanges() {
+        buildIndex(createItem(1L, "Books", "12.00", null, 5, 1L), createItem(2L, "Books", "12.00", null, 5, 1L));
+
+        itemFacetService.onStockChanged(new ItemStockChangedEvent(Map.of(
+                1L, new ItemStockChangedEvent.Stock(0, 2),
+                2L, new ItemStockChangedEvent.Stock(1, 2),
+                3L, new ItemStockChangedEvent.Stock(9, 2))));
+
+        Map<String, Map<String, Long>> counts = itemFacetService.search(Map.of(), 0, 20).orElseThrow()
+                .getFacetCounts();
+        assertThat(counts.get(ItemFacetService.IN_STOCK)).containsOnly(entry("true", 1L), entry("false", 1L));
+        assertThat(counts.get(ItemFacetService.LOW_STOCK)).containsOnly(entry("true", 2L));
+        // Items not in the index (inactive or unknown) stay out of it
+        assertThat(itemFacetService.search(Map.of(), 0, 20).orElseThrow().getTotalHits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should index item IDs beyond the int range, newest first")
+    void testLongIds() {
+        long base = 1L << 40;
+        buildIndex(createItem(base + 1, "Books", "12.00", null, 5, 1L),
+                createItem(base + 2, "Books", "12.00", null, 5, 1L));
+        itemFacetService.onItemChanged(new ItemChangedEvent(createItem(base + 3, "Games", "12.00", null, 5, 1L)));
+
+        assertThat(itemFacetService.search(Map.of(), 0, 20).orElseThrow().getItemIds())
+                .containsExactly(base + 3, base + 2, base + 1);
+        assertThat(itemFacetService.search(Map.of(ItemFacetService.CATEGORY, List.of("Books")), 0, 20)
+                .orElseThrow().getItemIds()).containsExactly(base + 2, base + 1);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown facets")
+    void testUnknownFacet() {
+        buildIndex(createItem(1L, "Books", "12.00", null, 5, 1L));
+
+        assertThatThrownBy(() -> itemFacetService.search(Map.of("color", List.of("red")), 0, 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown facet");
+    }
+
+    @Test
+    @DisplayName("Should label price buckets")
+    void testPriceBuckets() {
+        assertThat(ItemFacetService.priceBucket(Money.of(new BigDecimal("9.99")))).isEqualTo("0-10");
+        assertThat(ItemFacetService.priceBucket(Money.of(new BigDecimal("10.00")))).isEqualTo("10-25");
+        assertThat(ItemFacetService.priceBucket(Money.of(new BigDecimal("999.00")))).isEqualTo("500+");
+    }
+
+    private void buildIndex(Item... items) {
+        when(itemRepository.findByIsActive(eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(items)));
+        itemFacetService.rebuildIndex();
+    }
+
+    private Item createItem(Long id, String category, String price, String compareAtPrice, int stock,
+            Long storefrontId) {
+        Storefront storefront = new Storefront();
+        storefront.setId(storefrontId);
+
+        Item item = new Item();
+        item.setId(id);
+        item.setCategory(category);
+        item.setPrice(Money.of(new BigDecimal(price)));
+        item.setCompareAtPrice(compareAtPrice != null ? Money.of(new BigDecimal(compareAtPrice)) : null);
+        item.setStockQuantity(stock);
+        item.setLowStockThreshold(2);
+        item.setStorefront(storefront);
+        item.setActive(true);
+        return item;
+    }
+}
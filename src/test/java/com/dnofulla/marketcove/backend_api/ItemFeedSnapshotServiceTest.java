@@ -0,0 +1,198 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.dto.item.ItemResponse;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.enums.OutboxEntityType;
+import com.dnofulla.marketcove.backend_api.event.EntityChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.service.ItemFeedSnapshotService;
+import com.dnofulla.marketcove.backend_api.service.ItemFeedSnapshotService.Feed;
+import com.dnofulla.marketcove.backend_api.service.ItemResponseMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the homepage feed snapshots
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ItemFeedSnapshotService Tests")
+public class ItemFeedSnapshotServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemResponseMapper itemResponseMapper;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ItemFeedSnapshotService itemFeedSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        itemFeedSnapshotService = new ItemFeedSnapshotService(itemRepository, itemResponseMapper,
+                new TransactionTemplate(transactionManager), taskScheduler);
+        ReflectionTestUtils.setField(itemFeedSnapshotService, "snapshotSize", 50);
+        ReflectionTestUtils.setField(itemFeedSnapshotService, "refreshDebounceMs", 1000L);
+    }
+
+    @Test
+    @DisplayName("Should not serve pages before the first refresh")
+    void testNoSnapshotBeforeRefresh() {
+        assertThat(itemFeedSnapshotService.getPage(Feed.RECENT, PageRequest.of(0, 20))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve covered pages from memory")
+    void testServesCoveredPages() {
+        stubFeeds(120);
+        itemFeedSnapshotService.refreshAll();
+        clearInvocations(itemRepository);
+
+        Page<ItemResponse> page = itemFeedSnapshotService.getFeed(Feed.RECENT, PageRequest.of(1, 20));
+
+        assertThat(page.getContent()).extracting(ItemResponse::getId).startsWith(21L, 22L);
+        assertThat(page.getTotalElements()).isEqualTo(120);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database past the snapshot or for another order")
+    void testFallsBackWhenNotCovered() {
+        stubFeeds(120);
+        itemFeedSnapshotService.refreshAll();
+
+        assertThat(itemFeedSnapshotService.getPage(Feed.RECENT, PageRequest.of(1, 25))).isPresent();
+        assertThat(itemFeedSnapshotService.getPage(Feed.RECENT, PageRequest.of(2, 20))).isEmpty();
+        assertThat(itemFeedSnapshotService.getPage(Feed.RECENT,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "price")))).isEmpty();
+        assertThat(itemFeedSnapshotService.getPage(Feed.FEATURED,
+                PageRequest.of(0, 20, Feed.FEATURED.getDefaultSort()))).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should read pages past the snapshot in the snapshot's order")
+    void testFallbackKeepsSnapshotOrder() {
+        stubFeeds(120);
+        itemFeedSnapshotService.refreshAll();
+        clearInvocations(itemRepository);
+
+        itemFeedSnapshotService.getFeed(Feed.FEATURED, PageRequest.of(3, 20));
+        itemFeedSnapshotService.getFeed(Feed.ON_SALE, PageRequest.of(3, 20, Feed.ON_SALE.getDefaultSort()));
+
+        ArgumentCaptor<Pageable> featured = ArgumentCaptor.forClass(Pageable.class);
+        verify(itemRepository).findByIsFeaturedAndIsActive(eq(true), eq(true), featured.capture());
+        assertThat(featured.getValue().getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "averageRating")
+                .and(Sort.by(Sort.Direction.DESC, "id")));
+        assertThat(featured.getValue().getPageNumber()).isEqualTo(3);
+        verify(itemRepository).findItemsOnSaleByDiscount(any(Pageable.class));
+        verify(itemRepository, never()).findItemsOnSale(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should serve every page when the snapshot holds the whole feed")
+    void testSmallFeedFullyCovered() {
+        stubFeeds(30);
+        itemFeedSnapshotService.refreshAll();
+
+        Page<ItemResponse> lastPage = itemFeedSnapshotService.getPage(Feed.BEST_SELLING, PageRequest.of(1, 20))
+                .orElseThrow();
+        assertThat(lastPage.getContent()).hasSize(10);
+        assertThat(itemFeedSnapshotService.getPage(Feed.BEST_SELLING, PageRequest.of(5, 20)).orElseThrow()
+                .getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not let callers modify the stored responses")
+    void testServedResponsesAreCopies() {
+        stubFeeds(30);
+        itemFeedSnapshotService.refreshAll();
+
+        ItemResponse served = itemFeedSnapshotService.getPage(Feed.RECENT, PageRequest.of(0, 20))
+                .orElseThrow().getContent().get(0);
+        served.setItemName("Changed by caller");
+
+        assertThat(itemFeedSnapshotService.getPage(Feed.RECENT, PageRequest.of(0, 20))
+                .orElseThrow().getContent().get(0).getItemName()).isNull();
+        assertThatThrownBy(() -> served.getImageUrls().add("https://img/other.jpg"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should coalesce item changes into one scheduled refresh")
+    void testItemChangesScheduleOneRefresh() {
+        itemFeedSnapshotService.onItemChanged(new ItemChangedEvent(new Item()));
+        itemFeedSnapshotService.onItemChanged(new ItemChangedEvent(new Item()));
+
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should refresh after storefront renames relayed from the outbox")
+    void testStorefrontRenameSchedulesRefresh() {
+        itemFeedSnapshotService.onEntityChanged(
+                new EntityChangedEvent(OutboxEntityType.STOREFRONT, 1L, 1L, Set.of("storeDescription")));
+        itemFeedSnapshotService.onEntityChanged(
+                new EntityChangedEvent(OutboxEntityType.CART, 1L, 2L, Set.of("storeName")));
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+
+        itemFeedSnapshotService.onEntityChanged(
+                new EntityChangedEvent(OutboxEntityType.STOREFRONT, 1L, 3L, Set.of("storeName")));
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    private void stubFeeds(int total) {
+        when(itemResponseMapper.convertToResponse(any(Item.class))).thenAnswer(invocation -> {
+            ItemResponse response = new ItemResponse();
+            response.setId(invocation.getArgument(0, Item.class).getId());
+            response.setImageUrls(new ArrayList<>(List.of("https://img/front.jpg")));
+            return response;
+        });
+        when(itemRepository.findRecentlyAddedItems(any(Pageable.class)))
+                .thenAnswer(invocation -> page(total, invocation.getArgument(0)));
+        when(itemRepository.findBestSellingItems(any(Pageable.class)))
+                .thenAnswer(invocation -> page(total, invocation.getArgument(0)));
+        when(itemRepository.findItemsOnSaleByDiscount(any(Pageable.class)))
+                .thenAnswer(invocation -> page(total, invocation.getArgument(0)));
+        when(itemRepository.findByIsFeaturedAndIsActive(eq(true), eq(true), any(Pageable.class)))
+                .thenAnswer(invocation -> page(total, invocation.getArgument(2)));
+    }
+
+    private Page<Item> page(int total, Pageable pageable) {
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= Math.min(total, pageable.getPageSize()); id++) {
+            Item item = new Item();
+            item.setId(id);
+            items.add(item);
+        }
+        return new PageImpl<>(items, pageable, total);
+    }
+}
@@ -0,0 +1,256 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.SellerProfile;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.enums.UserRole;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.repository.StorefrontRepository;
+import com.dnofulla.marketcove.backend_api.service.ItemFeedSnapshotService;
+import com.dnofulla.marketcove.backend_api.service.ItemService;
+import com.dnofulla.marketcove.backend_api.service.ListVersionTracker;
+import com.dnofulla.marketcove.backend_api.util.ContentVersion;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test class asserting that item list endpoints run a fixed number of SQL statements per page
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=50"
+})
+@Import(ItemServiceTestConfiguration.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@DisplayName("Item Fetch Plan Tests")
+public class ItemFetchPlanTest {
+
+    // Items query with storefront joined, one batched image query, one count query
+    private static final long STATEMENTS_PER_PAGE = 3;
+    // Slices skip the count query
+    private static final long STATEMENTS_PER_SLICE = 2;
+
+    private static final Pageable SECOND_PAGE = PageRequest.of(1, 20);
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemFeedSnapshotService itemFeedSnapshotService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private StorefrontRepository storefrontRepository;
+
+    @Autowired
+    private ListVersionTracker listVersionTracker;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Long storefrontId;
+
+    @BeforeEach
+    void setUp() {
+        List<Storefront> storefronts = new ArrayList<>();
+        for (int s = 0; s < 5; s++) {
+            Storefront storefront = new Storefront();
+            storefront.setStoreName("Fetch Plan Store " + s);
+            storefronts.add(storefrontRepository.save(storefront));
+        }
+        storefrontId = storefronts.get(0).getId();
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Item item = new Item();
+            item.setItemName("Novel " + i);
+            item.setItemDescription("A paperback novel");
+            item.setSku("FETCH-" + i);
+            item.setPrice(Money.ofMinor(2000));
+            item.setCompareAtPrice(Money.ofMinor(2500));
+            item.setStockQuantity(10);
+            item.setCategory("Books");
+            item.setFeatured(true);
+            item.setImageUrls(new ArrayList<>(List.of("https://img/" + i + "/front.jpg", "https://img/" + i + "/back.jpg")));
+            // Spread items across storefronts so lazy loading would hit several of them
+            item.setStorefront(i < 40 ? storefronts.get(0) : storefronts.get(i % storefronts.size()));
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should load featured items with a fixed statement count")
+    void testFeaturedItems() {
+        assertStatementCount(STATEMENTS_PER_PAGE, () -> itemService.getFeaturedItems(SECOND_PAGE).getContent());
+    }
+
+    @Test
+    @DisplayName("Should load items on sale with a fixed statement count")
+    void testItemsOnSale() {
+        assertStatementCount(STATEMENTS_PER_PAGE, () -> itemService.getItemsOnSale(SECOND_PAGE).getContent());
+    }
+
+    @Test
+    @DisplayName("Should load recent and best-selling items with a fixed statement count")
+    void testRecentAndBestSelling() {
+        assertStatementCount(STATEMENTS_PER_PAGE,
+                () -> itemService.getRecentlyAddedItems(SECOND_PAGE).getContent());
+        assertStatementCount(STATEMENTS_PER_PAGE,
+                () -> itemService.getBestSellingItems(SECOND_PAGE).getContent());
+    }
+
+    @Test
+    @DisplayName("Should load category and price range items with a fixed statement count")
+    void testCategoryAndPriceRange() {
+        assertStatementCount(STATEMENTS_PER_PAGE,
+                () -> itemService.getItemsByCategory("Books", SECOND_PAGE).getContent());
+        assertStatementCount(STATEMENTS_PER_PAGE, () -> itemService
+                .getItemsByPriceRange(BigDecimal.ONE, BigDecimal.valueOf(100), SECOND_PAGE).getContent());
+    }
+
+    @Test
+    @DisplayName("Should round and clamp price bounds from the database like the price index does")
+    void testPriceBoundsWithoutIndex() {
+        BigDecimal huge = new BigDecimal("1E+30");
+        assertThat(itemService.getItemsByPriceRange(huge.negate(), huge, SECOND_PAGE).getTotalElements())
+                .isEqualTo(100);
+        assertThat(itemService.getItemsByPriceRange(huge.negate(), huge, null, 20).getContent()).hasSize(20);
+
+        // Items cost 20.00; half-up rounding would have let both sub-cent bounds match them
+        assertThat(itemService.getItemsByPriceRange(new BigDecimal("20.001"), huge, SECOND_PAGE)
+                .getTotalElements()).isZero();
+        assertThat(itemService.getItemsByPriceRange(BigDecimal.ZERO, new BigDecimal("19.995"), null, 20)
+                .getContent()).isEmpty();
+        assertThat(itemService.getItemsByPriceRange(new BigDecimal("19.995"), new BigDecimal("20.004"), SECOND_PAGE)
+                .getTotalElements()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should load search results with a fixed statement count")
+    void testSearch() {
+        assertStatementCount(STATEMENTS_PER_PAGE, () -> itemService.searchItems("novel", SECOND_PAGE).getContent());
+    }
+
+    @Test
+    @DisplayName("Should load storefront items with a fixed statement count")
+    void testStorefrontItems() {
+        assertStatementCount(STATEMENTS_PER_PAGE,
+                () -> itemService.getStorefrontItems(storefrontId, false, SECOND_PAGE).getContent());
+    }
+
+    @Test
+    @DisplayName("Should load cursor pages without a count query")
+    void testCursorPage() {
+        assertStatementCount(STATEMENTS_PER_SLICE, () -> itemService.getRecentlyAddedItems(null, 20).getContent());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    @DisplayName("Should serve snapshot feed pages without touching the database")
+    void testSnapshotFeedPage() {
+        itemFeedSnapshotService.refreshAll();
+        entityManager.clear();
+
+        assertStatementCount(0, () -> itemService.getFeaturedItems(
+                PageRequest.of(1, 20, ItemFeedSnapshotService.Feed.FEATURED.getDefaultSort())).getContent());
+        assertStatementCount(0, () -> itemService.getRecentlyAddedItems(SECOND_PAGE).getContent());
+    }
+
+    @Test
+    @DisplayName("Should version storefront items with a single statement")
+    void testStorefrontItemsVersion() {
+        statistics.clear();
+        ContentVersion version = itemService.getStorefrontItemsVersion(storefrontId, true, SECOND_PAGE).orElseThrow();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(itemService.getStorefrontItemsVersion(storefrontId, true, SECOND_PAGE).orElseThrow().getETag())
+                .isEqualTo(version.getETag());
+        assertThat(itemService.getStorefrontItemsVersion(storefrontId, true, PageRequest.of(2, 20)).orElseThrow()
+                .getETag()).isNotEqualTo(version.getETag());
+        assertThat(itemService.getStorefrontItemsVersion(-1L, true, SECOND_PAGE)).isEmpty();
+
+        // Test transactions never commit, so deliver the change event directly
+        Item item = itemRepository.findBySku("FETCH-0").orElseThrow();
+        item.setActive(false);
+        itemRepository.saveAndFlush(item);
+        listVersionTracker.onItemChanged(new ItemChangedEvent(item));
+        entityManager.clear();
+
+        assertThat(itemService.getStorefrontItemsVersion(storefrontId, true, SECOND_PAGE).orElseThrow().getETag())
+                .isNotEqualTo(version.getETag());
+    }
+
+    @Test
+    @DisplayName("Should move item and storefront versions on image edits and item count changes")
+    void testVersionsFollowUntrackedChanges() {
+        User owner = new User();
+        owner.setFirstName("Fetch");
+        owner.setLastName("Owner");
+        owner.setEmail("owner@fetch.test");
+        owner.setPassword("fetch-password");
+        owner.setRole(UserRole.SELLER);
+        entityManager.persist(owner);
+        SellerProfile sellerProfile = new SellerProfile();
+        sellerProfile.setUser(owner);
+        sellerProfile.setShopName("Fetch Shop");
+        entityManager.persist(sellerProfile);
+        storefrontRepository.findById(storefrontId).orElseThrow().setSellerProfile(sellerProfile);
+        entityManager.flush();
+        entityManager.clear();
+
+        Long itemId = itemRepository.findBySku("FETCH-0").orElseThrow().getId();
+        String itemETag = itemService.getItemVersion(itemId).orElseThrow().getETag();
+        itemService.removeItemImage(itemId, "https://img/0/back.jpg", owner);
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(itemService.getItemVersion(itemId).orElseThrow().getETag()).isNotEqualTo(itemETag);
+
+        Object storefrontVersion = storefrontRepository.findVersionById(storefrontId).orElseThrow().get(0);
+        itemService.deleteItem(itemId, owner);
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(storefrontRepository.findVersionById(storefrontId).orElseThrow().get(0))
+                .isNotEqualTo(storefrontVersion);
+    }
+
+    private void assertStatementCount(long expected, Supplier<List<?>> request) {
+        statistics.clear();
+
+        List<?> content = request.get();
+
+        assertThat(content).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,147 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.dto.item.ItemImportResponse;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.SellerProfile;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.enums.UserRole;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.service.ItemImportService;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test class for bulk item import
+ */
+@DataJpaTest(properties = { "spring.jpa.show-sql=false", "items.import.batch-size=2" })
+@Import(ItemImportService.class)
+@ImportAutoConfiguration({ ValidationAutoConfiguration.class, JacksonAutoConfiguration.class })
+@DisplayName("ItemImportService Tests")
+public class ItemImportServiceTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private Long storefrontId;
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser("owner@example.com");
+        SellerProfile sellerProfile = new SellerProfile();
+        sellerProfile.setUser(owner);
+        sellerProfile.setShopName("Import Shop");
+        entityManager.persist(sellerProfile);
+
+        Storefront storefront = new Storefront();
+        storefront.setStoreName("Import Store");
+        storefront.setSellerProfile(sellerProfile);
+        entityManager.persist(storefront);
+        storefrontId = storefront.getId();
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should import CSV rows across batches and report invalid rows and duplicate SKUs")
+    void testCsvImport() {
+        String csv = """
+                itemName,sku,price,stockQuantity,category,imageUrls
+                "Lamp, brass",CSV-1,19.99,5,Home,https://img/1a.jpg|https://img/1b.jpg
+                Chair,CSV-2,49.00,2,Home,
+                Table,CSV-1,99.00,1,Home,
+                ,CSV-4,5.00,1,Home,
+                Rug,CSV-5,abc,1,Home,
+                """;
+
+        ItemImportResponse response = itemImportService.importItems(storefrontId, stream(csv),
+                ItemImportService.Format.CSV, owner);
+
+        assertThat(response.getTotalRows()).isEqualTo(5);
+        assertThat(response.getImportedCount()).isEqualTo(2);
+        assertThat(response.getFailedCount()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(ItemImportResponse.RowError::getRow).containsExactlyInAnyOrder(3L,
+                4L, 5L);
+
+        entityManager.clear();
+        Item lamp = itemRepository.findBySku("CSV-1").orElseThrow();
+        assertThat(lamp.getItemName()).isEqualTo("Lamp, brass");
+        assertThat(lamp.getPrice()).isEqualTo(Money.ofMinor(1999));
+        assertThat(lamp.getImageUrls()).containsExactly("https://img/1a.jpg", "https://img/1b.jpg");
+        assertThat(lamp.getPrimaryImageUrl()).isEqualTo("https://img/1a.jpg");
+        assertThat(lamp.getStorefront().getId()).isEqualTo(storefrontId);
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON lines and generate missing SKUs")
+    void testNdjsonImport() {
+        String ndjson = """
+                {"itemName":"Mug","price":8.50,"stockQuantity":20,"tags":"kitchen"}
+
+                {"itemName":"Bowl","sku":"ND-2","price":12,"stockQuantity":4}
+                {"itemName":
+                """;
+
+        ItemImportResponse response = itemImportService.importItems(storefrontId, stream(ndjson),
+                ItemImportService.Format.NDJSON, owner);
+
+        assertThat(response.getTotalRows()).isEqualTo(3);
+        assertThat(response.getImportedCount()).isEqualTo(2);
+        assertThat(response.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).startsWith("Invalid JSON"));
+        assertThat(itemRepository.findBySku("ND-2")).isPresent();
+        assertThat(itemRepository.findAll()).extracting(Item::getSku).allMatch(sku -> sku != null && !sku.isBlank());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown CSV columns and foreign storefronts")
+    void testRejectedImports() {
+        assertThatThrownBy(() -> itemImportService.importItems(storefrontId, stream("itemName,colour\nMug,red\n"),
+                ItemImportService.Format.CSV, owner))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("colour");
+
+        User stranger = createUser("stranger@example.com");
+        assertThatThrownBy(() -> itemImportService.importItems(storefrontId, stream("itemName\nMug\n"),
+                ItemImportService.Format.CSV, stranger))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(itemRepository.count()).isZero();
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setFirstName("Sam");
+        user.setLastName("Seller");
+        user.setEmail(email);
+        user.setPassword("password123");
+        user.setRole(UserRole.SELLER);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.service.ItemLeaderboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the top-rated items leaderboard
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ItemLeaderboardService Tests")
+public class ItemLeaderboardServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ItemLeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardService = new ItemLeaderboardService(jdbcTemplate);
+        ReflectionTestUtils.setField(leaderboardService, "priorWeight", 10.0);
+        ReflectionTestUtils.setField(leaderboardService, "minReviews", 1);
+    }
+
+    @Test
+    @DisplayName("Should report no result before the leaderboard is built")
+    void testQueryBeforeBuild() {
+        assertThat(leaderboardService.getTopRated(0, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank a well-reviewed 4.8 above a single 5-star review")
+    void testBayesianRanking() {
+        loadLeaderboard(item(1L, 1L, 5.0, 1), item(2L, 1L, 4.8, 2_000), item(3L, 2L, 4.5, 40),
+                item(4L, 2L, 0.0, 0));
+
+        ItemLeaderboardService.LeaderboardHits hits = leaderboardService.getTopRated(0, 10).orElseThrow();
+        assertThat(hits.getItemIds()).containsExactly(2L, 3L, 1L);
+        assertThat(hits.getTotalHits()).isEqualTo(3);
+        assertThat(leaderboardService.getTopRated(1, 1).orElseThrow().getItemIds()).containsExactly(3L);
+        assertThat(leaderboardService.getTopRated(2L, 0, 10).orElseThrow().getItemIds()).containsExactly(3L);
+        assertThat(leaderboardService.getTopRated(99L, 0, 10).orElseThrow().getTotalHits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should re-rank items as reviews arrive and drop deactivated ones")
+    void testIncrementalUpdates() {
+        Item newcomer = item(1L, 1L, 5.0, 1);
+        Item veteran = item(2L, 1L, 4.6, 100);
+        loadLeaderboard(newcomer, veteran);
+        assertThat(leaderboardService.getTopRated(0, 10).orElseThrow().getItemIds()).containsExactly(2L, 1L);
+
+        for (int i = 0; i < 200; i++) {
+            newcomer.updateRating(5.0);
+        }
+        leaderboardService.onItemChanged(new ItemChangedEvent(newcomer));
+        assertThat(leaderboardService.getTopRated(0, 10).orElseThrow().getItemIds()).containsExactly(1L, 2L);
+
+        veteran.setActive(false);
+        leaderboardService.onItemsChanged(new ItemBatchChangedEvent(List.of(veteran)));
+        assertThat(leaderboardService.getTopRated(0, 10).orElseThrow().getItemIds()).containsExactly(1L);
+        assertThat(leaderboardService.getTopRated(1L, 0, 10).orElseThrow().getTotalHits()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadLeaderboard(Item... items) {
+        // The mocked database yields a 4.0 prior and no rows; the items arrive as change events
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn(4.0);
+        leaderboardService.rebuild();
+        for (Item item : items) {
+            leaderboardService.onItemChanged(new ItemChangedEvent(item));
+        }
+    }
+
+    private Item item(Long id, Long storefrontId, double averageRating, int totalReviews) {
+        Storefront storefront = new Storefront();
+        storefront.setId(storefrontId);
+
+        Item item = new Item();
+        item.setId(id);
+        item.setStorefront(storefront);
+        item.setAverageRating(averageRating);
+        item.setTotalReviews(totalReviews);
+        item.setActive(true);
+        return item;
+    }
+}
@@ -0,0 +1,133 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.service.ItemPriceIndex;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test class for the in-memory item price index
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ItemPriceIndex Tests")
+public class ItemPriceIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ItemPriceIndex itemPriceIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemPriceIndex = new ItemPriceIndex(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should report no result before the index is loaded")
+    void testQueryBeforeLoad() {
+        assertThat(itemPriceIndex.findByPriceRange(BigDecimal.ZERO, BigDecimal.TEN, 0, 20)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return items in range with inclusive bounds ordered by price then ID")
+    void testRangeQuery() {
+        loadIndex(item(1L, "19.99"), item(2L, "10.00"), item(3L, "25.00"), item(4L, "10.00"), item(5L, "9.99"));
+
+        ItemPriceIndex.PriceRangeHits hits = itemPriceIndex
+                .findByPriceRange(new BigDecimal("10"), new BigDecimal("25.00"), 0, 20).orElseThrow();
+
+        assertThat(hits.getTotalHits()).isEqualTo(4);
+        assertThat(hits.getItemIds()).containsExactly(2L, 4L, 1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should page through a range")
+    void testPaging() {
+        loadIndex(item(1L, "1.00"), item(2L, "2.00"), item(3L, "3.00"), item(4L, "4.00"), item(5L, "5.00"));
+
+        assertThat(itemPriceIndex.findByPriceRange(BigDecimal.ONE, BigDecimal.TEN, 2, 2).orElseThrow().getItemIds())
+                .containsExactly(3L, 4L);
+        ItemPriceIndex.PriceRangeHits pastEnd = itemPriceIndex
+                .findByPriceRange(BigDecimal.ONE, BigDecimal.TEN, 10, 2).orElseThrow();
+        assertThat(pastEnd.getTotalHits()).isEqualTo(5);
+        assertThat(pastEnd.getItemIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should move repriced items and drop deactivated ones")
+    void testIncrementalUpdates() {
+        Item cheap = item(1L, "5.00");
+        Item pricey = item(2L, "50.00");
+        loadIndex(cheap, pricey);
+
+        cheap.setPrice(Money.of(new BigDecimal("75.00")));
+        itemPriceIndex.onItemChanged(new ItemChangedEvent(cheap));
+        assertThat(itemPriceIndex.findByPriceRange(BigDecimal.ZERO, new BigDecimal("100"), 0, 20).orElseThrow()
+                .getItemIds()).containsExactly(2L, 1L);
+
+        pricey.setActive(false);
+        itemPriceIndex.onItemChanged(new ItemChangedEvent(pricey));
+        assertThat(itemPriceIndex.findByPriceRange(BigDecimal.ZERO, new BigDecimal("100"), 0, 20).orElseThrow()
+                .getItemIds()).containsExactly(1L);
+        assertThat(itemPriceIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should find items changed in bulk when they change again")
+    void testBatchThenSingleUpdates() {
+        Item first = item(1L, "5.00");
+        Item second = item(2L, "5.00");
+        Item third = item(3L, "20.00");
+        loadIndex();
+        itemPriceIndex.onItemsChanged(new ItemBatchChangedEvent(List.of(first, second, third)));
+
+        second.setPrice(Money.of(new BigDecimal("30.00")));
+        itemPriceIndex.onItemChanged(new ItemChangedEvent(second));
+        first.setActive(false);
+        itemPriceIndex.onItemChanged(new ItemChangedEvent(first));
+
+        assertThat(itemPriceIndex.findByPriceRange(BigDecimal.ZERO, new BigDecimal("100"), 0, 20).orElseThrow()
+                .getItemIds()).containsExactly(3L, 2L);
+        assertThat(itemPriceIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should clamp bounds beyond the range of cents")
+    void testHugeBounds() {
+        loadIndex(item(1L, "5.00"), item(2L, "50.00"));
+
+        assertThat(itemPriceIndex.findByPriceRange(new BigDecimal("-1E+30"), new BigDecimal("1E+30"), 0, 20)
+                .orElseThrow().getItemIds()).containsExactly(1L, 2L);
+        assertThat(itemPriceIndex.findByPriceRange(new BigDecimal("1E+999999"), new BigDecimal("1E+999999"), 0, 20)
+                .orElseThrow().getTotalHits()).isZero();
+    }
+
+    private void loadIndex(Item... items) {
+        // The mocked database returns no rows; the items arrive as change events
+        itemPriceIndex.rebuildIndex();
+        for (Item item : items) {
+            itemPriceIndex.onItemChanged(new ItemChangedEvent(item));
+        }
+    }
+
+    private Item item(Long id, String price) {
+        Item item = new Item();
+        item.setId(id);
+        item.setPrice(Money.of(new BigDecimal(price)));
+        item.setActive(true);
+        return item;
+    }
+}
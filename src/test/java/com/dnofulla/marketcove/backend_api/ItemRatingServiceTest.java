@@ -0,0 +1,160 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.SellerProfile;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.enums.UserRole;
+import com.dnofulla.marketcove.backend_api.service.ItemRatingService;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test class for write-behind rating aggregation
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(ItemRatingService.class)
+@DisplayName("ItemRatingService Tests")
+public class ItemRatingServiceTest {
+
+    @Autowired
+    private ItemRatingService itemRatingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private TaskScheduler taskScheduler;
+
+    private Storefront storefront;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setFirstName("Sam");
+        user.setLastName("Seller");
+        user.setEmail("seller@example.com");
+        user.setPassword("password123");
+        user.setRole(UserRole.SELLER);
+        entityManager.persist(user);
+
+        SellerProfile sellerProfile = new SellerProfile();
+        sellerProfile.setUser(user);
+        sellerProfile.setShopName("Sam's Shop");
+        entityManager.persist(sellerProfile);
+
+        storefront = new Storefront();
+        storefront.setStoreName("Sam's Store");
+        storefront.setSellerProfile(sellerProfile);
+        entityManager.persist(storefront);
+    }
+
+    @Test
+    @DisplayName("Should roll buffered ratings up to the item, storefront and seller profile")
+    void testRollUp() {
+        Long lamp = createItem("LAMP");
+        Long desk = createItem("DESK");
+
+        itemRatingService.recordRating(lamp, 5);
+        itemRatingService.recordRating(lamp, 4);
+        itemRatingService.recordRating(desk, 3);
+        assertThat(itemRatingService.getPendingRatingCount(lamp)).isEqualTo(2);
+        assertThat(ratingOf("items", lamp).get("total_reviews")).isEqualTo(0);
+
+        itemRatingService.flush();
+
+        assertRating(ratingOf("items", lamp), 9.0, 2, 4.5);
+        assertRating(ratingOf("items", desk), 3.0, 1, 3.0);
+        assertRating(ratingOf("storefronts", storefront.getId()), 12.0, 3, 4.0);
+        assertRating(ratingOf("seller_profiles", storefront.getSellerProfile().getId()), 12.0, 3, 4.0);
+        assertThat(itemRatingService.getPendingRatingCount(lamp)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should derive the rating sum of rows that only have a running average")
+    void testLegacyRow() {
+        Long lamp = createItem("LAMP");
+        jdbcTemplate.update(
+                "UPDATE items SET rating_sum = NULL, average_rating = 4.0, total_reviews = 10 WHERE id = ?", lamp);
+
+        itemRatingService.recordRating(lamp, 4.5);
+        itemRatingService.flush();
+
+        assertRating(ratingOf("items", lamp), 44.5, 11, 44.5 / 11);
+    }
+
+    @Test
+    @DisplayName("Should not lose ratings recorded concurrently")
+    void testConcurrentRatings() throws InterruptedException {
+        Long lamp = createItem("LAMP");
+        int threads = 16;
+        int ratingsPerThread = 1_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < ratingsPerThread; i++) {
+                    itemRatingService.recordRating(lamp, i % 2 == 0 ? 5 : 2);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        itemRatingService.flush();
+
+        int total = threads * ratingsPerThread;
+        assertRating(ratingOf("items", lamp), total * 3.5, total, 3.5);
+        assertRating(ratingOf("storefronts", storefront.getId()), total * 3.5, total, 3.5);
+    }
+
+    @Test
+    @DisplayName("Should reject ratings outside one to five stars")
+    void testInvalidRating() {
+        assertThatThrownBy(() -> itemRatingService.recordRating(1L, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> itemRatingService.recordRating(1L, 5.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Long createItem(String sku) {
+        Item item = new Item();
+        item.setItemName("Item " + sku);
+        item.setSku(sku);
+        item.setPrice(Money.ofMinor(1000));
+        item.setStockQuantity(1);
+        item.setStorefront(storefront);
+        entityManager.persist(item);
+        entityManager.flush();
+        return item.getId();
+    }
+
+    private Map<String, Object> ratingOf(String table, Long id) {
+        return jdbcTemplate.queryForMap(
+                "SELECT rating_sum, total_reviews, average_rating FROM " + table + " WHERE id = ?", id);
+    }
+
+    private void assertRating(Map<String, Object> row, double sum, int count, double average) {
+        assertThat(((Number) row.get("rating_sum")).doubleValue()).isCloseTo(sum, within(1e-6));
+        assertThat(((Number) row.get("total_reviews")).intValue()).isEqualTo(count);
+        assertThat(((Number) row.get("average_rating")).doubleValue()).isCloseTo(average, within(1e-6));
+    }
+}
@@ -0,0 +1,160 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.StorefrontChangedEvent;
+import com.dnofulla.marketcove.backend_api.service.ItemResponseCache;
+import com.dnofulla.marketcove.backend_api.service.ItemResponseMapper;
+import com.dnofulla.marketcove.backend_api.service.ItemViewCountService;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the serialized item response cache
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ItemResponseCache Tests")
+public class ItemResponseCacheTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Mock
+    private ItemViewCountService itemViewCountService;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ItemResponseMapper itemResponseMapper;
+    private ItemResponseCache itemResponseCache;
+    private Storefront storefront;
+
+    @BeforeEach
+    void setUp() {
+        itemResponseMapper = spy(new ItemResponseMapper(itemViewCountService));
+        itemResponseCache = new ItemResponseCache(itemResponseMapper, itemViewCountService, objectMapper);
+        ReflectionTestUtils.setField(itemResponseCache, "maxBytes", 1_000_000L);
+
+        storefront = new Storefront();
+        storefront.setId(7L);
+        storefront.setStoreName("Lamp Shop");
+    }
+
+    @Test
+    @DisplayName("Should write the same JSON as the full response, with live statistics")
+    void testSameJsonAsResponse() throws Exception {
+        Item item = createItem(1L);
+        when(itemViewCountService.getPendingViews(1L)).thenReturn(3L);
+
+        assertThat(json(item)).isEqualTo(
+                objectMapper.readTree(objectMapper.writeValueAsBytes(itemResponseMapper.convertToResponse(item))));
+
+        item.setViewCount(40);
+        item.setTotalSales(5);
+        item.setAverageRating(4.5);
+        JsonNode cached = json(item);
+
+        assertThat(cached.get("viewCount").asInt()).isEqualTo(43);
+        assertThat(cached.get("totalSales").asInt()).isEqualTo(5);
+        assertThat(cached.get("averageRating").asDouble()).isEqualTo(4.5);
+        assertThat(cached.get("storefrontName").asText()).isEqualTo("Lamp Shop");
+        // Once for the cache, once for the expected JSON above
+        verify(itemResponseMapper, times(2)).convertToResponse(item);
+    }
+
+    @Test
+    @DisplayName("Should serialize again after an update and drop changed items")
+    void testInvalidation() throws Exception {
+        Item item = createItem(1L);
+        json(item);
+
+        item.setItemName("Desk Lamp");
+        item.setUpdatedAt(UPDATED_AT.plusMinutes(1));
+        assertThat(json(item).get("itemName").asText()).isEqualTo("Desk Lamp");
+        verify(itemResponseMapper, times(2)).convertToResponse(item);
+
+        itemResponseCache.onItemChanged(new ItemChangedEvent(item));
+        assertThat(itemResponseCache.getCachedBytes()).isZero();
+
+        json(item);
+        itemResponseCache.onStorefrontChanged(new StorefrontChangedEvent(storefront));
+        assertThat(itemResponseCache.getCachedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache a response loaded before a concurrent invalidation")
+    void testStaleReadAfterInvalidation() throws Exception {
+        Item item = createItem(1L);
+
+        // Loaded before the change committed, served after its event dropped the entry
+        long stamp = itemResponseCache.stamp();
+        itemResponseCache.onItemChanged(new ItemChangedEvent(item));
+        assertThat(itemResponseCache.get(item, stamp)).isNotNull();
+        assertThat(itemResponseCache.getCachedBytes()).isZero();
+
+        // Same for a storefront rename, even though the item had no entry to drop
+        stamp = itemResponseCache.stamp();
+        itemResponseCache.onStorefrontChanged(new StorefrontChangedEvent(storefront));
+        itemResponseCache.get(item, stamp);
+        assertThat(itemResponseCache.getCachedBytes()).isZero();
+
+        // Reads that started after the change are cached again
+        json(item);
+        assertThat(itemResponseCache.getCachedBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used entries beyond the byte budget")
+    void testSizeBoundedEviction() throws Exception {
+        Item first = createItem(1L);
+        json(first);
+        long entryBytes = itemResponseCache.getCachedBytes();
+        ReflectionTestUtils.setField(itemResponseCache, "maxBytes", entryBytes * 5);
+
+        Item hot = createItem(2L);
+        for (long id = 3; id <= 20; id++) {
+            json(hot);
+            json(createItem(id));
+        }
+
+        assertThat(itemResponseCache.getCachedBytes()).isLessThanOrEqualTo(entryBytes * 5);
+        verify(itemResponseMapper, times(1)).convertToResponse(hot);
+
+        json(first);
+        verify(itemResponseMapper, times(2)).convertToResponse(first);
+    }
+
+    private JsonNode json(Item item) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsBytes(itemResponseCache.get(item, itemResponseCache.stamp())));
+    }
+
+    private Item createItem(Long id) {
+        Item item = new Item();
+        item.setId(id);
+        item.setItemName("Lamp " + id);
+        item.setSku("LAMP-" + id);
+        item.setPrice(Money.of(new BigDecimal("19.99")));
+        item.setCompareAtPrice(Money.of(new BigDecimal("24.99")));
+        item.setStockQuantity(3);
+        item.setLowStockThreshold(5);
+        item.setImageUrls(List.of("https://images.example.com/lamp.png"));
+        item.setStorefront(storefront);
+        item.setCreatedAt(UPDATED_AT);
+        item.setUpdatedAt(UPDATED_AT);
+        return item;
+    }
+}
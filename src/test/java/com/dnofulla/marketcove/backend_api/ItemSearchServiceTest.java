@@ -0,0 +1,126 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.service.ItemSearchService;
+import com.dnofulla.marketcove.backend_api.service.PagedEntityScanner;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the in-memory item search index
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ItemSearchService Tests")
+public class ItemSearchServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchService itemSearchService;
+
+    @BeforeEach
+    void setUp() {
+        itemSearchService = new ItemSearchService(itemRepository, new PagedEntityScanner(mock(EntityManager.class)));
+        ReflectionTestUtils.setField(itemSearchService, "rebuildBatchSize", 100);
+    }
+
+    @Test
+    @DisplayName("Should report no result before the index is built")
+    void testSearchBeforeBuild() {
+        assertThat(itemSearchService.search("headphones", 0, 20)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches")
+    void testRanking() {
+        buildIndex(
+                createItem(1L, "Wireless Headphones", "Great sound", "audio", "Electronics"),
+                createItem(2L, "Phone Case", "Works well with headphones nearby", "case", "Accessories"),
+                createItem(3L, "Coffee Mug", "Ceramic", "kitchen", "Home"));
+
+        ItemSearchService.SearchHits hits = itemSearchService.search("headphones", 0, 20).orElseThrow();
+
+        assertThat(hits.getTotalHits()).isEqualTo(2);
+        assertThat(hits.getItemIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should match tags and category case-insensitively")
+    void testTagAndCategoryMatch() {
+        buildIndex(
+                createItem(1L, "Desk Lamp", "LED lamp", "lighting, office", "Home"),
+                createItem(2L, "Notebook", "Paper", "office, stationery", "Stationery"));
+
+        assertThat(itemSearchService.search("OFFICE", 0, 20).orElseThrow().getItemIds())
+                .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(itemSearchService.search("stationery", 0, 20).orElseThrow().getItemIds())
+                .containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should page through ranked hits")
+    void testPaging() {
+        buildIndex(
+                createItem(1L, "Red Shirt", null, null, null),
+                createItem(2L, "Red Hat", null, null, null),
+                createItem(3L, "Red Scarf", null, null, null));
+
+        ItemSearchService.SearchHits secondPage = itemSearchService.search("red", 2, 2).orElseThrow();
+
+        assertThat(secondPage.getTotalHits()).isEqualTo(3);
+        assertThat(secondPage.getItemIds()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should apply item changes incrementally")
+    void testIncrementalUpdates() {
+        Item lamp = createItem(1L, "Desk Lamp", null, null, null);
+        buildIndex(lamp);
+
+        Item chair = createItem(2L, "Desk Chair", null, null, null);
+        itemSearchService.onItemChanged(new ItemChangedEvent(chair));
+        assertThat(itemSearchService.search("desk", 0, 20).orElseThrow().getItemIds())
+                .containsExactlyInAnyOrder(1L, 2L);
+
+        lamp.setItemName("Floor Lamp");
+        itemSearchService.onItemChanged(new ItemChangedEvent(lamp));
+        assertThat(itemSearchService.search("desk", 0, 20).orElseThrow().getItemIds()).containsExactly(2L);
+
+        chair.setActive(false);
+        itemSearchService.onItemChanged(new ItemChangedEvent(chair));
+        assertThat(itemSearchService.search("desk", 0, 20).orElseThrow().getTotalHits()).isZero();
+    }
+
+    private void buildIndex(Item... items) {
+        when(itemRepository.findByIsActive(eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(items)));
+        itemSearchService.rebuildIndex();
+    }
+
+    private Item createItem(Long id, String name, String description, String tags, String category) {
+        Item item = new Item();
+        item.setId(id);
+        item.setItemName(name);
+        item.setItemDescription(description);
+        item.setTags(tags);
+        item.setCategory(category);
+        item.setActive(true);
+        return item;
+    }
+}
@@ -0,0 +1,83 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.service.ItemFacetService;
+import com.dnofulla.marketcove.backend_api.service.ItemFeedSnapshotService;
+import com.dnofulla.marketcove.backend_api.service.ItemLeaderboardService;
+import com.dnofulla.marketcove.backend_api.service.ItemPriceIndex;
+import com.dnofulla.marketcove.backend_api.service.ItemResponseCache;
+import com.dnofulla.marketcove.backend_api.service.ItemResponseMapper;
+import com.dnofulla.marketcove.backend_api.service.ItemSearchService;
+import com.dnofulla.marketcove.backend_api.service.ItemService;
+import com.dnofulla.marketcove.backend_api.service.ItemSimilarityService;
+import com.dnofulla.marketcove.backend_api.service.ItemTagIndex;
+import com.dnofulla.marketcove.backend_api.service.ItemViewCountService;
+import com.dnofulla.marketcove.backend_api.service.ListVersionTracker;
+import com.dnofulla.marketcove.backend_api.service.OutboxService;
+import com.dnofulla.marketcove.backend_api.service.S3ImageService;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.TaskScheduler;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Real item service with its response mapping, for JPA slice tests.
+ * Collaborators outside the database (storage, search and in-memory indexes, outbox,
+ * scheduler) are Mockito mocks, so the tests only run the SQL the service issues itself.
+ */
+@TestConfiguration
+@Import({ItemService.class, ItemResponseMapper.class, ItemResponseCache.class, ItemFeedSnapshotService.class,
+        ListVersionTracker.class})
+public class ItemServiceTestConfiguration {
+
+    @Bean
+    public S3ImageService s3ImageService() {
+        return mock(S3ImageService.class);
+    }
+
+    @Bean
+    public ItemViewCountService itemViewCountService() {
+        return mock(ItemViewCountService.class);
+    }
+
+    @Bean
+    public ItemSearchService itemSearchService() {
+        return mock(ItemSearchService.class);
+    }
+
+    @Bean
+    public ItemPriceIndex itemPriceIndex() {
+        return mock(ItemPriceIndex.class);
+    }
+
+    @Bean
+    public ItemFacetService itemFacetService() {
+        return mock(ItemFacetService.class);
+    }
+
+    @Bean
+    public ItemTagIndex itemTagIndex() {
+        return mock(ItemTagIndex.class);
+    }
+
+    @Bean
+    public ItemSimilarityService itemSimilarityService() {
+        return mock(ItemSimilarityService.class);
+    }
+
+    @Bean
+    public ItemLeaderboardService itemLeaderboardService() {
+        return mock(ItemLeaderboardService.class);
+    }
+
+    @Bean
+    public OutboxService outboxService() {
+        return mock(OutboxService.class);
+    }
+
+    @Bean
+    public TaskScheduler taskScheduler() {
+        return mock(TaskScheduler.class);
+    }
+}
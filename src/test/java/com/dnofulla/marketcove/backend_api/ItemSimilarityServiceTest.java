@@ -0,0 +1,168 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.service.ItemSimilarityService;
+import com.dnofulla.marketcove.backend_api.service.PagedEntityScanner;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the precomputed similar items lists
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ItemSimilarityService Tests")
+public class ItemSimilarityServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSimilarityService itemSimilarityService;
+
+    @BeforeEach
+    void setUp() {
+        itemSimilarityService = new ItemSimilarityService(itemRepository, new PagedEntityScanner(mock(EntityManager.class)));
+        ReflectionTestUtils.setField(itemSimilarityService, "topK", 12);
+        ReflectionTestUtils.setField(itemSimilarityService, "maxCandidates", 500);
+        ReflectionTestUtils.setField(itemSimilarityService, "rebuildBatchSize", 100);
+    }
+
+    @Test
+    @DisplayName("Should report no result before the index is built")
+    void testQueryBeforeBuild() {
+        assertThat(itemSimilarityService.findSimilar(1L, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank items sharing distinctive terms first and leave out unrelated items")
+    void testSimilarItems() {
+        buildIndex(
+                item(1L, "Wireless Headphones", "Over-ear wireless headphones", "audio, wireless", "Electronics"),
+                item(2L, "Wireless Headphones Pro", "Wireless headphones with noise cancelling", "audio, wireless", "Electronics"),
+                item(3L, "USB Cable", "Charging cable", "accessories", "Electronics"),
+                item(4L, "Cotton T-Shirt", "Soft cotton tee", "apparel", "Clothing"));
+
+        assertThat(itemSimilarityService.findSimilar(1L, 10).orElseThrow()).containsExactly(2L, 3L);
+        assertThat(itemSimilarityService.findSimilar(1L, 1).orElseThrow()).containsExactly(2L);
+        assertThat(itemSimilarityService.findSimilar(4L, 10).orElseThrow()).isEmpty();
+        assertThat(itemSimilarityService.findSimilar(99L, 10).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow changed and deactivated items")
+    void testIncrementalUpdates() {
+        Item headphones = item(1L, "Wireless Headphones", "Over-ear wireless headphones", "audio, wireless", "Electronics");
+        Item shirt = item(2L, "Cotton T-Shirt", "Soft cotton tee", "apparel", "Clothing");
+        buildIndex(headphones, shirt);
+        assertThat(itemSimilarityService.findSimilar(1L, 10).orElseThrow()).isEmpty();
+
+        shirt.setItemName("Wireless Earbuds");
+        shirt.setItemDescription("In-ear wireless earbuds");
+        shirt.setTags("audio, wireless");
+        shirt.setCategory("Electronics");
+        itemSimilarityService.onItemChanged(new ItemChangedEvent(shirt));
+        assertThat(itemSimilarityService.findSimilar(1L, 10).orElseThrow()).containsExactly(2L);
+        assertThat(itemSimilarityService.findSimilar(2L, 10).orElseThrow()).containsExactly(1L);
+
+        shirt.setActive(false);
+        itemSimilarityService.onItemsChanged(new ItemBatchChangedEvent(List.of(shirt)));
+        assertThat(itemSimilarityService.findSimilar(1L, 10).orElseThrow()).isEmpty();
+        assertThat(itemSimilarityService.findSimilar(2L, 10).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the lists of items whose terms did not change")
+    void testUnchangedItemsSkipped() {
+        Item headphones = item(1L, "Wireless Headphones", "Over-ear wireless headphones", "audio, wireless", "Electronics");
+        Item earbuds = item(2L, "Wireless Earbuds", "In-ear wireless earbuds", "audio, wireless", "Electronics");
+        buildIndex(headphones, earbuds);
+        Object listBefore = neighboursOf(1L);
+
+        // Price, stock and casing of tags do not change the terms
+        headphones.setStockQuantity(3);
+        headphones.setTags("Audio, Wireless");
+        itemSimilarityService.onItemsChanged(new ItemBatchChangedEvent(List.of(headphones)));
+        assertThat(neighboursOf(1L)).isSameAs(listBefore);
+
+        headphones.setItemDescription("Closed-back wireless headphones");
+        itemSimilarityService.onItemsChanged(new ItemBatchChangedEvent(List.of(headphones)));
+        assertThat(neighboursOf(1L)).isNotSameAs(listBefore);
+        assertThat(itemSimilarityService.findSimilar(1L, 10).orElseThrow()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should index item IDs beyond the int range")
+    void testLongIds() {
+        long base = 1L << 40;
+        buildIndex(
+                item(base + 1, "Wireless Headphones", "Over-ear wireless headphones", "audio, wireless", "Electronics"),
+                item(base + 2, "Wireless Earbuds", "In-ear wireless earbuds", "audio, wireless", "Electronics"));
+
+        assertThat(itemSimilarityService.findSimilar(base + 1, 10).orElseThrow()).containsExactly(base + 2);
+        assertThat(itemSimilarityService.findSimilar(1L, 10).orElseThrow()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve similar items in well under a millisecond")
+    void testLookupLatency() {
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            items.add(item(id, "Product w" + (id % 97) + " w" + (id % 89), "Made of m" + (id % 31),
+                    "tag" + (id % 50) + ", tag" + (id % 7 + 50), "Category " + (id % 20)));
+        }
+        buildIndex(items.toArray(Item[]::new));
+
+        for (int i = 0; i < 10_000; i++) {
+            itemSimilarityService.findSimilar((long) (i % 20_000) + 1, 12);
+        }
+        int runs = 10_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            itemSimilarityService.findSimilar((long) (i * 7 % 20_000) + 1, 12);
+        }
+        double averageMs = (System.nanoTime() - start) / 1_000_000.0 / runs;
+
+        assertThat(itemSimilarityService.findSimilar(1L, 12).orElseThrow()).hasSize(12);
+        assertThat(averageMs).isLessThan(0.1);
+    }
+
+    private void buildIndex(Item... items) {
+        when(itemRepository.findByIsActive(eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(items)));
+        itemSimilarityService.rebuildIndex();
+    }
+
+    private Object neighboursOf(Long itemId) {
+        Object index = ReflectionTestUtils.getField(itemSimilarityService, "index");
+        return ((Map<?, ?>) ReflectionTestUtils.getField(index, "neighbours")).get(itemId);
+    }
+
+    private Item item(Long id, String name, String description, String tags, String category) {
+        Item item = new Item();
+        item.setId(id);
+        item.setItemName(name);
+        item.setItemDescription(description);
+        item.setTags(tags);
+        item.setCategory(category);
+        item.setActive(true);
+        return item;
+    }
+}
@@ -0,0 +1,126 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.exception.InsufficientStockException;
+import com.dnofulla.marketcove.backend_api.service.ItemStockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Stress test for atomic stock decrements. Runs outside a test transaction so every
+ * buyer commits on its own connection, as concurrent requests would.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(ItemStockService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Item Stock Concurrency Tests")
+public class ItemStockConcurrencyTest {
+
+    private static final int BUYERS = 1_000;
+    private static final int INITIAL_STOCK = 100;
+
+    @Autowired
+    private ItemStockService itemStockService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long storefrontId;
+    private Long hotItemId;
+    private Long otherItemId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO storefronts (store_name, is_active, is_featured, created_at) "
+                + "VALUES ('Concurrency Store', TRUE, FALSE, CURRENT_TIMESTAMP)");
+        storefrontId = jdbcTemplate.queryForObject(
+                "SELECT id FROM storefronts WHERE store_name = 'Concurrency Store'", Long.class);
+        hotItemId = insertItem("HOT-1", INITIAL_STOCK);
+        otherItemId = insertItem("HOT-2", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM items WHERE storefront_id = ?", storefrontId);
+        jdbcTemplate.update("DELETE FROM storefronts WHERE id = ?", storefrontId);
+    }
+
+    @Test
+    @DisplayName("Should never oversell with 1,000 parallel buyers")
+    void testNoOversell() throws Exception {
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try {
+            List<Future<?>> buyers = new ArrayList<>(BUYERS);
+            for (int i = 0; i < BUYERS; i++) {
+                buyers.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        itemStockService.decrementStock(hotItemId, 1);
+                        sold.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> buyer : buyers) {
+                buyer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(sold.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(BUYERS - INITIAL_STOCK);
+        assertThat(stockOf(hotItemId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should roll back a multi-item decrement when one item is short")
+    void testAllOrNothing() {
+        assertThatThrownBy(() -> itemStockService.decrementStock(Map.of(hotItemId, 5, otherItemId, 2)))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining(String.valueOf(otherItemId));
+        assertThat(stockOf(hotItemId)).isEqualTo(INITIAL_STOCK);
+        assertThat(stockOf(otherItemId)).isEqualTo(1);
+
+        itemStockService.decrementStock(Map.of(hotItemId, 5, otherItemId, 1));
+        assertThat(stockOf(hotItemId)).isEqualTo(INITIAL_STOCK - 5);
+        assertThat(stockOf(otherItemId)).isZero();
+    }
+
+    private Long insertItem(String sku, int stock) {
+        jdbcTemplate.update("INSERT INTO items (item_name, sku, price, stock_quantity, is_active, is_featured, "
+                + "requires_shipping, is_digital, storefront_id, created_at) "
+                + "VALUES (?, ?, 10.00, ?, TRUE, FALSE, TRUE, FALSE, ?, CURRENT_TIMESTAMP)",
+                "Item " + sku, sku, stock, storefrontId);
+        return jdbcTemplate.queryForObject("SELECT id FROM items WHERE sku = ?", Long.class, sku);
+    }
+
+    private Integer stockOf(Long itemId) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM items WHERE id = ?", Integer.class, itemId);
+    }
+}
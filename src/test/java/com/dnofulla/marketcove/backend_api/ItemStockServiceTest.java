@@ -0,0 +1,195 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.dto.item.BatchStockUpdateRequest;
+import com.dnofulla.marketcove.backend_api.dto.item.BatchStockUpdateResponse;
+import com.dnofulla.marketcove.backend_api.dto.item.BatchStockUpdateResponse.Status;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.SellerProfile;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.enums.UserRole;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemStockChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.StockLevelChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.service.ItemStockService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test class for batch stock updates
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(ItemStockService.class)
+@RecordApplicationEvents
+@DisplayName("ItemStockService Tests")
+public class ItemStockServiceTest {
+
+    private static final String INSERT_ITEM_SQL = "INSERT INTO items (item_name, sku, price, stock_quantity, "
+            + "low_stock_threshold, is_active, is_featured, requires_shipping, is_digital, storefront_id, created_at) "
+            + "VALUES (?, ?, 10.00, 0, 5, TRUE, FALSE, TRUE, FALSE, ?, ?)";
+
+    @Autowired
+    private ItemStockService itemStockService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private User owner;
+    private User otherOwner;
+    private Long storefrontId;
+    private Long otherStorefrontId;
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser("owner@example.com");
+        otherOwner = createUser("other@example.com");
+        storefrontId = createStorefront(owner);
+        otherStorefrontId = createStorefront(otherOwner);
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should update owned items by ID or SKU and report the rest")
+    void testMixedBatch() {
+        insertItems(storefrontId, "OWN-", 2);
+        insertItems(otherStorefrontId, "OTHER-", 1);
+        Long ownId = idOf("OWN-0");
+
+        BatchStockUpdateResponse response = itemStockService.updateStock(new BatchStockUpdateRequest(List.of(
+                new BatchStockUpdateRequest.Entry(ownId, null, 7),
+                new BatchStockUpdateRequest.Entry(null, "OWN-1", 3),
+                new BatchStockUpdateRequest.Entry(null, "OTHER-0", 9),
+                new BatchStockUpdateRequest.Entry(null, "NOPE", 1),
+                new BatchStockUpdateRequest.Entry(null, null, 1))), owner);
+
+        assertThat(response.getResults()).extracting(BatchStockUpdateResponse.Result::getStatus)
+                .containsExactly(Status.UPDATED, Status.UPDATED, Status.FORBIDDEN, Status.NOT_FOUND, Status.INVALID);
+        assertThat(response.getUpdatedCount()).isEqualTo(2);
+        assertThat(response.getFailedCount()).isEqualTo(3);
+        assertThat(stockOf("OWN-0")).isEqualTo(7);
+        assertThat(stockOf("OWN-1")).isEqualTo(3);
+        assertThat(stockOf("OTHER-0")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply 10,000 stock updates and publish their changes without reloading items")
+    void testLargeBatch() {
+        int count = 10_000;
+        insertItems(storefrontId, "BULK-", count);
+        List<BatchStockUpdateRequest.Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new BatchStockUpdateRequest.Entry(null, "BULK-" + i, i % 50));
+        }
+
+        BatchStockUpdateResponse response = itemStockService.updateStock(new BatchStockUpdateRequest(entries), owner);
+
+        assertThat(response.getUpdatedCount()).isEqualTo(count);
+        assertThat(stockOf("BULK-4321")).isEqualTo(4321 % 50);
+        assertThat(events.stream(ItemBatchChangedEvent.class)).isEmpty();
+        assertThat(events.stream(ItemStockChangedEvent.class)).singleElement()
+                .satisfies(event -> assertThat(event.getStockByItemId()).hasSize(count)
+                        .containsEntry(idOf("BULK-4321"), new ItemStockChangedEvent.Stock(4321 % 50, 5)));
+        // Every item starts out of stock; only the ones set to zero stay there
+        assertThat(events.stream(StockLevelChangedEvent.class)).hasSize(count - count / 50)
+                .allSatisfy(event -> assertThat(event.getOwnerUserId()).isEqualTo(owner.getId()));
+    }
+
+    @Test
+    @DisplayName("Should keep the low-stock flag in step with stock writes and list flagged items by storefront")
+    void testLowStockFlag() {
+        insertItems(storefrontId, "LOW-", 3);
+        insertItems(otherStorefrontId, "OTHER-", 1);
+        itemStockService.reconcileLowStock();
+        assertThat(lowStockOf("LOW-0")).isTrue();
+
+        itemStockService.updateStock(new BatchStockUpdateRequest(List.of(
+                new BatchStockUpdateRequest.Entry(null, "LOW-0", 9),
+                new BatchStockUpdateRequest.Entry(null, "LOW-1", 8),
+                new BatchStockUpdateRequest.Entry(null, "LOW-2", 5))), owner);
+        assertThat(lowStockOf("LOW-0")).isFalse();
+        assertThat(lowStockOf("LOW-2")).isTrue();
+
+        itemStockService.decrementStock(idOf("LOW-1"), 3);
+        assertThat(lowStockOf("LOW-1")).isTrue();
+        entityManager.clear();
+
+        // LOW-1 (8 - 3) and LOW-2 tie on stock, so the ID decides, as in ItemService.getLowStockItems
+        Page<Item> page = itemRepository.findLowStockItemsByStorefrontIds(List.of(storefrontId),
+                PageRequest.of(0, 10, Sort.by("stockQuantity", "id")));
+        assertThat(page.getContent()).extracting(Item::getSku).containsExactly("LOW-1", "LOW-2");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    private void insertItems(Long storefront, String skuPrefix, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            args.add(new Object[] { "Item " + skuPrefix + i, skuPrefix + i, storefront, now });
+        }
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, args);
+    }
+
+    private Long idOf(String sku) {
+        return jdbcTemplate.queryForObject("SELECT id FROM items WHERE sku = ?", Long.class, sku);
+    }
+
+    private Boolean lowStockOf(String sku) {
+        return jdbcTemplate.queryForObject("SELECT low_stock FROM items WHERE sku = ?", Boolean.class, sku);
+    }
+
+    private Integer stockOf(String sku) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM items WHERE sku = ?", Integer.class, sku);
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setFirstName("Sam");
+        user.setLastName("Seller");
+        user.setEmail(email);
+        user.setPassword("password123");
+        user.setRole(UserRole.SELLER);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Long createStorefront(User user) {
+        SellerProfile sellerProfile = new SellerProfile();
+        sellerProfile.setUser(user);
+        sellerProfile.setShopName("Shop of " + user.getEmail());
+        entityManager.persist(sellerProfile);
+
+        Storefront storefront = new Storefront();
+        storefront.setStoreName("Store of " + user.getEmail());
+        storefront.setSellerProfile(sellerProfile);
+        entityManager.persist(storefront);
+        return storefront.getId();
+    }
+}
@@ -0,0 +1,155 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.service.ItemTagIndex;
+import com.dnofulla.marketcove.backend_api.service.PagedEntityScanner;
+import com.dnofulla.marketcove.backend_api.util.TextTokenizer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the in-memory item tag index
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ItemTagIndex Tests")
+public class ItemTagIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemTagIndex itemTagIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemTagIndex = new ItemTagIndex(itemRepository, new PagedEntityScanner(mock(EntityManager.class)));
+        ReflectionTestUtils.setField(itemTagIndex, "rebuildBatchSize", 100);
+    }
+
+    @Test
+    @DisplayName("Should report no result before the index is built")
+    void testQueryBeforeBuild() {
+        assertThat(itemTagIndex.findByTags(List.of("audio"), 0, 20)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match tags case- and accent-insensitively and intersect several tags")
+    void testTagQueries() {
+        buildIndex(item(1L, "Audio, Wireless"), item(2L, "audio,  cafe"), item(3L, "Café, wireless ,audio"));
+
+        assertThat(itemTagIndex.findByTags(List.of("AUDIO"), 0, 20).orElseThrow().getItemIds())
+                .containsExactly(3L, 2L, 1L);
+        assertThat(itemTagIndex.findByTags(List.of("wireless", "audio"), 0, 20).orElseThrow().getItemIds())
+                .containsExactly(3L, 1L);
+        assertThat(itemTagIndex.findByTags(List.of("cafe", "audio"), 0, 20).orElseThrow().getItemIds())
+                .containsExactly(3L, 2L);
+        assertThat(itemTagIndex.findByTags(List.of("audio", "unknown"), 0, 20).orElseThrow().getTotalHits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should follow retagged and deactivated items")
+    void testIncrementalUpdates() {
+        Item item = item(1L, "audio");
+        buildIndex(item);
+
+        item.setTags("video");
+        itemTagIndex.onItemChanged(new ItemChangedEvent(item));
+        assertThat(itemTagIndex.findByTags(List.of("audio"), 0, 20).orElseThrow().getTotalHits()).isZero();
+        assertThat(itemTagIndex.findByTags(List.of("video"), 0, 20).orElseThrow().getItemIds()).containsExactly(1L);
+
+        item.setActive(false);
+        itemTagIndex.onItemsChanged(new ItemBatchChangedEvent(List.of(item)));
+        assertThat(itemTagIndex.findByTags(List.of("video"), 0, 20).orElseThrow().getTotalHits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should index and update items with IDs beyond the int range")
+    void testLongIds() {
+        long base = 1L << 40;
+        Item changed = item(base + 1, "audio, wireless");
+        buildIndex(changed, item(base + 2, "audio"));
+        itemTagIndex.onItemChanged(new ItemChangedEvent(item(base + 3, "audio, wireless")));
+
+        assertThat(itemTagIndex.findByTags(List.of("audio"), 0, 20).orElseThrow().getItemIds())
+                .containsExactly(base + 3, base + 2, base + 1);
+        assertThat(itemTagIndex.findByTags(List.of("wireless", "audio"), 0, 20).orElseThrow().getItemIds())
+                .containsExactly(base + 3, base + 1);
+
+        changed.setActive(false);
+        itemTagIndex.onItemsChanged(new ItemBatchChangedEvent(List.of(changed)));
+        assertThat(itemTagIndex.findByTags(List.of("wireless"), 0, 20).orElseThrow().getItemIds())
+                .containsExactly(base + 3);
+    }
+
+    @Test
+    @DisplayName("Should intersect popular tags in under a millisecond")
+    void testPopularTagLatency() {
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= 200_000; id++) {
+            items.add(item(id, "sale" + (id % 2 == 0 ? ", even" : "") + (id % 3 == 0 ? ", third" : "")));
+        }
+        buildIndex(items.toArray(Item[]::new));
+
+        List<String> tags = List.of("sale", "even", "third");
+        for (int i = 0; i < 1_000; i++) {
+            itemTagIndex.findByTags(tags, 0, 20);
+        }
+        int runs = 1_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            itemTagIndex.findByTags(tags, 0, 20);
+        }
+        double averageMs = (System.nanoTime() - start) / 1_000_000.0 / runs;
+
+        assertThat(itemTagIndex.findByTags(tags, 0, 20).orElseThrow().getTotalHits()).isEqualTo(200_000 / 6);
+        assertThat(averageMs).isLessThan(1.0);
+    }
+
+    @Test
+    @DisplayName("Should tidy tag strings for storage")
+    void testCanonicalTags() {
+        assertThat(TextTokenizer.canonicalTags(" Audio ,wireless,, audio,Hi  Fi ")).isEqualTo("Audio, wireless, Hi Fi");
+        assertThat(TextTokenizer.canonicalTags(" , ")).isNull();
+
+        // 167 two-character tags fit a 500-character request but need 666 characters once separated
+        StringBuilder tags = new StringBuilder();
+        for (int i = 0; i < 167; i++) {
+            tags.append(i == 0 ? "" : ",").append((char) ('a' + i % 26)).append(i / 26);
+        }
+        assertThat(tags).hasSize(500);
+        String canonical = TextTokenizer.canonicalTags(tags.toString());
+        assertThat(canonical.length()).isLessThanOrEqualTo(TextTokenizer.MAX_TAGS_LENGTH);
+        assertThat(canonical).startsWith("a0, b0, c0").doesNotEndWith(",");
+    }
+
+    private void buildIndex(Item... items) {
+        when(itemRepository.findByIsActive(eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(items)));
+        itemTagIndex.rebuildIndex();
+    }
+
+    private Item item(Long id, String tags) {
+        Item item = new Item();
+        item.setId(id);
+        item.setTags(tags);
+        item.setActive(true);
+        return item;
+    }
+}
@@ -0,0 +1,146 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.enums.CounterType;
+import com.dnofulla.marketcove.backend_api.service.ItemViewCountService;
+import com.dnofulla.marketcove.backend_api.service.ShardedCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the write-behind item view counter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ItemViewCountService Tests")
+public class ItemViewCountServiceTest {
+
+    @Mock
+    private ShardedCounterService shardedCounterService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private ItemViewCountService itemViewCountService;
+
+    @BeforeEach
+    void setUp() {
+        itemViewCountService = new ItemViewCountService(shardedCounterService, taskScheduler);
+        ReflectionTestUtils.setField(itemViewCountService, "maxPending", 100);
+        ReflectionTestUtils.setField(itemViewCountService, "flushOnShutdown", true);
+        lenient().when(shardedCounterService.getUncompacted(eq(CounterType.ITEM_VIEWS), anyLong()))
+                .thenReturn(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should report buffered views as pending")
+    void testRecordViewIsPending() {
+        itemViewCountService.recordView(1L);
+        itemViewCountService.recordView(1L);
+        itemViewCountService.recordView(2L);
+
+        assertThat(itemViewCountService.getPendingViews(1L)).isEqualTo(2);
+        assertThat(itemViewCountService.getPendingViews(2L)).isEqualTo(1);
+        assertThat(itemViewCountService.getPendingViews(3L)).isZero();
+        verify(shardedCounterService, never()).incrementAll(any(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should keep flushed views pending until they are compacted into the item")
+    void testFlushedViewsStayPendingUntilCompacted() {
+        itemViewCountService.recordView(1L);
+        itemViewCountService.recordView(1L);
+        itemViewCountService.flush();
+        when(shardedCounterService.getUncompacted(CounterType.ITEM_VIEWS, 1L)).thenReturn(BigDecimal.valueOf(2));
+        itemViewCountService.recordView(1L);
+
+        assertThat(itemViewCountService.getPendingViews(1L)).isEqualTo(3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should flush one batched increment per item and clear pending views")
+    void testFlushBatchesIncrements() {
+        for (int i = 0; i < 5; i++) {
+            itemViewCountService.recordView(1L);
+        }
+        itemViewCountService.recordView(2L);
+
+        itemViewCountService.flush();
+
+        ArgumentCaptor<Map<Long, Long>> batchCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(shardedCounterService, times(1)).incrementAll(eq(CounterType.ITEM_VIEWS), batchCaptor.capture());
+        assertThat(batchCaptor.getValue()).containsOnly(entry(1L, 5L), entry(2L, 1L));
+        assertThat(itemViewCountService.getPendingViews(1L)).isZero();
+        assertThat(itemViewCountService.getPendingViews(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing is pending")
+    void testFlushWithNothingPending() {
+        itemViewCountService.flush();
+
+        verifyNoInteractions(shardedCounterService);
+    }
+
+    @Test
+    @DisplayName("Should re-queue views when the flush fails")
+    void testFlushFailureRequeues() {
+        itemViewCountService.recordView(1L);
+        itemViewCountService.recordView(1L);
+        doThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .when(shardedCounterService).incrementAll(eq(CounterType.ITEM_VIEWS), anyMap());
+
+        itemViewCountService.flush();
+
+        assertThat(itemViewCountService.getPendingViews(1L)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should schedule an early flush when the buffer is full")
+    void testEarlyFlushWhenBufferFull() {
+        ReflectionTestUtils.setField(itemViewCountService, "maxPending", 2);
+
+        itemViewCountService.recordView(1L);
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+
+        itemViewCountService.recordView(2L);
+        itemViewCountService.recordView(3L);
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should flush pending views on shutdown when enabled")
+    void testFlushOnShutdown() {
+        itemViewCountService.recordView(1L);
+
+        itemViewCountService.shutdown();
+
+        verify(shardedCounterService, times(1)).incrementAll(eq(CounterType.ITEM_VIEWS), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should keep pending views on shutdown when disabled")
+    void testNoFlushOnShutdownWhenDisabled() {
+        ReflectionTestUtils.setField(itemViewCountService, "flushOnShutdown", false);
+        itemViewCountService.recordView(1L);
+
+        itemViewCountService.shutdown();
+
+        verifyNoInteractions(shardedCounterService);
+    }
+}
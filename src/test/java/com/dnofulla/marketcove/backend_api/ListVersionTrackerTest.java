@@ -0,0 +1,117 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.enums.CounterType;
+import com.dnofulla.marketcove.backend_api.event.CountersCompactedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemBatchChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.ItemStockChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.StorefrontChangedEvent;
+import com.dnofulla.marketcove.backend_api.service.ListVersionTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test class for the in-memory list versions used by conditional requests
+ */
+@DisplayName("ListVersionTracker Tests")
+public class ListVersionTrackerTest {
+
+    private ListVersionTracker listVersionTracker;
+
+    @BeforeEach
+    void setUp() {
+        listVersionTracker = new ListVersionTracker();
+    }
+
+    @Test
+    @DisplayName("Should keep versions until something the list shows changes")
+    void testStableVersions() {
+        assertThat(listETag("active")).isEqualTo(listETag("active"));
+        assertThat(listETag("active")).isNotEqualTo(listETag("featured"));
+        assertThat(itemsETag(1L)).isEqualTo(itemsETag(1L)).isNotEqualTo(itemsETag(2L));
+        assertThat(new ListVersionTracker().getStorefrontListVersion("active").getETag())
+                .isNotEqualTo(listETag("active"));
+
+        listVersionTracker.onCountersCompacted(new CountersCompactedEvent(CounterType.ITEM_VIEWS, Set.of(5L)));
+        assertThat(listETag("active")).isEqualTo(listETag("active"));
+    }
+
+    @Test
+    @DisplayName("Should move only the changed storefront's item list and the storefront lists on item changes")
+    void testItemChanges() {
+        String list = listETag("active");
+        String first = itemsETag(1L);
+        String second = itemsETag(2L);
+
+        listVersionTracker.onItemChanged(new ItemChangedEvent(item(1L)));
+
+        assertThat(itemsETag(1L)).isNotEqualTo(first);
+        assertThat(itemsETag(2L)).isEqualTo(second);
+        assertThat(listETag("active")).isNotEqualTo(list);
+
+        first = itemsETag(1L);
+        listVersionTracker.onItemsChanged(new ItemBatchChangedEvent(List.of(item(1L), item(1L))));
+        assertThat(itemsETag(1L)).isNotEqualTo(first);
+        assertThat(itemsETag(2L)).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("Should move every storefront's item list on changes without a storefront")
+    void testChangesWithoutStorefront() {
+        String first = itemsETag(1L);
+        String second = itemsETag(2L);
+        String list = listETag("active");
+
+        listVersionTracker.onStockChanged(new ItemStockChangedEvent(Map.of(9L, new ItemStockChangedEvent.Stock(3, 5))));
+
+        assertThat(itemsETag(1L)).isNotEqualTo(first);
+        assertThat(itemsETag(2L)).isNotEqualTo(second);
+        assertThat(listETag("active")).isEqualTo(list);
+
+        first = itemsETag(1L);
+        listVersionTracker.onCountersCompacted(new CountersCompactedEvent(CounterType.ITEM_SALES, Set.of(9L)));
+        assertThat(itemsETag(1L)).isNotEqualTo(first);
+        listVersionTracker.onCountersCompacted(new CountersCompactedEvent(CounterType.STOREFRONT_SALES, Set.of(1L)));
+        assertThat(listETag("active")).isNotEqualTo(list);
+    }
+
+    @Test
+    @DisplayName("Should move the storefront lists and the storefront's item list on storefront changes")
+    void testStorefrontChanges() {
+        String list = listETag("active");
+        String items = itemsETag(1L);
+        Storefront storefront = new Storefront();
+        storefront.setId(1L);
+
+        listVersionTracker.onStorefrontChanged(new StorefrontChangedEvent(storefront));
+
+        assertThat(listETag("active")).isNotEqualTo(list);
+        assertThat(itemsETag(1L)).isNotEqualTo(items);
+    }
+
+    private String listETag(String list) {
+        return listVersionTracker.getStorefrontListVersion(list, PageRequest.of(0, 20)).getETag();
+    }
+
+    private String itemsETag(Long storefrontId) {
+        return listVersionTracker.getStorefrontItemsVersion(storefrontId, true, PageRequest.of(0, 20)).getETag();
+    }
+
+    private Item item(Long storefrontId) {
+        Storefront storefront = new Storefront();
+        storefront.setId(storefrontId);
+        Item item = new Item();
+        item.setStorefront(storefront);
+        return item;
+    }
+}
@@ -0,0 +1,95 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Cart;
+import com.dnofulla.marketcove.backend_api.entity.CartItem;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import com.dnofulla.marketcove.backend_api.util.MoneyConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test class for the minor-unit money type and the pricing built on it
+ */
+@DisplayName("Money Tests")
+public class MoneyTest {
+
+    @Test
+    @DisplayName("Should round to cents and convert back to the stored decimal")
+    void testConversion() {
+        MoneyConverter converter = new MoneyConverter();
+
+        assertThat(Money.of(new BigDecimal("19.995")).getMinorUnits()).isEqualTo(2000);
+        assertThat(Money.of(new BigDecimal("7")).toBigDecimal()).isEqualTo(new BigDecimal("7.00"));
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("149.99"))).isEqualTo(Money.ofMinor(14999));
+        assertThat(converter.convertToDatabaseColumn(Money.ofMinor(14999))).isEqualTo(new BigDecimal("149.99"));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(Money.ofMinor(1999)).hasToString("19.99");
+    }
+
+    @Test
+    @DisplayName("Should round query bounds inwards and saturate huge ones")
+    void testQueryBounds() {
+        assertThat(Money.ceilingOf(new BigDecimal("19.991")).getMinorUnits()).isEqualTo(2000);
+        assertThat(Money.floorOf(new BigDecimal("19.999")).getMinorUnits()).isEqualTo(1999);
+        assertThat(Money.floorOf(new BigDecimal("1E+999999")).getMinorUnits()).isEqualTo(Long.MAX_VALUE);
+        assertThat(Money.ceilingOf(new BigDecimal("-1E+30")).getMinorUnits()).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    @DisplayName("Should not mix currencies")
+    void testCurrencyMismatch() {
+        Money euros = Money.ofMinor(100, Currency.getInstance("EUR"));
+
+        assertThatThrownBy(() -> Money.ofMinor(100).plus(euros)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should compute the same discount as the decimal arithmetic it replaces")
+    void testDiscount() {
+        Item item = new Item();
+        item.setPrice(Money.of(new BigDecimal("19.99")));
+        item.setCompareAtPrice(Money.of(new BigDecimal("29.99")));
+
+        BigDecimal expected = new BigDecimal("10.00")
+                .divide(new BigDecimal("29.99"), 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+        assertThat(item.getDiscountAmount()).isEqualTo(Money.ofMinor(1000));
+        assertThat(item.getDiscountPercentage()).isEqualByComparingTo(expected);
+
+        item.setCompareAtPrice(Money.of(new BigDecimal("19.99")));
+        assertThat(item.isOnSale()).isFalse();
+        assertThat(item.getDiscountAmount()).isEqualTo(Money.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should total cart lines in minor units")
+    void testCartTotal() {
+        Cart cart = new Cart();
+        cart.addItem(cartItem("19.99", 3));
+        cart.addItem(cartItem("0.10", 7));
+
+        assertThat(cart.getTotalAmount().toBigDecimal()).isEqualTo(new BigDecimal("60.67"));
+        assertThat(cart.getTotalItems()).isEqualTo(10);
+        assertThat(cart.getCartItems().get(0).getSubtotal()).isEqualTo(Money.ofMinor(5997));
+
+        cart.clearCart();
+        assertThat(cart.getTotalAmount()).isEqualTo(Money.ZERO);
+    }
+
+    private CartItem cartItem(String price, int quantity) {
+        Item item = new Item();
+        item.setPrice(Money.of(new BigDecimal(price)));
+        CartItem cartItem = new CartItem();
+        cartItem.setItem(item);
+        cartItem.setQuantity(quantity);
+        cartItem.setPriceAtTime(item.getPrice());
+        return cartItem;
+    }
+}
@@ -0,0 +1,188 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.OutboxEvent;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.enums.OutboxEntityType;
+import com.dnofulla.marketcove.backend_api.event.EntityChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.OutboxEventRepository;
+import com.dnofulla.marketcove.backend_api.repository.StorefrontRepository;
+import com.dnofulla.marketcove.backend_api.service.OutboxRelay;
+import com.dnofulla.marketcove.backend_api.service.OutboxService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test class for recording changes in the outbox and relaying them to listeners
+ */
+@DataJpaTest(properties = {"outbox.relay.batch-size=2", "outbox.relay.max-attempts=2"})
+@Import({OutboxService.class, OutboxRelay.class, OutboxServiceTest.RecordingListener.class})
+@DisplayName("Outbox Tests")
+public class OutboxServiceTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private StorefrontRepository storefrontRepository;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long storefrontId;
+
+    /**
+     * Collects delivered events; can be told to fail a number of times on a given version
+     */
+    static class RecordingListener {
+
+        final List<EntityChangedEvent> received = new CopyOnWriteArrayList<>();
+        volatile long failOnVersion = -1;
+        volatile int failures;
+
+        @EventListener
+        public void onChange(EntityChangedEvent event) {
+            if (event.getVersion() == failOnVersion && failures > 0) {
+                failures--;
+                throw new IllegalStateException("Listener failure");
+            }
+            received.add(event);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Storefront storefront = new Storefront();
+        storefront.setStoreName("Outbox Store");
+        storefrontId = storefrontRepository.save(storefront).getId();
+        entityManager.flush();
+        entityManager.clear();
+        listener.received.clear();
+        listener.failures = 0;
+    }
+
+    @Test
+    @DisplayName("Should record only the properties changed since the entity was loaded")
+    void testRecordChanged() {
+        Storefront storefront = storefrontRepository.findById(storefrontId).orElseThrow();
+        storefront.setStoreName("Renamed Store");
+        storefront.setFeatured(true);
+        outboxService.recordChanged(OutboxEntityType.STOREFRONT, storefront);
+
+        // Unchanged since the last record: nothing to add
+        outboxService.recordChanged(OutboxEntityType.STOREFRONT, storefront);
+
+        List<OutboxEvent> records = outboxEventRepository.findAll();
+        assertThat(records).singleElement().satisfies(record -> {
+            assertThat(record.getEntityType()).isEqualTo(OutboxEntityType.STOREFRONT);
+            assertThat(record.getEntityId()).isEqualTo(storefrontId);
+            assertThat(Set.of(record.getChangedFields().split(","))).containsExactlyInAnyOrder("storeName", "isFeatured");
+        });
+        assertThat(entityManager.find(Storefront.class, storefrontId).getStoreName()).isEqualTo("Renamed Store");
+    }
+
+    @Test
+    @DisplayName("Should record every property of a created entity")
+    void testRecordCreated() {
+        Storefront storefront = new Storefront();
+        storefront.setStoreName("New Store");
+        storefront = storefrontRepository.save(storefront);
+        outboxService.recordCreated(OutboxEntityType.STOREFRONT, storefront);
+
+        OutboxEvent record = outboxEventRepository.findAll().get(0);
+        assertThat(record.getEntityId()).isEqualTo(storefront.getId());
+        assertThat(record.getChangedFields().split(",")).contains("storeName", "storeUrlSlug", "isActive");
+    }
+
+    @Test
+    @DisplayName("Should deliver records in order and remove them")
+    void testRelayInOrder() {
+        List<Long> expectedVersions = recordRenames(5);
+
+        outboxRelay.relay();
+
+        assertThat(listener.received).extracting(EntityChangedEvent::getVersion).isEqualTo(expectedVersions);
+        assertThat(listener.received).allSatisfy(event -> {
+            assertThat(event.getEntityType()).isEqualTo(OutboxEntityType.STOREFRONT);
+            assertThat(event.getEntityId()).isEqualTo(storefrontId);
+            assertThat(event.changed("storeName")).isTrue();
+        });
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should retry from a failed record without skipping or reordering")
+    void testRelayRetriesFailedRecord() {
+        List<Long> expectedVersions = recordRenames(3);
+        listener.failOnVersion = expectedVersions.get(1);
+        listener.failures = 1;
+
+        outboxRelay.relay();
+
+        assertThat(listener.received).extracting(EntityChangedEvent::getVersion)
+                .containsExactly(expectedVersions.get(0));
+        assertThat(outboxEventRepository.count()).isEqualTo(2);
+
+        outboxRelay.relay();
+
+        assertThat(listener.received).extracting(EntityChangedEvent::getVersion).isEqualTo(expectedVersions);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should park a record that keeps failing and deliver the rest")
+    void testRelayParksFailingRecord() {
+        List<Long> expectedVersions = recordRenames(3);
+        listener.failOnVersion = expectedVersions.get(1);
+        listener.failures = Integer.MAX_VALUE;
+
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        assertThat(listener.received).extracting(EntityChangedEvent::getVersion)
+                .containsExactly(expectedVersions.get(0), expectedVersions.get(2));
+        entityManager.clear();
+        assertThat(outboxEventRepository.findByParkedAtIsNotNull()).singleElement().satisfies(record -> {
+            assertThat(record.getId()).isEqualTo(expectedVersions.get(1));
+            assertThat(record.getAttempts()).isEqualTo(2);
+        });
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        // Parked records are no longer retried
+        outboxRelay.relay();
+        assertThat(listener.received).hasSize(2);
+    }
+
+    private List<Long> recordRenames(int count) {
+        Storefront storefront = storefrontRepository.findById(storefrontId).orElseThrow();
+        for (int i = 0; i < count; i++) {
+            storefront.setStoreName("Outbox Store " + i);
+            outboxService.recordChanged(OutboxEntityType.STOREFRONT, storefront);
+        }
+        List<Long> versions = new ArrayList<>();
+        outboxEventRepository.findAll().forEach(record -> versions.add(record.getId()));
+        versions.sort(null);
+        return versions;
+    }
+}
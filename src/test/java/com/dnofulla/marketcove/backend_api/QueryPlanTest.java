@@ -0,0 +1,383 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.BusinessProfile;
+import com.dnofulla.marketcove.backend_api.entity.Cart;
+import com.dnofulla.marketcove.backend_api.entity.CartItem;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.SellerProfile;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.enums.UserRole;
+import com.dnofulla.marketcove.backend_api.repository.CartItemRepository;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.repository.StorefrontRepository;
+import com.dnofulla.marketcove.backend_api.repository.UserRepository;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test class running EXPLAIN on the SQL of each repository query and failing when a plan falls back
+ * to a table scan, so a dropped index or a rewritten query that cannot use one shows up in the build.
+ *
+ * Not checked, as they read whole tables by design: UserRepository.findByIsEnabled and
+ * countByIsEmailVerifiedTrue (admin reports on flags that match most users, where an index would
+ * not be selective).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.dnofulla.marketcove.backend_api.QueryPlanTest$StatementRecorder"
+})
+@DisplayName("Query Plan Tests")
+public class QueryPlanTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 2);
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private StorefrontRepository storefrontRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> tableScans = new ArrayList<>();
+
+    private User owner;
+    private User seller;
+    private User customer;
+    private BusinessProfile businessProfile;
+    private SellerProfile sellerProfile;
+    private Storefront storefront;
+    private Item item;
+    private Cart cart;
+
+    /**
+     * Records the SQL of every statement Hibernate prepares
+     */
+    public static class StatementRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser("owner@plan.test", UserRole.BUSINESS_OWNER);
+        seller = createUser("seller@plan.test", UserRole.SELLER);
+        customer = createUser("customer@plan.test", UserRole.CUSTOMER);
+
+        businessProfile = new BusinessProfile();
+        businessProfile.setUser(owner);
+        businessProfile.setBusinessName("Plan Business");
+        entityManager.persist(businessProfile);
+
+        sellerProfile = new SellerProfile();
+        sellerProfile.setUser(seller);
+        sellerProfile.setShopName("Plan Shop");
+        entityManager.persist(sellerProfile);
+
+        List<Storefront> storefronts = new ArrayList<>();
+        for (int s = 0; s < 6; s++) {
+            Storefront created = new Storefront();
+            created.setStoreName("Plan Store " + s);
+            if (s % 2 == 0) {
+                created.setBusinessProfile(businessProfile);
+            } else {
+                created.setSellerProfile(sellerProfile);
+            }
+            created.setFeatured(s < 2);
+            entityManager.persist(created);
+            storefronts.add(created);
+        }
+        storefront = storefronts.get(0);
+
+        for (int i = 0; i < 120; i++) {
+            Item created = new Item();
+            created.setItemName("Lamp " + i);
+            created.setItemDescription("A desk lamp");
+            created.setSku("PLAN-" + i);
+            created.setPrice(Money.ofMinor(1000 + i * 10L));
+            created.setCompareAtPrice(i % 3 == 0 ? Money.ofMinor(2500) : null);
+            created.setStockQuantity(i % 10);
+            created.setCategory(i % 2 == 0 ? "Lighting" : "Furniture");
+            created.setFeatured(i % 5 == 0);
+            created.setActive(i % 7 != 0);
+            created.setTotalSales(i);
+            created.setStorefront(storefronts.get(i % storefronts.size()));
+            entityManager.persist(created);
+            if (i == 0) {
+                item = created;
+            }
+        }
+
+        cart = new Cart();
+        cart.setUser(customer);
+        entityManager.persist(cart);
+        CartItem cartItem = new CartItem();
+        cartItem.setCart(cart);
+        cartItem.setItem(item);
+        cartItem.setQuantity(1);
+        entityManager.persist(cartItem);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should serve every item query from an index")
+    void testItemQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        Money min = Money.ofMinor(1000);
+        Money max = Money.ofMinor(2000);
+        Long storefrontId = storefront.getId();
+
+        explain("findByStorefront", () -> itemRepository.findByStorefront(storefront));
+        explain("findByStorefrontAndIsActive", () -> itemRepository.findByStorefrontAndIsActive(storefront, true));
+        explain("findByStorefrontAndIsActive(page)",
+                () -> itemRepository.findByStorefrontAndIsActive(storefront, true, PAGE));
+        explain("findByStorefrontId", () -> itemRepository.findByStorefrontId(storefrontId));
+        explain("findByStorefrontId(page)", () -> itemRepository.findByStorefrontId(storefrontId, PAGE));
+        explain("findByStorefrontIdAndIsActive",
+                () -> itemRepository.findByStorefrontIdAndIsActive(storefrontId, true));
+        explain("findByStorefrontIdAndIsActive(page)",
+                () -> itemRepository.findByStorefrontIdAndIsActive(storefrontId, true, PAGE));
+        explain("findBySku", () -> itemRepository.findBySku("PLAN-1"));
+        explain("findBySkuAndIsActive", () -> itemRepository.findBySkuAndIsActive("PLAN-1", true));
+        explain("findByIsActive", () -> itemRepository.findByIsActive(true));
+        explain("findByIsActive(page)", () -> itemRepository.findByIsActive(true, PAGE));
+        explain("findByIsFeaturedAndIsActive", () -> itemRepository.findByIsFeaturedAndIsActive(true, true));
+        explain("findByIsFeaturedAndIsActive(page)",
+                () -> itemRepository.findByIsFeaturedAndIsActive(true, true, PAGE));
+        // Substring matches are filtered row by row, but only over the active-items index range
+        explain("searchByItemName", () -> itemRepository.searchByItemName("lamp", PAGE));
+        explain("searchByNameAndDescription", () -> itemRepository.searchByNameAndDescription("desk", PAGE));
+        explain("findByCategoryAndIsActive", () -> itemRepository.findByCategoryAndIsActive("Lighting", true));
+        explain("findByCategoryAndIsActive(page)",
+                () -> itemRepository.findByCategoryAndIsActive("Lighting", true, PAGE));
+        explain("findByPriceRange", () -> itemRepository.findByPriceRange(min, max, PAGE));
+        explain("findByStorefrontAndCategoryAndIsActive",
+                () -> itemRepository.findByStorefrontAndCategoryAndIsActive(storefront, "Lighting", true));
+        explain("findByStorefrontAndCategoryAndIsActive(page)",
+                () -> itemRepository.findByStorefrontAndCategoryAndIsActive(storefront, "Lighting", true, PAGE));
+        explain("findLowStockItems", () -> itemRepository.findLowStockItems());
+        explain("findLowStockItemsByStorefront", () -> itemRepository.findLowStockItemsByStorefront(storefront));
+        explain("findLowStockItemsByStorefrontIds",
+                () -> itemRepository.findLowStockItemsByStorefrontIds(List.of(storefrontId, storefrontId + 1), PAGE));
+        explain("findOutOfStockItems", () -> itemRepository.findOutOfStockItems());
+        explain("findOutOfStockItemsByStorefront", () -> itemRepository.findOutOfStockItemsByStorefront(storefront));
+        explain("findItemsOnSale", () -> itemRepository.findItemsOnSale(PAGE));
+        explain("findItemsOnSaleByDiscount", () -> itemRepository.findItemsOnSaleByDiscount(PAGE));
+        explain("findItemsOnSaleByStorefront", () -> itemRepository.findItemsOnSaleByStorefront(storefront, PAGE));
+        explain("findTopRatedItems", () -> itemRepository.findTopRatedItems(PAGE));
+        explain("findTopRatedItemsByStorefront", () -> itemRepository.findTopRatedItemsByStorefront(storefront, PAGE));
+        explain("findBestSellingItems", () -> itemRepository.findBestSellingItems(PAGE));
+        explain("findBestSellingItemsByStorefront",
+                () -> itemRepository.findBestSellingItemsByStorefront(storefront, PAGE));
+        explain("findRecentlyAddedItems", () -> itemRepository.findRecentlyAddedItems(PAGE));
+        explain("findRecentlyAddedItemsByStorefront",
+                () -> itemRepository.findRecentlyAddedItemsByStorefront(storefront, PAGE));
+        explain("findRecentlyAddedItemsFirstSlice", () -> itemRepository.findRecentlyAddedItemsFirstSlice(PAGE));
+        explain("findRecentlyAddedItemsAfter", () -> itemRepository.findRecentlyAddedItemsAfter(now, 50L, PAGE));
+        explain("findBestSellingItemsFirstSlice", () -> itemRepository.findBestSellingItemsFirstSlice(PAGE));
+        explain("findBestSellingItemsAfter", () -> itemRepository.findBestSellingItemsAfter(50, 50L, PAGE));
+        explain("findItemsOnSaleFirstSlice", () -> itemRepository.findItemsOnSaleFirstSlice(PAGE));
+        explain("findItemsOnSaleAfter", () -> itemRepository.findItemsOnSaleAfter(now, 50L, PAGE));
+        explain("findByPriceRangeFirstSlice", () -> itemRepository.findByPriceRangeFirstSlice(min, max, PAGE));
+        explain("findByPriceRangeAfter",
+                () -> itemRepository.findByPriceRangeAfter(min, max, Money.ofMinor(1500), 50L, PAGE));
+        explain("findByIdIn", () -> itemRepository.findByIdIn(List.of(item.getId(), item.getId() + 1)));
+        explain("findExistingSkus", () -> itemRepository.findExistingSkus(Set.of("PLAN-1", "NEW-1")));
+        explain("countByStorefront", () -> itemRepository.countByStorefront(storefront));
+        explain("countByStorefrontAndIsActive", () -> itemRepository.countByStorefrontAndIsActive(storefront, true));
+        explain("existsBySku", () -> itemRepository.existsBySku("PLAN-1"));
+        explain("existsBySkuAndStorefront", () -> itemRepository.existsBySkuAndStorefront("PLAN-1", storefront));
+        explain("findByOwnerUserId", () -> itemRepository.findByOwnerUserId(owner.getId()));
+        explain("findByOwnerUserIdAndIsActive", () -> itemRepository.findByOwnerUserIdAndIsActive(seller.getId(), true));
+        explain("findVersionById", () -> itemRepository.findVersionById(item.getId()));
+        explain("findActiveVersionBySku", () -> itemRepository.findActiveVersionBySku("PLAN-1"));
+
+        assertThat(tableScans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve every storefront query from an index")
+    void testStorefrontQueries() {
+        explain("findByBusinessProfile", () -> storefrontRepository.findByBusinessProfile(businessProfile));
+        explain("findByBusinessProfileAndIsActive",
+                () -> storefrontRepository.findByBusinessProfileAndIsActive(businessProfile, true));
+        explain("findBySellerProfile", () -> storefrontRepository.findBySellerProfile(sellerProfile));
+        explain("findBySellerProfileAndIsActive",
+                () -> storefrontRepository.findBySellerProfileAndIsActive(sellerProfile, true));
+        explain("findByStoreUrlSlug", () -> storefrontRepository.findByStoreUrlSlug("plan-store-0"));
+        explain("findByStoreUrlSlugAndIsActive",
+                () -> storefrontRepository.findByStoreUrlSlugAndIsActive("plan-store-0", true));
+        explain("findByIsActive", () -> storefrontRepository.findByIsActive(true));
+        explain("findByIsActive(page)", () -> storefrontRepository.findByIsActive(true, PAGE));
+        explain("findByIsFeaturedAndIsActive", () -> storefrontRepository.findByIsFeaturedAndIsActive(true, true));
+        explain("findByIsFeaturedAndIsActive(page)",
+                () -> storefrontRepository.findByIsFeaturedAndIsActive(true, true, PAGE));
+        explain("searchByStoreName", () -> storefrontRepository.searchByStoreName("plan", PAGE));
+        explain("findByOwnerUserId", () -> storefrontRepository.findByOwnerUserId(owner.getId()));
+        explain("findByOwnerUserIdAndIsActive",
+                () -> storefrontRepository.findByOwnerUserIdAndIsActive(seller.getId(), true));
+        explain("findIdsByOwnerUserId", () -> storefrontRepository.findIdsByOwnerUserId(owner.getId()));
+        explain("existsById", () -> storefrontRepository.existsById(storefront.getId()));
+        explain("existsByStoreName", () -> storefrontRepository.existsByStoreName("Plan Store 0"));
+        explain("existsByStoreUrlSlug", () -> storefrontRepository.existsByStoreUrlSlug("plan-store-0"));
+        explain("findTopRatedStorefronts", () -> storefrontRepository.findTopRatedStorefronts(PAGE));
+        explain("findTopSellingStorefronts", () -> storefrontRepository.findTopSellingStorefronts(PAGE));
+        explain("countByBusinessProfile", () -> storefrontRepository.countByBusinessProfile(businessProfile));
+        explain("countByBusinessProfileAndIsActive",
+                () -> storefrontRepository.countByBusinessProfileAndIsActive(businessProfile, true));
+        explain("countBySellerProfile", () -> storefrontRepository.countBySellerProfile(sellerProfile));
+        explain("countBySellerProfileAndIsActive",
+                () -> storefrontRepository.countBySellerProfileAndIsActive(sellerProfile, true));
+        explain("findVersionById", () -> storefrontRepository.findVersionById(storefront.getId()));
+        explain("findActiveVersionBySlug", () -> storefrontRepository.findActiveVersionBySlug("plan-store-0"));
+
+        assertThat(tableScans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve every cart item query from an index")
+    void testCartItemQueries() {
+        explain("findByCartAndItem", () -> cartItemRepository.findByCartAndItem(cart, item));
+        explain("findByCart", () -> cartItemRepository.findByCart(cart));
+        explain("findByCartId", () -> cartItemRepository.findByCartId(cart.getId()));
+        explain("findByCartIdAndItemId", () -> cartItemRepository.findByCartIdAndItemId(cart.getId(), item.getId()));
+        explain("countByCart", () -> cartItemRepository.countByCart(cart));
+        explain("findByUserId", () -> cartItemRepository.findByUserId(customer.getId()));
+        explain("deleteByCartAndItem", () -> {
+            cartItemRepository.deleteByCartAndItem(cart, item);
+            entityManager.flush();
+        });
+        explain("deleteByCart", () -> {
+            cartItemRepository.deleteByCart(cart);
+            entityManager.flush();
+        });
+
+        assertThat(tableScans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve every user query from an index")
+    void testUserQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        Long userId = customer.getId();
+
+        explain("findByEmail", () -> userRepository.findByEmail("customer@plan.test"));
+        explain("existsByEmail", () -> userRepository.existsByEmail("customer@plan.test"));
+        explain("findByRole", () -> userRepository.findByRole(UserRole.SELLER));
+        explain("findByRoleAndIsEmailVerifiedTrue", () -> userRepository.findByRoleAndIsEmailVerifiedTrue(UserRole.SELLER));
+        explain("findByEmailVerificationToken", () -> userRepository.findByEmailVerificationToken("token"));
+        explain("findByPasswordResetToken", () -> userRepository.findByPasswordResetToken("token"));
+        explain("findByIsAccountLockedTrue", () -> userRepository.findByIsAccountLockedTrue());
+        explain("findByCreatedAtBetween", () -> userRepository.findByCreatedAtBetween(now.minusDays(1), now));
+        explain("findByRoleAndIsEnabledTrue", () -> userRepository.findByRoleAndIsEnabledTrue(UserRole.CUSTOMER));
+        explain("updateLastLogin", () -> userRepository.updateLastLogin(userId, now));
+        explain("updateFailedLoginAttempts", () -> userRepository.updateFailedLoginAttempts(userId, 1, false));
+        explain("resetFailedLoginAttempts", () -> userRepository.resetFailedLoginAttempts(userId));
+        explain("markEmailAsVerified", () -> userRepository.markEmailAsVerified(userId));
+        explain("countByRole", () -> userRepository.countByRole(UserRole.CUSTOMER));
+        explain("findUsersWithExpiredPasswordResetTokens",
+                () -> userRepository.findUsersWithExpiredPasswordResetTokens(now));
+
+        assertThat(tableScans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report a table scan when no index applies")
+    void testDetectsTableScan() {
+        explain("countByIsEmailVerifiedTrue", () -> userRepository.countByIsEmailVerifiedTrue());
+
+        assertThat(tableScans).singleElement().asString().contains("countByIsEmailVerifiedTrue", "USERS.tableScan");
+    }
+
+    /**
+     * Run a repository call and EXPLAIN each statement it issued, recording plans that scan a table
+     */
+    private void explain(String query, Runnable call) {
+        entityManager.clear();
+        StatementRecorder.STATEMENTS.clear();
+        call.run();
+
+        List<String> statements = List.copyOf(StatementRecorder.STATEMENTS);
+        assertThat(statements).as(query).isNotEmpty();
+        for (String sql : statements) {
+            if (sql.toLowerCase(Locale.ROOT).startsWith("insert")) {
+                continue;
+            }
+            String plan = explainPlan(sql);
+            if (plan.contains(".tableScan")) {
+                tableScans.add(query + ":\n" + plan);
+            }
+        }
+    }
+
+    private String explainPlan(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                // H2 picks the plan when the statement is prepared; the values only have to be bound
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private User createUser(String email, UserRole role) {
+        User user = new User();
+        user.setFirstName("Plan");
+        user.setLastName("User");
+        user.setEmail(email);
+        user.setPassword("plan-password");
+        user.setRole(role);
+        entityManager.persist(user);
+        return user;
+    }
+}
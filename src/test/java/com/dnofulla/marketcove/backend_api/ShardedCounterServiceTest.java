@@ -0,0 +1,133 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.SellerProfile;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.enums.CounterType;
+import com.dnofulla.marketcove.backend_api.enums.UserRole;
+import com.dnofulla.marketcove.backend_api.service.ShardedCounterService;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Test class for sharded counters and their compaction
+ */
+@DataJpaTest(properties = { "spring.jpa.show-sql=false", "counters.shards=4" })
+@Import(ShardedCounterService.class)
+@DisplayName("ShardedCounterService Tests")
+public class ShardedCounterServiceTest {
+
+    @Autowired
+    private ShardedCounterService shardedCounterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Storefront storefront;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setFirstName("Sam");
+        user.setLastName("Seller");
+        user.setEmail("counter@example.com");
+        user.setPassword("password123");
+        user.setRole(UserRole.SELLER);
+        entityManager.persist(user);
+
+        SellerProfile sellerProfile = new SellerProfile();
+        sellerProfile.setUser(user);
+        sellerProfile.setShopName("Counter Shop");
+        entityManager.persist(sellerProfile);
+
+        storefront = new Storefront();
+        storefront.setStoreName("Counter Store");
+        storefront.setSellerProfile(sellerProfile);
+        entityManager.persist(storefront);
+
+        Item item = new Item();
+        item.setItemName("Best Seller");
+        item.setPrice(Money.ofMinor(1000));
+        item.setStockQuantity(1);
+        item.setStorefront(storefront);
+        entityManager.persist(item);
+        entityManager.flush();
+        itemId = item.getId();
+    }
+
+    @Test
+    @DisplayName("Should spread increments over slots and fold them into the column on compaction")
+    void testIncrementAndCompact() {
+        for (int i = 0; i < 200; i++) {
+            shardedCounterService.increment(CounterType.ITEM_SALES, itemId, 1);
+        }
+
+        assertThat(shardedCounterService.get(CounterType.ITEM_SALES, itemId)).isEqualByComparingTo("200");
+        assertThat(columnValue("items", "total_sales", itemId)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM counter_shards WHERE counter_type = ? "
+                + "AND entity_id = ? AND counter_value > 0", Integer.class, "ITEM_SALES", itemId))
+                .isGreaterThan(1);
+
+        shardedCounterService.compact();
+
+        assertThat(columnValue("items", "total_sales", itemId)).isEqualByComparingTo("200");
+        assertThat(shardedCounterService.get(CounterType.ITEM_SALES, itemId)).isEqualByComparingTo("200");
+
+        shardedCounterService.increment(CounterType.ITEM_SALES, itemId, 5);
+        shardedCounterService.compact();
+        assertThat(columnValue("items", "total_sales", itemId)).isEqualByComparingTo("205");
+    }
+
+    @Test
+    @DisplayName("Should batch increments for several counters and keep fractional amounts")
+    void testBatchAndFractionalAmounts() {
+        shardedCounterService.incrementAll(CounterType.ITEM_VIEWS, Map.of(itemId, 7L));
+        shardedCounterService.increment(CounterType.STOREFRONT_SALES, storefront.getId(), new BigDecimal("19.99"));
+        shardedCounterService.increment(CounterType.STOREFRONT_SALES, storefront.getId(), new BigDecimal("5.01"));
+        shardedCounterService.increment(CounterType.STOREFRONT_ORDERS, storefront.getId(), 2);
+
+        shardedCounterService.compact();
+
+        assertThat(columnValue("items", "view_count", itemId)).isEqualByComparingTo("7");
+        assertThat(columnValue("storefronts", "total_sales", storefront.getId())).isEqualByComparingTo("25.00");
+        assertThat(columnValue("storefronts", "total_orders", storefront.getId())).isEqualByComparingTo("2");
+    }
+
+    @Test
+    @DisplayName("Should cache uncompacted sums and keep reads exact across compaction")
+    void testCachedUncompactedSum() {
+        shardedCounterService.incrementAll(CounterType.ITEM_VIEWS, Map.of(itemId, 7L));
+        shardedCounterService.increment(CounterType.ITEM_VIEWS, itemId, 3);
+        assertThat(shardedCounterService.getUncompacted(CounterType.ITEM_VIEWS, itemId)).isEqualByComparingTo("10");
+        assertThat(shardedCounterService.getUncompacted(CounterType.ITEM_SALES, itemId)).isZero();
+
+        shardedCounterService.compact();
+
+        assertThat(shardedCounterService.getUncompacted(CounterType.ITEM_VIEWS, itemId)).isZero();
+        assertThat(columnValue("items", "view_count", itemId).add(
+                shardedCounterService.getUncompacted(CounterType.ITEM_VIEWS, itemId))).isEqualByComparingTo("10");
+        assertThat(shardedCounterService.get(CounterType.ITEM_VIEWS, itemId)).isEqualByComparingTo("10");
+    }
+
+    private BigDecimal columnValue(String table, String column, Long id) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM " + table + " WHERE id = ?",
+                BigDecimal.class, id);
+    }
+}
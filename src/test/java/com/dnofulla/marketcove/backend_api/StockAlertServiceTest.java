@@ -0,0 +1,156 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.controller.ItemController;
+import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.enums.StockLevel;
+import com.dnofulla.marketcove.backend_api.enums.UserRole;
+import com.dnofulla.marketcove.backend_api.event.StockLevelChangedEvent;
+import com.dnofulla.marketcove.backend_api.service.ItemImportService;
+import com.dnofulla.marketcove.backend_api.service.ItemService;
+import com.dnofulla.marketcove.backend_api.service.ItemStockService;
+import com.dnofulla.marketcove.backend_api.service.StockAlertService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Test class for the stock alert stream
+ */
+@DisplayName("StockAlertService Tests")
+public class StockAlertServiceTest {
+
+    private static final long SELLER_ID = 1L;
+
+    private StockAlertService stockAlertService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // Sends run on the calling thread, so each dispatch has written its alerts when it returns
+        stockAlertService = new StockAlertService(Runnable::run);
+        ReflectionTestUtils.setField(stockAlertService, "maxPending", 100);
+        ReflectionTestUtils.setField(stockAlertService, "maxStreamsPerUser", 2);
+        ReflectionTestUtils.setField(stockAlertService, "streamTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(stockAlertService, "maxQueuedSends", 10);
+
+        ItemController itemController = new ItemController(mock(ItemService.class), mock(ItemImportService.class),
+                mock(ItemStockService.class), stockAlertService);
+        mockMvc = MockMvcBuilders.standaloneSetup(itemController)
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+
+        User seller = new User();
+        seller.setId(SELLER_ID);
+        seller.setEmail("seller@example.com");
+        seller.setRole(UserRole.SELLER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(seller, null, seller.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst of changes to one item into a single alert")
+    void testCoalescing() throws Exception {
+        MvcResult stream = openStream();
+
+        stockAlertService.onStockLevelChanged(change(10L, SELLER_ID, 4, StockLevel.IN_STOCK, StockLevel.LOW_STOCK));
+        stockAlertService.onStockLevelChanged(change(10L, SELLER_ID, 0, StockLevel.LOW_STOCK, StockLevel.OUT_OF_STOCK));
+        // Dips below the threshold and recovers before delivery: nothing to report
+        stockAlertService.onStockLevelChanged(change(11L, SELLER_ID, 3, StockLevel.IN_STOCK, StockLevel.LOW_STOCK));
+        stockAlertService.onStockLevelChanged(change(11L, SELLER_ID, 30, StockLevel.LOW_STOCK, StockLevel.IN_STOCK));
+        stockAlertService.dispatch();
+
+        String body = stream.getResponse().getContentAsString();
+        assertThat(body.split("event:", -1)).hasSize(2);
+        assertThat(body).contains("id:10", "event:OUT_OF_STOCK", "\"previousLevel\":\"IN_STOCK\"",
+                "\"stockQuantity\":0").doesNotContain("id:11");
+
+        // Delivered alerts are not sent again
+        stockAlertService.dispatch();
+        assertThat(stream.getResponse().getContentAsString()).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Should bound the queue and skip sellers without an open stream")
+    void testBoundedQueue() throws Exception {
+        ReflectionTestUtils.setField(stockAlertService, "maxPending", 1);
+        MvcResult stream = openStream();
+
+        stockAlertService.onStockLevelChanged(change(20L, 99L, 2, StockLevel.IN_STOCK, StockLevel.LOW_STOCK));
+        stockAlertService.onStockLevelChanged(change(21L, SELLER_ID, 2, StockLevel.IN_STOCK, StockLevel.LOW_STOCK));
+        stockAlertService.onStockLevelChanged(change(22L, SELLER_ID, 0, StockLevel.LOW_STOCK, StockLevel.OUT_OF_STOCK));
+        stockAlertService.dispatch();
+
+        assertThat(stockAlertService.getDroppedAlertCount()).isEqualTo(1);
+        assertThat(stream.getResponse().getContentAsString()).contains("id:21").doesNotContain("id:20", "id:22");
+    }
+
+    @Test
+    @DisplayName("Should hand sends to the executor and close streams that fall behind")
+    void testSendsOffSchedulerThread() throws Exception {
+        List<Runnable> queuedSends = new ArrayList<>();
+        stockAlertService = new StockAlertService(queuedSends::add);
+        ReflectionTestUtils.setField(stockAlertService, "maxPending", 100);
+        ReflectionTestUtils.setField(stockAlertService, "maxStreamsPerUser", 2);
+        ReflectionTestUtils.setField(stockAlertService, "streamTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(stockAlertService, "maxQueuedSends", 2);
+        User seller = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        stockAlertService.subscribe(seller);
+
+        stockAlertService.onStockLevelChanged(change(30L, SELLER_ID, 2, StockLevel.IN_STOCK, StockLevel.LOW_STOCK));
+        stockAlertService.dispatch();
+        stockAlertService.heartbeat();
+
+        // Nothing is written on the dispatching thread, and a stream with a send waiting is not idle
+        assertThat(queuedSends).hasSize(1);
+
+        stockAlertService.onStockLevelChanged(change(31L, SELLER_ID, 2, StockLevel.IN_STOCK, StockLevel.LOW_STOCK));
+        stockAlertService.dispatch();
+        // A third waiting send closes the stream instead of queuing, so later alerts are not sent
+        stockAlertService.onStockLevelChanged(change(32L, SELLER_ID, 2, StockLevel.IN_STOCK, StockLevel.LOW_STOCK));
+        stockAlertService.dispatch();
+        stockAlertService.onStockLevelChanged(change(33L, SELLER_ID, 2, StockLevel.IN_STOCK, StockLevel.LOW_STOCK));
+        stockAlertService.dispatch();
+
+        // Each send is handed over only once the previous one has finished
+        int sends = 0;
+        while (!queuedSends.isEmpty()) {
+            queuedSends.remove(0).run();
+            sends++;
+        }
+        assertThat(sends).isEqualTo(2);
+    }
+
+    private MvcResult openStream() throws Exception {
+        return mockMvc.perform(get("/api/items/stock-alerts"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private StockLevelChangedEvent change(Long itemId, Long ownerUserId, int stockQuantity, StockLevel previousLevel,
+            StockLevel level) {
+        return new StockLevelChangedEvent(itemId, "Item " + itemId, "SKU-" + itemId, 5L, ownerUserId,
+                stockQuantity, 5, previousLevel, level, LocalDateTime.now());
+    }
+}
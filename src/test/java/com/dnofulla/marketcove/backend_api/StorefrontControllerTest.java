@@ -7,7 +7,9 @@ import com.dnofulla.marketcove.backend_api.dto.storefront.UpdateStorefrontReques
 import com.dnofulla.marketcove.backend_api.entity.User;
 import com.dnofulla.marketcove.backend_api.enums.UserRole;
 import com.dnofulla.marketcove.backend_api.service.StorefrontService;
+import com.dnofulla.marketcove.backend_api.util.ContentVersion;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -19,6 +21,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -29,6 +32,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -277,6 +281,28 @@ public class StorefrontControllerTest {
                         verify(storefrontService, times(1)).getStorefront(1L);
                 }
 
+                @Test
+                @DisplayName("Should answer a matching If-None-Match with 304 without loading the storefront")
+                void testGetStorefrontNotModified() throws Exception {
+                        Tuple versionRow = mock(Tuple.class);
+                        when(versionRow.toArray()).thenReturn(
+                                        new Object[] { LocalDateTime.of(2024, 5, 1, 12, 0), 12, 4.5, 30, 25, 8L });
+                        ContentVersion version = ContentVersion.of("storefront", versionRow);
+                        when(storefrontService.getStorefrontVersion(1L)).thenReturn(Optional.of(version));
+                        when(storefrontService.getStorefront(1L)).thenReturn(mockStorefrontResponse);
+
+                        mockMvc.perform(get("/api/storefronts/1").header(HttpHeaders.IF_NONE_MATCH, version.getETag()))
+                                        .andExpect(status().isNotModified())
+                                        .andExpect(content().string(""));
+                        verify(storefrontService, never()).getStorefront(anyLong());
+
+                        mockMvc.perform(get("/api/storefronts/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"stale\""))
+                                        .andExpect(status().isOk())
+                                        .andExpect(header().string(HttpHeaders.ETAG, version.getETag()))
+                                        .andExpect(jsonPath("$.id").value(1L));
+                        verify(storefrontService, times(1)).getStorefront(1L);
+                }
+
                 @Test
                 @DisplayName("Should get storefront by slug successfully")
                 void testGetStorefrontBySlugSuccess() throws Exception {
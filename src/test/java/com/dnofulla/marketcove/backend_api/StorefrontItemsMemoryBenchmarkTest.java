@@ -0,0 +1,131 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.repository.StorefrontRepository;
+import com.dnofulla.marketcove.backend_api.service.ItemService;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Memory benchmark for storefront item listing including inactive items.
+ * Measures bytes allocated per request for a small and a large catalog; with
+ * database-side paging the cost depends on the page size, not the catalog size.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(ItemServiceTestConfiguration.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@DisplayName("Storefront Items Memory Benchmark")
+public class StorefrontItemsMemoryBenchmarkTest {
+
+    private static final int SMALL_CATALOG = 500;
+    private static final int LARGE_CATALOG = 5000;
+    private static final int WARMUP_REQUESTS = 20;
+    private static final int MEASURED_REQUESTS = 50;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private StorefrontRepository storefrontRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should allocate roughly the same memory per request regardless of catalog size")
+    void testMemoryPerRequestStaysFlat() {
+        Long smallStorefrontId = seedStorefront("Small Store", SMALL_CATALOG);
+        Long largeStorefrontId = seedStorefront("Large Store", LARGE_CATALOG);
+        Pageable pageable = PageRequest.of(3, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        long smallBytes = allocatedBytesPerRequest(smallStorefrontId, pageable);
+        long largeBytes = allocatedBytesPerRequest(largeStorefrontId, pageable);
+
+        assertThat(largeBytes)
+                .as("bytes per request: %d items -> %d, %d items -> %d",
+                        SMALL_CATALOG, smallBytes, LARGE_CATALOG, largeBytes)
+                .isLessThan(smallBytes * 2);
+    }
+
+    @Test
+    @DisplayName("Should page and sort inactive items in the database")
+    void testPagesIncludingInactiveItems() {
+        Long storefrontId = seedStorefront("Paged Store", 45);
+
+        Page<?> page = itemService.getStorefrontItems(storefrontId, false,
+                PageRequest.of(2, 20, Sort.by(Sort.Direction.ASC, "price")));
+
+        assertThat(page.getTotalElements()).isEqualTo(45);
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(itemService.getStorefrontItems(storefrontId, true, PageRequest.of(0, 20)).getTotalElements())
+                .isEqualTo(23);
+    }
+
+    private long allocatedBytesPerRequest(Long storefrontId, Pageable pageable) {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            listItems(storefrontId, pageable);
+        }
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            listItems(storefrontId, pageable);
+        }
+        return (threadMXBean.getThreadAllocatedBytes(threadId) - before) / MEASURED_REQUESTS;
+    }
+
+    private void listItems(Long storefrontId, Pageable pageable) {
+        itemService.getStorefrontItems(storefrontId, false, pageable);
+        // Start every request with an empty persistence context, as a real request would
+        entityManager.clear();
+    }
+
+    private Long seedStorefront(String storeName, int itemCount) {
+        Storefront storefront = new Storefront();
+        storefront.setStoreName(storeName);
+        storefront = storefrontRepository.save(storefront);
+
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Item item = new Item();
+            item.setItemName(storeName + " Item " + i);
+            // Generated SKUs are timestamp based and would collide in a tight loop
+            item.setSku(storefront.getId() + "-" + i);
+            item.setPrice(Money.ofMinor((10 + i % 90) * 100L));
+            item.setStockQuantity(i % 7);
+            item.setActive(i % 2 == 0);
+            item.setStorefront(storefront);
+            items.add(item);
+        }
+        itemRepository.saveAll(items);
+
+        entityManager.flush();
+        entityManager.clear();
+        return storefront.getId();
+    }
+}
@@ -0,0 +1,188 @@
+package com.dnofulla.marketcove.backend_api;
+
+import com.dnofulla.marketcove.backend_api.dto.search.SuggestionResponse;
+import com.dnofulla.marketcove.backend_api.dto.search.SuggestionResponse.Type;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.event.ItemChangedEvent;
+import com.dnofulla.marketcove.backend_api.event.StorefrontChangedEvent;
+import com.dnofulla.marketcove.backend_api.repository.ItemRepository;
+import com.dnofulla.marketcove.backend_api.repository.StorefrontRepository;
+import com.dnofulla.marketcove.backend_api.service.PagedEntityScanner;
+import com.dnofulla.marketcove.backend_api.service.SuggestService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the search box typeahead
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SuggestService Tests")
+public class SuggestServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private StorefrontRepository storefrontRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private SuggestService suggestService;
+
+    @BeforeEach
+    void setUp() {
+        suggestService = new SuggestService(itemRepository, storefrontRepository,
+                new PagedEntityScanner(entityManager));
+        ReflectionTestUtils.setField(suggestService, "topK", 5);
+        ReflectionTestUtils.setField(suggestService, "maxPrefixLength", 32);
+        ReflectionTestUtils.setField(suggestService, "rebuildBatchSize", 100);
+    }
+
+    @Test
+    @DisplayName("Should return nothing before the index is built")
+    void testSuggestBeforeBuild() {
+        assertThat(suggestService.suggest("head", 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should complete names, word starts and categories, most popular first")
+    void testCompletions() {
+        buildIndex(List.of(
+                item(1L, "Wireless Headphones", "Audio", 5, 0),
+                item(2L, "Headphone Stand", "Accessories", 1, 3),
+                item(3L, "Café Table", "Furniture", 0, 1)),
+                List.of(storefront(10L, "Head Start Audio", 2)));
+
+        assertThat(suggestService.suggest("HEAD", 5)).extracting(SuggestionResponse::getText)
+                .containsExactly("Wireless Headphones", "Head Start Audio", "Headphone Stand");
+        assertThat(suggestService.suggest("cafe", 5)).extracting(SuggestionResponse::getId).containsExactly(3L);
+        assertThat(suggestService.suggest("aud", 5))
+                .extracting(SuggestionResponse::getType, SuggestionResponse::getText)
+                .containsExactly(tuple(Type.CATEGORY, "Audio"), tuple(Type.STOREFRONT, "Head Start Audio"));
+        assertThat(suggestService.suggest("head", 1)).hasSize(1);
+        assertThat(suggestService.suggest("xyz", 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rebuild page by page, clearing the persistence context after each page")
+    void testPagedRebuild() {
+        ReflectionTestUtils.setField(suggestService, "rebuildBatchSize", 2);
+        List<Item> items = List.of(
+                item(1L, "Desk Lamp", "Lighting", 1, 0),
+                item(2L, "Desk Chair", "Furniture", 2, 0),
+                item(3L, "Desk Mat", "Office", 3, 0));
+        when(itemRepository.findByIsActive(eq(true), any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(1);
+            int from = (int) pageable.getOffset();
+            return new PageImpl<>(items.subList(from, Math.min(from + 2, items.size())), pageable, items.size());
+        });
+        when(storefrontRepository.findByIsActive(eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        suggestService.rebuildIndex();
+
+        assertThat(suggestService.suggest("desk", 5)).extracting(SuggestionResponse::getId).containsExactly(3L, 2L, 1L);
+        verify(itemRepository, times(2)).findByIsActive(eq(true), any(Pageable.class));
+        // Two item pages and one storefront page
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    @DisplayName("Should follow renamed, reranked and removed items and storefronts")
+    void testIncrementalUpdates() {
+        Item lamp = item(1L, "Desk Lamp", "Lighting", 1, 0);
+        Item light = item(2L, "Desk Light", "Lighting", 2, 0);
+        Storefront store = storefront(10L, "Desk World", 0);
+        buildIndex(List.of(lamp, light), List.of(store));
+
+        lamp.setTotalSales(50);
+        suggestService.onItemChanged(new ItemChangedEvent(lamp));
+        assertThat(suggestService.suggest("desk", 5)).extracting(SuggestionResponse::getText)
+                .containsExactly("Desk Lamp", "Desk Light", "Desk World");
+
+        light.setItemName("Floor Light");
+        suggestService.onItemChanged(new ItemChangedEvent(light));
+        store.setActive(false);
+        suggestService.onStorefrontChanged(new StorefrontChangedEvent(store));
+        assertThat(suggestService.suggest("desk", 5)).extracting(SuggestionResponse::getText)
+                .containsExactly("Desk Lamp");
+        assertThat(suggestService.suggest("light", 5)).extracting(SuggestionResponse::getText)
+                .containsExactly("Lighting", "Floor Light");
+
+        lamp.setActive(false);
+        light.setActive(false);
+        suggestService.onItemChanged(new ItemChangedEvent(lamp));
+        suggestService.onItemChanged(new ItemChangedEvent(light));
+        assertThat(suggestService.suggest("l", 5)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should answer lookups with a p99 under 2 ms")
+    void testLookupLatency() {
+        String[] words = { "red", "blue", "wireless", "leather", "organic", "smart", "vintage", "steel" };
+        String[] nouns = { "headphones", "wallet", "tea", "watch", "lamp", "bottle", "chair", "speaker" };
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= 50_000; id++) {
+            String name = words[(int) (id % words.length)] + " " + nouns[(int) (id / 7 % nouns.length)] + " " + id;
+            items.add(item(id, name, nouns[(int) (id % nouns.length)], (int) (id % 97), (int) (id % 1000)));
+        }
+        buildIndex(items, List.of());
+
+        String[] prefixes = { "w", "wi", "wire", "lea", "org", "s", "st", "h", "head", "tea", "vintage w" };
+        long[] nanos = new long[10_000];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            suggestService.suggest(prefixes[i % prefixes.length], 10);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        assertThat(suggestService.suggest("wire", 10)).hasSize(5);
+        assertThat(nanos[(int) (nanos.length * 0.99)]).isLessThan(2_000_000L);
+    }
+
+    private void buildIndex(List<Item> items, List<Storefront> storefronts) {
+        when(itemRepository.findByIsActive(eq(true), any(Pageable.class))).thenReturn(new PageImpl<>(items));
+        when(storefrontRepository.findByIsActive(eq(true), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(storefronts));
+        suggestService.rebuildIndex();
+    }
+
+    private Item item(Long id, String name, String category, int sales, int views) {
+        Item item = new Item();
+        item.setId(id);
+        item.setItemName(name);
+        item.setCategory(category);
+        item.setTotalSales(sales);
+        item.setViewCount(views);
+        item.setActive(true);
+        return item;
+    }
+
+    private Storefront storefront(Long id, String name, int orders) {
+        Storefront storefront = new Storefront();
+        storefront.setId(id);
+        storefront.setStoreName(name);
+        storefront.setTotalOrders(orders);
+        storefront.setActive(true);
+        return storefront;
+    }
+}
@@ -0,0 +1,107 @@
+package com.dnofulla.marketcove.backend_api.benchmark;
+
+import com.dnofulla.marketcove.backend_api.service.ItemPriceIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares price range queries answered by the in-memory price index with the
+ * equivalent database query on an H2 items table.
+ * Run the main method from the IDE, or from the test classpath after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceRangeBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final String PAGE_SQL = "SELECT id FROM items WHERE price BETWEEN ? AND ? AND is_active = TRUE "
+            + "ORDER BY price, id LIMIT ? OFFSET ?";
+    private static final String COUNT_SQL =
+            "SELECT COUNT(*) FROM items WHERE price BETWEEN ? AND ? AND is_active = TRUE";
+
+    // Narrow, medium and wide ranges over prices spread between 0.00 and 999.99
+    private static final BigDecimal[][] RANGES = {
+            { new BigDecimal("10.00"), new BigDecimal("12.50") },
+            { new BigDecimal("100.00"), new BigDecimal("200.00") },
+            { new BigDecimal("0.00"), new BigDecimal("750.00") },
+    };
+
+    @Param({ "1000000" })
+    private int catalogSize;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ItemPriceIndex priceIndex;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:price-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, price DECIMAL(10, 2) NOT NULL, "
+                + "is_active BOOLEAN NOT NULL)");
+        // Deterministic spread of prices; every tenth item is inactive
+        jdbcTemplate.update("INSERT INTO items SELECT X, MOD(X * 7919, 100000) / 100.0, MOD(X, 10) <> 0 "
+                + "FROM SYSTEM_RANGE(1, ?)", catalogSize);
+
+        priceIndex = new ItemPriceIndex(jdbcTemplate);
+        priceIndex.rebuildIndex();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE items");
+    }
+
+    @Benchmark
+    public void priceIndex(Blackhole blackhole) {
+        BigDecimal[] range = nextRange();
+        blackhole.consume(priceIndex.findByPriceRange(range[0], range[1], PAGE_SIZE, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public void database(Blackhole blackhole) {
+        BigDecimal[] range = nextRange();
+        List<Long> ids = jdbcTemplate.queryForList(PAGE_SQL, Long.class, range[0], range[1], PAGE_SIZE, PAGE_SIZE);
+        Long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, range[0], range[1]);
+        blackhole.consume(ids);
+        blackhole.consume(total);
+    }
+
+    private BigDecimal[] nextRange() {
+        next = (next + 1) % RANGES.length;
+        return RANGES[next];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PriceRangeBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,137 @@
+package com.dnofulla.marketcove.backend_api.benchmark;
+
+import com.dnofulla.marketcove.backend_api.entity.Cart;
+import com.dnofulla.marketcove.backend_api.entity.CartItem;
+import com.dnofulla.marketcove.backend_api.entity.Item;
+import com.dnofulla.marketcove.backend_api.entity.Storefront;
+import com.dnofulla.marketcove.backend_api.service.ItemResponseMapper;
+import com.dnofulla.marketcove.backend_api.service.ItemViewCountService;
+import com.dnofulla.marketcove.backend_api.service.ShardedCounterService;
+import com.dnofulla.marketcove.backend_api.util.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares item response building and cart totals on minor-unit money with the BigDecimal
+ * arithmetic they used before (the legacy* benchmarks reproduce the old code).
+ * Run the main method from the IDE, or from the test classpath after mvn test-compile;
+ * the gc profiler reports the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    private static final int CART_LINES = 20;
+
+    private ItemResponseMapper itemResponseMapper;
+    private Item item;
+    private Cart cart;
+    private BigDecimal legacyPrice;
+    private BigDecimal legacyCompareAtPrice;
+    private List<BigDecimal> legacyLinePrices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        itemResponseMapper = new ItemResponseMapper(
+                new ItemViewCountService(new ShardedCounterService(null, null, null), null));
+
+        Storefront storefront = new Storefront();
+        storefront.setId(1L);
+        storefront.setStoreName("Benchmark Store");
+        item = createItem(1L, "149.99", storefront);
+        item.setCompareAtPrice(Money.of(new BigDecimal("199.99")));
+        legacyPrice = new BigDecimal("149.99");
+        legacyCompareAtPrice = new BigDecimal("199.99");
+
+        cart = new Cart();
+        legacyLinePrices = new ArrayList<>();
+        for (int i = 0; i < CART_LINES; i++) {
+            String price = (5 + i) + ".99";
+            CartItem cartItem = new CartItem();
+            cartItem.setItem(createItem(100L + i, price, storefront));
+            cartItem.setQuantity(1 + i % 3);
+            cartItem.setPriceAtTime(cartItem.getItem().getPrice());
+            cart.getCartItems().add(cartItem);
+            legacyLinePrices.add(new BigDecimal(price));
+        }
+    }
+
+    @Benchmark
+    public void convertToResponse(Blackhole blackhole) {
+        blackhole.consume(itemResponseMapper.convertToResponse(item));
+    }
+
+    @Benchmark
+    public void legacyDiscount(Blackhole blackhole) {
+        // Price fields and discount as the response used to compute them
+        BigDecimal discount = legacyCompareAtPrice.compareTo(legacyPrice) > 0
+                ? legacyCompareAtPrice.subtract(legacyPrice)
+                : BigDecimal.ZERO;
+        blackhole.consume(discount);
+        blackhole.consume(discount.divide(legacyCompareAtPrice, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100)));
+    }
+
+    @Benchmark
+    public void discount(Blackhole blackhole) {
+        blackhole.consume(item.getDiscountAmount().toBigDecimal());
+        blackhole.consume(item.getDiscountPercentage());
+    }
+
+    @Benchmark
+    public Money recalculateTotal() {
+        cart.recalculateTotal();
+        return cart.getTotalAmount();
+    }
+
+    @Benchmark
+    public BigDecimal legacyRecalculateTotal() {
+        List<CartItem> cartItems = cart.getCartItems();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < cartItems.size(); i++) {
+            total = total.add(legacyLinePrices.get(i).multiply(BigDecimal.valueOf(cartItems.get(i).getQuantity())));
+        }
+        return total;
+    }
+
+    private static Item createItem(Long id, String price, Storefront storefront) {
+        Item item = new Item();
+        item.setId(id);
+        item.setItemName("Item " + id);
+        item.setSku("BENCH-" + id);
+        item.setPrice(Money.of(new BigDecimal(price)));
+        item.setStockQuantity(25);
+        item.setStorefront(storefront);
+        return item;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PricingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
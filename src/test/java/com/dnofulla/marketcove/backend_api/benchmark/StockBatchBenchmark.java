@@ -0,0 +1,105 @@
+package com.dnofulla.marketcove.backend_api.benchmark;
+
+import com.dnofulla.marketcove.backend_api.dto.item.BatchStockUpdateRequest;
+import com.dnofulla.marketcove.backend_api.entity.User;
+import com.dnofulla.marketcove.backend_api.service.ItemStockService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a batch stock update (PATCH /api/items/stock) of every item in an H2 catalog,
+ * addressed by SKU. Each invocation alternates the quantities, so items keep crossing
+ * stock levels and every alert path runs.
+ * Run the main method from the IDE, or from the test classpath after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockBatchBenchmark {
+
+    private static final long OWNER_ID = 1L;
+
+    @Param({ "10000" })
+    private int batchSize;
+
+    private JdbcTemplate jdbcTemplate;
+    private ItemStockService itemStockService;
+    private User owner;
+    private BatchStockUpdateRequest[] requests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:stock-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE business_profiles (id BIGINT PRIMARY KEY, user_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE seller_profiles (id BIGINT PRIMARY KEY, user_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE storefronts (id BIGINT PRIMARY KEY, business_profile_id BIGINT, "
+                + "seller_profile_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, item_name VARCHAR(255), "
+                + "sku VARCHAR(100) UNIQUE, storefront_id BIGINT, stock_quantity INT NOT NULL, "
+                + "low_stock_threshold INT, low_stock BOOLEAN NOT NULL, updated_at TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO seller_profiles VALUES (1, ?)", OWNER_ID);
+        jdbcTemplate.update("INSERT INTO storefronts VALUES (1, NULL, 1)");
+        jdbcTemplate.update("INSERT INTO items SELECT X, CONCAT('Item ', X), CONCAT('BENCH-', X), 1, 0, 5, TRUE, "
+                + "NULL FROM SYSTEM_RANGE(1, ?)", batchSize);
+
+        // Batch updates only use JDBC; the repository is needed by decrements alone
+        itemStockService = new ItemStockService(null, jdbcTemplate, event -> { });
+        ReflectionTestUtils.setField(itemStockService, "batchMaxSize", batchSize);
+        owner = new User();
+        owner.setId(OWNER_ID);
+
+        requests = new BatchStockUpdateRequest[2];
+        for (int r = 0; r < requests.length; r++) {
+            List<BatchStockUpdateRequest.Entry> entries = new ArrayList<>(batchSize);
+            for (int i = 1; i <= batchSize; i++) {
+                entries.add(new BatchStockUpdateRequest.Entry(null, "BENCH-" + i, r == 0 ? i % 50 : 0));
+            }
+            requests[r] = new BatchStockUpdateRequest(entries);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Benchmark
+    public void updateStock(Blackhole blackhole) {
+        next = (next + 1) % requests.length;
+        blackhole.consume(itemStockService.updateStock(requests[next], owner));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StockBatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}